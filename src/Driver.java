@@ -1,12 +1,16 @@
-import java.io.FileReader;
-import java.io.IOException;
-import java.io.Reader;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import world.controller.Controller;
 import world.controller.DefaultController;
+import world.model.CompiledWorldLoader;
 import world.model.DefaultRandomIntGenerator;
 import world.model.DefaultWorld;
 import world.model.RandomIntGenerator;
 import world.model.World;
+import world.model.WorldCache;
+import world.model.WorldCompiler;
+import world.model.WorldSpecParser;
+import world.model.WorldTopology;
 import world.view.DefaultGameView;
 import world.view.GameView;
 
@@ -18,34 +22,70 @@ public class Driver {
 
   /**
    * It will take a an input file text, and generate the world specified in the file.
+   * A compiled world file (.dlw) is loaded without parsing the text.
+   * To compile a text file to a .dlw file run with: --compile mansion.txt mansion.dlw
+   * To print where the time went when loading the world run with: --profile mansion.txt 20
+   * To reload the world every time the text file is saved run with: --watch mansion.txt 20
    * @param args will take in the input file tex
    */
   public static void main(String[] args) {
+    if (args.length == 3 && "--compile".equals(args[0])) {
+      try {
+        WorldCompiler.compile(WorldSpecParser.fromFile(Paths.get(args[1])).parse(),
+            Paths.get(args[2]));
+        System.out.println("Compiled " + args[1] + " to " + args[2]);
+      } catch (IllegalArgumentException e) {
+        System.out.println(e.getMessage());
+      }
+      return;
+    }
 
     // to run in console
     // String filePath = "./res/mansion.txt";
     // int maxTurn = 4;
     
     // to run with jar
+    boolean profile = false;
+    boolean watch = false;
+    while (args.length > 2 && args[0].startsWith("--")) {
+      profile |= "--profile".equals(args[0]);
+      watch |= "--watch".equals(args[0]);
+      args = Arrays.copyOfRange(args, 1, args.length);
+    }
     String filePath = args[0];
     int maxTurn = Integer.valueOf(args[1]);
     
     RandomIntGenerator randGen = new DefaultRandomIntGenerator();
     // 1. Try read file and create world
     try {
-      Reader file = new FileReader(filePath);   
+      // a text world goes through the cache, so loading the same file again finds it
+      WorldCache cache = new WorldCache(2);
+      long loadStart = System.nanoTime();
+      WorldTopology topology;
+      if (filePath.endsWith(".dlw")) {
+        topology = WorldTopology.fromSpec(CompiledWorldLoader.load(Paths.get(filePath)));
+      } else {
+        topology = cache.loadFile(Paths.get(filePath));
+      }
+      long loadNanos = System.nanoTime() - loadStart;
      
-      World m = new DefaultWorld(file, randGen, maxTurn, true);
+      World m = new DefaultWorld(topology, randGen, maxTurn, true, cache);
+      if (profile) {
+        m.getResult().getBufferedImage();
+        System.out.println(String.format("Loaded %s in %.3f ms", filePath, loadNanos / 1e6));
+        System.out.println(m.getLoadReport());
+      }
 
       GameView gameView = new DefaultGameView();
       
       Controller c = new DefaultController(m, gameView);
       
       c.display();
-      
-      file.close();
-    } catch (IOException io) {
-      System.out.println("Cannot find file or close file");
+      if (watch && !filePath.endsWith(".dlw")) {
+        c.watchWorldFile(Paths.get(filePath));
+      }
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
     }   
   }
 }
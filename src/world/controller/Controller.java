@@ -1,5 +1,7 @@
 package world.controller;
 
+import java.nio.file.Path;
+
 /**
  * This is the controller for the MVC project, it
  * orchestrates the actions on view and model.
@@ -10,4 +12,12 @@ public interface Controller {
    * the display method ends.
    */
   void display();
+
+  /**
+   * Watch the world specification file and reload the world every time the file is
+   * saved, so the edits of a designer show up without going through the menu.
+   * @param file the world specification file
+   * @throws IllegalArgumentException if file is null or cannot be watched
+   */
+  void watchWorldFile(Path file) throws IllegalArgumentException;
 }
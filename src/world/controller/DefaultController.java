@@ -1,10 +1,13 @@
 package world.controller;
 
+import java.awt.EventQueue;
 import java.awt.Point;
+import java.nio.file.Path;
 import world.controller.command.AddCpuPlayer;
 import world.controller.command.AddHumanPlayer;
 import world.controller.command.CpuTakeTurn;
 import world.controller.command.DisplayPlayerInfo;
+import world.controller.command.HotReloadWorld;
 import world.controller.command.HumanKillAttempt;
 import world.controller.command.HumanLook;
 import world.controller.command.HumanMove;
@@ -24,6 +27,7 @@ import world.view.GameView;
 public class DefaultController implements Controller, Features {
   private World world;
   private GameView view;
+  private WorldFileWatcher watcher;
 
   /**
    * Constructor to create concrete default controller.
@@ -54,6 +58,37 @@ public class DefaultController implements Controller, Features {
     view.setContent(world.getResult(), this);
   }
 
+  @Override
+  public void watchWorldFile(Path file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("Cannot watch the world when file is null.\n");
+    }
+    if (watcher != null) {
+      watcher.close();
+    }
+    // the world and the view are only used on the event thread
+    watcher = new WorldFileWatcher(file,
+        edited -> EventQueue.invokeLater(() -> reloadEditedWorld(edited)));
+    watcher.start();
+  }
+
+  /**
+   * Reload the world after its specification file was saved and show the new game.
+   * @param file the content of the saved file
+   */
+  private void reloadEditedWorld(Readable file) {
+    try {
+      WorldCommand command = new HotReloadWorld(file);
+      command.go(world);
+
+      view.setContent(world.getResult(), this);
+      view.switchLayoutToAddPlayer();
+      view.resetFocus();
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      view.showErrorDialogue(e.getMessage());
+    }
+  }
+
   @Override
   public void playGameMode() {
     try {
@@ -131,6 +166,9 @@ public class DefaultController implements Controller, Features {
     try {
       WorldCommand quitCommand = new Quit();
       quitCommand.go(world);
+      if (watcher != null) {
+        watcher.close();
+      }
       
       view.setContent(world.getResult(), this);
       view.closeWindow();
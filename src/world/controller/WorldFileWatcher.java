@@ -0,0 +1,128 @@
+package world.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches a world specification file and hands its new content over every time it
+ * is saved. Editors often write a file in a few steps, so the events that come within
+ * {@link #SETTLE_MILLIS} of each other are handled as one save.
+ */
+public final class WorldFileWatcher implements Closeable {
+  static final long SETTLE_MILLIS = 50;
+
+  private final Path file;
+  private final Consumer<Readable> onChange;
+  private final WatchService watcher;
+  private final Thread thread;
+
+  /**
+   * Constructor to create a watcher, which does not watch until it is started.
+   * @param file the world specification file
+   * @param onChange what to do with the content of the file when it is saved, called
+   *     on the thread of the watcher
+   * @throws IllegalArgumentException if an argument is null, or the directory of the
+   *     file cannot be watched
+   */
+  public WorldFileWatcher(Path file, Consumer<Readable> onChange)
+      throws IllegalArgumentException {
+    if (file == null || onChange == null) {
+      throw new IllegalArgumentException("Cannot watch a null file.\n");
+    }
+    this.file = file.toAbsolutePath().normalize();
+    this.onChange = onChange;
+    try {
+      this.watcher = FileSystems.getDefault().newWatchService();
+      this.file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot watch " + file + ".\n");
+    }
+    this.thread = new Thread(this::watch, "world-file-watcher");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Start watching the file.
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Stop watching the file.
+   */
+  @Override
+  public void close() {
+    try {
+      watcher.close();
+    } catch (IOException e) {
+      // the thread stops when the watcher is closed either way
+    }
+  }
+
+  /**
+   * Wait for the file to be saved, until the watcher is closed.
+   */
+  private void watch() {
+    try {
+      while (true) {
+        boolean saved = isFileEvent(watcher.take());
+
+        // wait for the editor to finish writing the file
+        WatchKey key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        while (key != null) {
+          saved |= isFileEvent(key);
+          key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (saved) {
+          handOver();
+        }
+      }
+    } catch (ClosedWatchServiceException | InterruptedException e) {
+      // closed, stop watching
+    }
+  }
+
+  /**
+   * Check if the events of a key are about the file, and get the key ready for more.
+   * @param key the key of the directory of the file
+   * @return true if an event was about the file
+   */
+  private boolean isFileEvent(WatchKey key) {
+    boolean fileEvent = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (file.getFileName().equals(event.context())) {
+        fileEvent = true;
+      }
+    }
+    key.reset();
+    return fileEvent;
+  }
+
+  /**
+   * Read the file and hand its content over. A file that cannot be read, for
+   * example because it was removed, is skipped until it is saved again.
+   */
+  private void handOver() {
+    String text;
+    try {
+      text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      return;
+    }
+    onChange.accept(new StringReader(text));
+  }
+}
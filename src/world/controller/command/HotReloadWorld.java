@@ -0,0 +1,31 @@
+package world.controller.command;
+
+import world.model.World;
+
+/**
+ * This class lets the controller execute reloading an edited
+ * version of the current world.
+ */
+public class HotReloadWorld implements WorldCommand {
+  private Readable file;
+
+  /**
+   * Constructor to create HotReloadWorld object.
+   * @param file the edited world specification.
+   * @throws IllegalArgumentException when file is null.
+   */
+  public HotReloadWorld(Readable file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("Cannot reload the world when file is null.\n");
+    }
+    this.file = file;
+  }
+
+  @Override
+  public void go(World world) {
+    if (world == null) {
+      throw new IllegalArgumentException("Cannot reload the world when world is null.\n");
+    }
+    world.hotReload(this.file);
+  }
+}
@@ -39,8 +39,7 @@ public class HumanKillAttempt implements WorldCommand {
       if (s != null) {
         
         // 2. get the index of the item
-        String[] words = s.split("\\.");
-        int itemIndex = Integer.valueOf(words[0]);
+        int itemIndex = world.getItemIdByLabel(s);
         
         // 3. make kill attempt
         world.makeHumanKill(itemIndex);
@@ -34,23 +34,14 @@ public class HumanMovePet implements WorldCommand {
         
 
       // 1. ask view to choose pet space
-      int spaceIndex = -1;
       String s = view.askUserChoosePetSpace(world.getResult().getSpaceNames());
 
-
-      // 2. get the index of the space
-      for (int i = 0; i < world.getResult().getSpaceNames().size(); i++) {
-        if (s != null && s.equals(world.getResult().getSpaceNames().get(i))) {
-          spaceIndex = i;
-        }
-      }
-
-      // 3. make kill attempt
-      if (spaceIndex != -1) {
+      // 2. move the pet to the space, unless the user closed the window
+      if (s != null) {
         
-        world.makeHumanMovePet(spaceIndex);
+        world.makeHumanMovePet(world.getSpaceIdByName(s));
         
-        // 4. Update view
+        // 3. Update view
         view.updateMapStatusAndActionResultPanel(world.getResult());
       }
 
@@ -46,8 +46,7 @@ public class HumanPickItem implements WorldCommand {
       }
 
       // 2. get the index of the item
-      String[] words = s.split("\\.");
-      int itemIndex = Integer.valueOf(words[0]);
+      int itemIndex = world.getItemIdByLabel(s);
 
       // 3. make human pick item
       world.makeHumanPickItem(itemIndex);
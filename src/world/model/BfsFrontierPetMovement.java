@@ -0,0 +1,34 @@
+package world.model;
+
+import java.util.Arrays;
+
+/**
+ * The pet visits the spaces it can reach in order of how many moves away from its
+ * start they are, closest first and in id order for the same distance. It jumps from
+ * one space to the next, so it is spread over the area around its start rather than
+ * wandering away from it.
+ */
+public final class BfsFrontierPetMovement extends RoutePetMovement {
+
+  @Override
+  protected int[] createRoute(WorldTopology topology, int spaceId) {
+    SpaceAdjacency adjacency = topology.getAdjacency();
+    boolean[] visited = new boolean[adjacency.getSpaceCount()];
+    int[] queue = new int[adjacency.getSpaceCount()];
+    int head = 0;
+    int tail = 0;
+    visited[spaceId] = true;
+    queue[tail++] = spaceId;
+    while (head < tail) {
+      int current = queue[head++];
+      for (int i = 0; i < adjacency.getNeighborCount(current); i++) {
+        int neighborId = adjacency.getNeighbor(current, i);
+        if (!visited[neighborId]) {
+          visited[neighborId] = true;
+          queue[tail++] = neighborId;
+        }
+      }
+    }
+    return tail == queue.length ? queue : Arrays.copyOf(queue, tail);
+  }
+}
@@ -0,0 +1,166 @@
+package world.model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads a binary world file (.dlw) written by {@link WorldCompiler}.
+ * The file is memory mapped and its integer sections are copied straight into
+ * the arrays of a compiled {@link WorldSpec}, so the world built from it skips
+ * text parsing, name validation, neighbor calculation and the pet tour search.
+ */
+public final class CompiledWorldLoader {
+
+  /**
+   * Prevent instantiation, this class only has static methods.
+   */
+  private CompiledWorldLoader() {
+  }
+
+  /**
+   * Load a compiled world specification.
+   * @param path the path of the binary world file
+   * @return the compiled world specification
+   * @throws IllegalArgumentException if path is null, the file cannot be read
+   *     or it is not a valid compiled world
+   */
+  public static WorldSpec load(Path path) throws IllegalArgumentException {
+    if (path == null) {
+      throw new IllegalArgumentException("File cannot be null.\n");
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return read(bytes);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read the compiled world " + path);
+    }
+  }
+
+  /**
+   * Read a compiled world specification from its bytes.
+   * @param bytes the content of the binary world file
+   * @return the compiled world specification
+   * @throws IllegalArgumentException if the bytes are not a valid compiled world
+   */
+  private static WorldSpec read(ByteBuffer bytes) throws IllegalArgumentException {
+    try {
+      if (bytes.getInt() != WorldCompiler.MAGIC) {
+        throw new IllegalArgumentException("This is not a compiled world file");
+      }
+      if (bytes.getInt() != WorldCompiler.VERSION) {
+        throw new IllegalArgumentException("Unsupported compiled world version");
+      }
+
+      // 1. world, target and pet
+      int rows = bytes.getInt();
+      int cols = bytes.getInt();
+      String name = readString(bytes);
+      int targetHealth = bytes.getInt();
+      String targetName = readString(bytes);
+      String petName = readString(bytes);
+
+      // 2. spaces
+      int totalSpaces = readCount(bytes);
+      int[] spaceCoords = readInts(bytes, totalSpaces * 4);
+      String[] spaceNames = new String[totalSpaces];
+      for (int i = 0; i < totalSpaces; i++) {
+        spaceNames[i] = readString(bytes);
+      }
+
+      // 3. items
+      int totalItems = readCount(bytes);
+      int[] itemSpaceIds = readInts(bytes, totalItems);
+      int[] itemDamages = readInts(bytes, totalItems);
+      String[] itemNames = new String[totalItems];
+      for (int i = 0; i < totalItems; i++) {
+        itemNames[i] = readString(bytes);
+      }
+
+      // 4. neighbor table
+      int[] neighborOffsets = readInts(bytes, totalSpaces + 1);
+      for (int i = 0; i < totalSpaces; i++) {
+        if (neighborOffsets[i] > neighborOffsets[i + 1]) {
+          throw new IllegalArgumentException("Compiled world has an invalid neighbor table");
+        }
+      }
+      int totalNeighbors = neighborOffsets[totalSpaces];
+      if (neighborOffsets[0] != 0) {
+        throw new IllegalArgumentException("Compiled world has an invalid neighbor table");
+      }
+      int[] neighborIds = readInts(bytes, totalNeighbors);
+
+      // 5. pet tour
+      int[] petTour = readInts(bytes, readCount(bytes));
+
+      validateIds(neighborIds, totalSpaces);
+      validateIds(petTour, totalSpaces);
+      validateIds(itemSpaceIds, totalSpaces);
+      return new WorldSpec(rows, cols, name, targetHealth, targetName, petName, spaceCoords,
+          spaceNames, itemSpaceIds, itemDamages, itemNames, neighborOffsets, neighborIds,
+          petTour);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Compiled world file is truncated");
+    }
+  }
+
+  /**
+   * Read a count and check that it's not negative.
+   * @param bytes the content of the binary world file
+   * @return the count
+   * @throws IllegalArgumentException if the count is negative
+   */
+  private static int readCount(ByteBuffer bytes) throws IllegalArgumentException {
+    int count = bytes.getInt();
+    if (count < 0 || count > bytes.remaining()) {
+      throw new IllegalArgumentException("Compiled world has an invalid count");
+    }
+    return count;
+  }
+
+  /**
+   * Copy a section of integers in one bulk read.
+   * @param bytes the content of the binary world file
+   * @param count the number of integers to read
+   * @return the integers
+   */
+  private static int[] readInts(ByteBuffer bytes, int count) {
+    if (count < 0 || (long) count * 4 > bytes.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    int[] values = new int[count];
+    bytes.asIntBuffer().get(values);
+    bytes.position(bytes.position() + count * 4);
+    return values;
+  }
+
+  /**
+   * Read a string written as its length and its UTF-8 bytes.
+   * @param bytes the content of the binary world file
+   * @return the string
+   */
+  private static String readString(ByteBuffer bytes) {
+    byte[] chars = new byte[readCount(bytes)];
+    bytes.get(chars);
+    return new String(chars, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Check that all ids refer to an existing space.
+   * @param ids the space ids to check
+   * @param totalSpaces the number of spaces
+   * @throws IllegalArgumentException if an id is out of range
+   */
+  private static void validateIds(int[] ids, int totalSpaces) throws IllegalArgumentException {
+    for (int id : ids) {
+      if (id < 0 || id >= totalSpaces) {
+        throw new IllegalArgumentException("Compiled world refers to a space that does not exist");
+      }
+    }
+  }
+}
@@ -2,7 +2,6 @@ package world.model;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Stack;
 
 /**
@@ -17,12 +16,13 @@ public final class DefaultCpu implements Cpu {
   /**
    * Construct a CPU controller object by
    * assigning the player it will control.
+   * @param playerId the id of the player it will control
    * @param ranGen2 the random number generator to generate random actions
    * @param space the space it will occupy
-   * @throws IllegalArgumentException if player is null.
+   * @throws IllegalArgumentException if player is null or playerId is negative.
    *
    */
-  public DefaultCpu(RandomIntGenerator ranGen2, Space space) 
+  public DefaultCpu(int playerId, RandomIntGenerator ranGen2, Space space) 
       throws IllegalArgumentException {
     if (ranGen2 == null || space == null) {
       throw new IllegalArgumentException(
@@ -37,7 +37,7 @@ public final class DefaultCpu implements Cpu {
     int maxItem = ranGen2.getNextInt(1, 5);
     String name = generateRandomCpuName();
     
-    this.cpuPlayer = new DefaultPlayer(name, space, maxItem);
+    this.cpuPlayer = new DefaultPlayer(playerId, name, space, maxItem);
   }
   
   private String generateRandomCpuName() {
@@ -149,6 +149,6 @@ public final class DefaultCpu implements Cpu {
   
   @Override 
   public int hashCode() {
-    return Objects.hash(this.cpuPlayer);
+    return this.cpuPlayer.hashCode();
   }
 }
@@ -4,20 +4,28 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
  
 /**
  * ImageGenerator class create a graphical image of the world.
  * It displays players and target in the spaces
  * The target will move at every turn of the game
+ * A large map is drawn in horizontal bands on the common fork join pool, and a map too
+ * big to draw whole only shows an area of the world drawn from its {@link WorldRegions}.
  */
 public class DefaultImageGenerator implements ImageGenerator {
+  static final long PARALLEL_PIXELS = 1L << 21;
+  static final Color MAP_BACKGROUND = new Color(164, 149, 137);
+  static final Color GRID_COLOR = new Color(180, 180, 180);
 
   private final BufferedImage theMap; 
   private final Graphics2D g2;
@@ -27,12 +35,31 @@ public class DefaultImageGenerator implements ImageGenerator {
   private final List<Space> spaces;
   private final List<MapData> spacesData;
   private final int maxPlayers;
+  private final long parallelPixels;
   private final int targetCircleSize;
   private final int playerCircleSize;
   private final Color targetColor;
   private final Color playersColor;
   private final Color mapBackgroundCol;
   private final Color gridColor;
+
+  // the area of the world the map shows in pixels, and the regions it is drawn from
+  // when the world is too big to draw whole, null when the map is the whole world
+  private final Rectangle view;
+  private final WorldRegions regions;
+
+  // each space has a grid of boxes for the players, numbered down the columns
+  private static final int BOX_ROWS = 3;
+  private static final int BOX_COLS = 4;
+
+  // the index in spacesData of the first space of the latest drawing, the layouts
+  // before it are from earlier drawings
+  private int firstLayout;
+
+  // the spaces that reach each cell of the world, in ascending id order
+  private int[] cellStarts;
+  private int[] cellSpaces;
+  private int gridCols;
   
   /**
    * Construct a theMap from the world's spaces by drawing on the theMap.
@@ -47,8 +74,59 @@ public class DefaultImageGenerator implements ImageGenerator {
    */
   public DefaultImageGenerator(List<Space> spaces, int theMapWidth, int theMapHeight, 
       int adj) throws IllegalArgumentException {
-    if (spaces == null || theMapWidth <= 0
-            || theMapHeight <= 0 || adj <= 0) {
+    this(spaces, theMapWidth, theMapHeight, adj, PARALLEL_PIXELS);
+  }
+
+  /**
+   * Construct a theMap that is drawn in parallel bands once it has a given number of
+   * pixels, instead of {@link #PARALLEL_PIXELS}.
+   * @param spaces the list of spaces
+   * @param theMapWidth the width of the theMap.
+   * @param theMapHeight the height of the theMap
+   * @param adj the adjustment needed to size the pixel.
+   * @param parallelPixels the number of pixels from which the map is drawn in bands
+   * @throws IllegalArgumentException if spaces is null, map width, map height or adj
+   *      is less than or equals to 0, or parallelPixels is negative.
+   */
+  public DefaultImageGenerator(List<Space> spaces, int theMapWidth, int theMapHeight,
+      int adj, long parallelPixels) throws IllegalArgumentException {
+    this(spaces, theMapWidth * adj + 1, theMapHeight * adj + 1, adj, parallelPixels,
+        null, null);
+  }
+
+  /**
+   * Construct a theMap that only shows an area of a world too big to draw whole, and
+   * is drawn from the regions of the world. Points on the theMap are from the upper
+   * left corner of the area.
+   * @param spaces the list of spaces
+   * @param regions the regions of the world
+   * @param view the area of the world the theMap shows, in pixels
+   * @throws IllegalArgumentException if spaces, regions or view is null, or view is
+   *      empty or not within the world.
+   */
+  public DefaultImageGenerator(List<Space> spaces, WorldRegions regions, Rectangle view)
+      throws IllegalArgumentException {
+    this(spaces, checkView(regions, view).getMapWidth(), regions.getMapHeight(),
+        regions.getAdj(), PARALLEL_PIXELS, regions, view);
+  }
+
+  /**
+   * Util constructor for a theMap of a given size in pixels.
+   * @param spaces the list of spaces
+   * @param theMapWidth the width of the world in pixels
+   * @param theMapHeight the height of the world in pixels
+   * @param adj the adjustment needed to size the pixel.
+   * @param parallelPixels the number of pixels from which the map is drawn in bands
+   * @param regions the regions the map is drawn from, or null to draw the whole world
+   * @param view the area of the world the map shows, or null for the whole world
+   * @throws IllegalArgumentException if spaces is null, map width, map height or adj
+   *      is less than or equals to 0, or parallelPixels is negative.
+   */
+  private DefaultImageGenerator(List<Space> spaces, int theMapWidth, int theMapHeight,
+      int adj, long parallelPixels, WorldRegions regions, Rectangle view)
+      throws IllegalArgumentException {
+    if (spaces == null || theMapWidth <= 1
+            || theMapHeight <= 1 || adj <= 0 || parallelPixels < 0) {
       throw new IllegalArgumentException(
               new StringBuilder("spaces cannot be null ")
                       .append("or map width and height cannot be 0")
@@ -57,19 +135,23 @@ public class DefaultImageGenerator implements ImageGenerator {
     
     this.adj = adj;
     this.spaces = spaces;
-    this.theMapWidth = theMapWidth * adj + 1;
-    this.theMapHeight = theMapHeight * adj + 1;
-    this.theMap = new BufferedImage(this.theMapWidth, 
-        this.theMapHeight, BufferedImage.TYPE_INT_RGB);
+    this.theMapWidth = theMapWidth;
+    this.theMapHeight = theMapHeight;
+    this.regions = regions;
+    this.view = regions == null ? new Rectangle(0, 0, theMapWidth, theMapHeight) : view;
+    this.theMap = new BufferedImage(this.view.width, 
+        this.view.height, BufferedImage.TYPE_INT_RGB);
     this.g2 = (Graphics2D) theMap.getGraphics();
+    g2.translate(-this.view.x, -this.view.y);
     this.spacesData = new ArrayList<>();
     this.maxPlayers = 10;
+    this.parallelPixels = parallelPixels;
     
     // set colors
-    this.mapBackgroundCol = new Color(164, 149, 137);
+    this.mapBackgroundCol = MAP_BACKGROUND;
     this.targetColor = Color.RED;
     this.playersColor = Color.GREEN;
-    this.gridColor = new Color(180, 180, 180);
+    this.gridColor = GRID_COLOR;
     
     // set circle size
     this.targetCircleSize = 17;
@@ -77,91 +159,298 @@ public class DefaultImageGenerator implements ImageGenerator {
     
   }
   
+  /**
+   * Util for checking that a view is an area of the world of some regions.
+   * @param regions the regions of the world
+   * @param view the area of the world in pixels
+   * @return the regions
+   * @throws IllegalArgumentException if regions or view is null, or view is empty or
+   *      not within the world
+   */
+  private static WorldRegions checkView(WorldRegions regions, Rectangle view)
+      throws IllegalArgumentException {
+    if (regions == null || view == null || view.isEmpty() || view.x < 0 || view.y < 0
+        || view.x + view.width > regions.getMapWidth()
+        || view.y + view.height > regions.getMapHeight()) {
+      throw new IllegalArgumentException("The view must be an area of the world");
+    }
+    return regions;
+  }
+
   @Override
   public void drawWorld() throws IllegalArgumentException {
-    
+    if (regions != null) {
+      regions.draw(g2, view);
+      return;
+    }
+
+    // 1. Work out where each space and its boxes are
+    final int firstSpace = spacesData.size();
+    for (Space space : spaces) {
+      spacesData.add(layoutSpace(space, adj));
+    }
+    indexSpaces(firstSpace);
+
+    // 2. Draw the map in horizontal bands, in parallel when the map is large.
+    // Each band draws every space that crosses it in id order, so spaces drawn
+    // later are on top just like when the whole map is drawn at once
+    if ((long) theMapWidth * theMapHeight < parallelPixels) {
+      drawArea(g2, firstSpace, new Rectangle(0, 0, theMapWidth, theMapHeight));
+      return;
+    }
+    int bands = Runtime.getRuntime().availableProcessors() * 4;
+    int bandHeight = Math.max(adj, (theMapHeight + bands - 1) / bands);
+    IntStream.range(0, (theMapHeight + bandHeight - 1) / bandHeight).parallel().forEach(band -> {
+      int top = band * bandHeight;
+      int bottom = Math.min(theMapHeight, top + bandHeight);
+      Graphics2D bandGraphics = theMap.createGraphics();
+      bandGraphics.clipRect(0, top, theMapWidth, bottom - top);
+      drawArea(bandGraphics, firstSpace, new Rectangle(0, top, theMapWidth, bottom - top));
+      bandGraphics.dispose();
+    });
+  }
+
+  /**
+   * Work out where a space and its boxes are drawn on the map.
+   * @param space the space
+   * @param adj the number of pixels of a row and a column of the world
+   * @return the map data of the space
+   */
+  static MapData layoutSpace(Space space, int adj) {
+    int upLeftRow = space.getUpLeftRow(); // y top
+    int upLeftCol = space.getUpLeftCol(); // x
+    int lowRightRow = space.getLowRightRow(); // y bottom
+    int lowRightCol = space.getLowRightCol(); // x
+
+    // get width height and the starting x,y point
+    int rectWidth = (lowRightCol * adj - upLeftCol * adj) + adj;
+    int rectHeight = (lowRightRow * adj - upLeftRow * adj) + adj;
+    int x = upLeftCol * adj;
+    int y = upLeftRow * adj;
+
+    // set up box sizes
+    final int yTextGap = adj / 2;
+    final int roughTextHeight = 2;
+    int totalBoxesSpaceWidth = rectWidth;
+    int totalBoxesSpaceHeight = rectHeight - yTextGap;
+
+    int eachBoxWidth = (totalBoxesSpaceWidth / BOX_COLS) - 1;
+    int eachBoxHeight = (totalBoxesSpaceHeight / BOX_ROWS) - 1;
+
+    // create a new spaceData
+    MapData spaceData = new SpaceMapData(new Point(x, y),
+        rectWidth, rectHeight, eachBoxWidth, eachBoxHeight);
+
+    // store the x and y top left coord of each box
+    for (int i = 0; i < BOX_COLS; i++) {
+      for (int j = 0; j < BOX_ROWS; j++) {
+        spaceData.addBoxCoord(x + 1 + (i * eachBoxWidth),
+            y + yTextGap + roughTextHeight + (j * eachBoxHeight));
+      }
+    }
+    return spaceData;
+  }
+
+  /**
+   * Draw the background and the spaces that can reach an area of the map.
+   * The name of a space can run past its right wall, so a space reaches everything
+   * to the right of it on its rows.
+   * @param g the graphics to draw with, clipped to the area
+   * @param firstSpace the index in spacesData of the first space
+   * @param area the area in pixels
+   */
+  private void drawArea(Graphics2D g, int firstSpace, Rectangle area) {
     // 1. draw background
-    g2.setColor(mapBackgroundCol);
-    g2.fillRect(0, 0, this.theMapWidth, this.theMapHeight);
-
-    int upLeftRow; // y top
-    int upLeftCol; // x
-    int lowRightRow; // y bottom
-    int lowRightCol; // x
-    int rectWidth;
-    int rectHeight;
-    int x;
-    int y;
-
-    int roomIdx = 0;
-    
-    
-    // 2. Draw the space lines
+    g.setColor(mapBackgroundCol);
+    g.fillRect(0, 0, this.theMapWidth, this.theMapHeight);
+
+    for (int roomIdx = 0; roomIdx < spaces.size(); roomIdx++) {
+      MapData spaceData = spacesData.get(firstSpace + roomIdx);
+      if (reaches(spaceData.getSpaceX(), spaceData.getSpaceY(), spaceData.getSpaceHeight(),
+          area, adj)) {
+        drawSpace(g, roomIdx, spaces.get(roomIdx).getName(), spaceData, adj);
+      }
+    }
+  }
+
+  /**
+   * Check if a space can reach an area of the map when it is drawn, which is when it
+   * is on the rows of the area, a row either way, and not to the right of the area.
+   * @param x the left of the space in pixels
+   * @param y the top of the space in pixels
+   * @param height the height of the space in pixels
+   * @param area the area in pixels
+   * @param adj the number of pixels of a row and a column of the world
+   * @return true if the space can reach the area
+   */
+  static boolean reaches(int x, int y, int height, Rectangle area, int adj) {
+    return y - adj < area.y + area.height && y + height + adj >= area.y
+        && x - adj < area.x + area.width;
+  }
+
+  /**
+   * Draw the walls, the id and name, and the grid of boxes of a space.
+   * @param g the graphics to draw with
+   * @param spaceId the id of the space
+   * @param name the name of the space
+   * @param spaceData the map data of the space
+   * @param adj the number of pixels of a row and a column of the world
+   */
+  static void drawSpace(Graphics2D g, int spaceId, String name, MapData spaceData, int adj) {
+    int x = spaceData.getSpaceX();
+    int y = spaceData.getSpaceY();
+
+    // 1. Draw the space lines
+    g.setColor(Color.WHITE);
+    g.setStroke(new BasicStroke(2));
+    g.drawRect(x, y, spaceData.getSpaceWidth(), spaceData.getSpaceHeight());
+
+    // 2. Write the name of the room
+    StringBuilder spaceNameAndIdx = new StringBuilder();
+    g.setColor(Color.BLACK);
+    spaceNameAndIdx.append(spaceId).append(" ").append(name);
+    final int xTextGap = 5;
+    final int yTextGap = adj / 2;
+    g.drawString(spaceNameAndIdx.toString(), x + xTextGap, y + yTextGap - 5);
+
+    // 3. draw the grid of boxes in each space
+    g.setColor(GRID_COLOR);
+    g.setStroke(new BasicStroke(1));
+    for (int i = 0; i < 12; i++) {
+      g.drawRect(spaceData.getBoxX(i), spaceData.getBoxY(i), spaceData.getboxWidth(),
+          spaceData.getboxHeight());
+    }
+  }
+
+  /**
+   * Draw the world by copying a map that {@link #drawWorld()} made earlier for a
+   * world of the same size and spaces, instead of drawing it again.
+   * @param worldImage the image that only has the world drawn on it
+   * @param worldSpacesData the layout of each space on that image
+   * @throws IllegalArgumentException if the image size or the number of spaces
+   *     do not match this map
+   */
+  void drawWorld(BufferedImage worldImage, List<MapData> worldSpacesData)
+      throws IllegalArgumentException {
+    if (worldImage == null || worldSpacesData == null || regions != null
+        || worldImage.getWidth() != theMapWidth || worldImage.getHeight() != theMapHeight
+        || worldSpacesData.size() != spaces.size()) {
+      throw new IllegalArgumentException("The drawn world does not match this map");
+    }
+    theMap.setData(worldImage.getRaster());
+    final int firstSpace = spacesData.size();
+    spacesData.addAll(worldSpacesData);
+    indexSpaces(firstSpace);
+  }
+
+  /**
+   * Draw an edited world by copying the map drawn for it before the edit, and drawing
+   * only the areas of the spaces that were edited again. Everything that can reach
+   * those areas is drawn in the same order as {@link #drawWorld()}, so the map is the
+   * same as drawing the edited world from scratch.
+   * @param worldImage the image of the world before the edit, with nothing else on it
+   * @param changedCells the areas of the edited spaces before and after the edit,
+   *     in rows and columns of the world
+   * @throws IllegalArgumentException if an argument is null or the image size does not
+   *     match this map
+   */
+  void redrawWorld(BufferedImage worldImage, List<Rectangle> changedCells)
+      throws IllegalArgumentException {
+    if (worldImage == null || changedCells == null || regions != null
+        || worldImage.getWidth() != theMapWidth || worldImage.getHeight() != theMapHeight) {
+      throw new IllegalArgumentException("The drawn world does not match this map");
+    }
+    theMap.setData(worldImage.getRaster());
+    final int firstSpace = spacesData.size();
     for (Space space : spaces) {
-      
-      g2.setColor(Color.WHITE);
-      upLeftRow = space.getUpLeft().getRow();
-      upLeftCol = space.getUpLeft().getCol();
-      lowRightRow = space.getLowRight().getRow();
-      lowRightCol = space.getLowRight().getCol();
-
-      // get width height and the starting x,y point
-      rectWidth = (lowRightCol * this.adj - upLeftCol * this.adj) + this.adj; 
-      rectHeight = (lowRightRow * this.adj - upLeftRow * this.adj) + this.adj;
-      x = upLeftCol *  this.adj;
-      y = upLeftRow *  this.adj;
-      
-      g2.setStroke(new BasicStroke(2));
-      g2.drawRect(x, y, rectWidth, rectHeight); 
-      
-      // 3. Write the name of the room
-      StringBuilder spaceNameAndIdx = new StringBuilder();
-      g2.setColor(Color.BLACK);
-      spaceNameAndIdx.append(roomIdx).append(" ").append(space.getName());
-      final int xTextGap = 5;
-      final int yTextGap = adj / 2;
-      g2.drawString(spaceNameAndIdx.toString(), x + xTextGap, y + yTextGap - 5);
-
-      // 4. Set the boxes in each space
-      // set up box sizes
-      final int roughTextHeight = 2;
-      int totalBoxesSpaceWidth = rectWidth;
-      int totalBoxesSpaceHeight = rectHeight - yTextGap;
-      
-      int eachBoxWidth = (totalBoxesSpaceWidth / 4) - 1;
-      int eachBoxHeight = (totalBoxesSpaceHeight / 3) - 1;
-      
-      // create a new spaceData
-      MapData spaceData = new SpaceMapData(new Point(x, y), 
-          rectWidth, rectHeight, eachBoxWidth, eachBoxHeight);
- 
-      g2.setColor(gridColor);
-      int xbox;
-      int ybox;
-      
-      // create grid
-      final int totalRow = 3;
-      final int totalCol = 4;
-      for (int i = 0; i < totalCol; i++) {
-        for (int j = 0; j < totalRow; j++) {
-          
-          // store the x and y top left coord of each box
-          xbox = x + 1 + (i * eachBoxWidth);
-          ybox = y + yTextGap + roughTextHeight + (j * eachBoxHeight);
-          
-          spaceData.addBoxCoord(new Point(xbox, ybox));
-          g2.setStroke(new BasicStroke(1));
-          // draw grid
-          g2.drawRect(xbox, ybox, eachBoxWidth, eachBoxHeight); 
-        }
+      spacesData.add(layoutSpace(space, adj));
+    }
+    indexSpaces(firstSpace);
+    for (Rectangle cells : changedCells) {
+      // the walls are 2 pixels wide, and the name can run to the right of the space
+      Rectangle area = new Rectangle(cells.x * adj - 2, cells.y * adj - 2,
+          theMapWidth - cells.x * adj + 2, cells.height * adj + 4);
+      Graphics2D areaGraphics = theMap.createGraphics();
+      areaGraphics.clipRect(area.x, area.y, area.width, area.height);
+      drawArea(areaGraphics, firstSpace, area);
+      areaGraphics.dispose();
+    }
+  }
+
+  /**
+   * Draw a route through the spaces on an image of its own the size of the map, which
+   * is clear everywhere else so it can be laid over the map. Each stop is joined to the
+   * next, and the last to the first, by a line between the middles of their spaces.
+   * @param route the space ids of the route
+   * @return the image of the route
+   * @throws IllegalArgumentException if route is null or empty, or has a space that is
+   *     not on the map
+   * @throws IllegalStateException if the world has not been drawn yet
+   */
+  BufferedImage drawRoute(int[] route) throws IllegalArgumentException, IllegalStateException {
+    if (route == null || route.length == 0) {
+      throw new IllegalArgumentException("Route cannot be null or empty.\n");
+    }
+    if (regions == null && spacesData.isEmpty()) {
+      throw new IllegalStateException("The world has not been drawn yet.\n");
+    }
+    int[] xs = new int[route.length];
+    int[] ys = new int[route.length];
+    for (int i = 0; i < route.length; i++) {
+      if (route[i] < 0 || route[i] >= spaces.size()) {
+        throw new IllegalArgumentException("Route has a space that is not on the map.\n");
       }
-      roomIdx++;
-      // store all of the space data 
-      spacesData.add(spaceData);
+      MapData spaceData = layout(route[i]);
+      xs[i] = spaceData.getSpaceX() + spaceData.getSpaceWidth() / 2;
+      ys[i] = spaceData.getSpaceY() + spaceData.getSpaceHeight() / 2;
+    }
 
+    BufferedImage overlay = new BufferedImage(view.width, view.height,
+        BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = overlay.createGraphics();
+    g.translate(-view.x, -view.y);
+    g.setColor(new Color(targetColor.getRed(), targetColor.getGreen(),
+        targetColor.getBlue(), 160));
+    g.setStroke(new BasicStroke(3));
+    g.drawPolygon(xs, ys, route.length);
+    final int stopSize = 9;
+    for (int i = 0; i < route.length; i++) {
+      g.fillOval(xs[i] - stopSize / 2, ys[i] - stopSize / 2, stopSize, stopSize);
     }
+    g.dispose();
+    return overlay;
   }
-  
+
+  /**
+   * Getter for the layout of each space on the map, set when the world is drawn.
+   * A map drawn from regions does not keep the layouts, so this is empty for it.
+   * @return the layout of the spaces in id order
+   */
+  List<MapData> getSpacesData() {
+    return Collections.unmodifiableList(spacesData.subList(firstLayout, spacesData.size()));
+  }
+
+  /**
+   * Getter for the area of the world the map shows.
+   * @return the area in pixels
+   */
+  Rectangle getView() {
+    return new Rectangle(view);
+  }
+
+  /**
+   * Util for the layout of a space, which a map drawn from regions works out when it
+   * needs it instead of keeping it for every space of the world.
+   * @param spaceId the id of the space
+   * @return the map data of the space
+   */
+  private MapData layout(int spaceId) {
+    if (regions != null) {
+      return layoutSpace(spaces.get(spaceId), adj);
+    }
+    return spacesData.get(firstLayout + spaceId);
+  }
+
   @Override
   public BufferedImage getImage() {
     return this.theMap;
@@ -183,22 +472,79 @@ public class DefaultImageGenerator implements ImageGenerator {
     if (point == null) {
       throw new IllegalArgumentException("Cannot get space at null point");
     }
-    int i = 0;
-    for (MapData spaceData : spacesData) {
+    if (regions != null) {
+      if (point.x < 0 || point.y < 0 || point.x >= view.width || point.y >= view.height) {
+        return null;
+      }
+      int spaceId = regions.getSpaceAt(new Point(point.x + view.x, point.y + view.y));
+      return spaceId < 0 ? null : spaces.get(spaceId);
+    }
+    if (cellStarts == null || point.x < 0 || point.y < 0
+        || point.x >= theMapWidth || point.y >= theMapHeight) {
+      return null;
+    }
 
-      int xspace = spaceData.getSpaceCoord().x;
-      int yspace = spaceData.getSpaceCoord().y;
+    // only the spaces that reach the cell of the point are checked, the first one
+    // in id order wins on the wall two spaces share
+    int cell = (point.y / adj) * gridCols + point.x / adj;
+    for (int k = cellStarts[cell]; k < cellStarts[cell + 1]; k++) {
+      MapData spaceData = spacesData.get(firstLayout + cellSpaces[k]);
+      int xspace = spaceData.getSpaceX();
+      int yspace = spaceData.getSpaceY();
       int width = spaceData.getSpaceWidth();
       int height = spaceData.getSpaceHeight();
-      
+
       if (isPointWithinRect(point, xspace, yspace, width, height)) {
-        return spaces.get(i);
+        return spaces.get(cellSpaces[k]);
       }
-      i += 1;
-      
     }
     return null;
   }
+
+  /**
+   * Index the spaces by the cells of the world they reach, so a point is only checked
+   * against the few spaces of its cell. A space reaches the cells it covers and the
+   * ones its right and bottom walls are drawn on.
+   * @param firstSpace the index in spacesData of the first space of the drawing
+   */
+  private void indexSpaces(int firstSpace) {
+    this.firstLayout = firstSpace;
+    this.gridCols = theMapWidth / adj + 1;
+    int gridRows = theMapHeight / adj + 1;
+    int[] starts = new int[gridCols * gridRows + 1];
+
+    // 1. count the spaces of each cell, then fill the cells in id order
+    for (int pass = 0; pass < 2; pass++) {
+      int[] next = pass == 0 ? null : Arrays.copyOf(starts, starts.length - 1);
+      int[] ids = pass == 0 ? null : new int[starts[starts.length - 1]];
+      for (int spaceId = 0; spaceId < spaces.size(); spaceId++) {
+        MapData spaceData = spacesData.get(firstSpace + spaceId);
+        int left = spaceData.getSpaceX() / adj;
+        int top = spaceData.getSpaceY() / adj;
+        int right = Math.min(gridCols - 1,
+            (spaceData.getSpaceX() + spaceData.getSpaceWidth()) / adj);
+        int bottom = Math.min(gridRows - 1,
+            (spaceData.getSpaceY() + spaceData.getSpaceHeight()) / adj);
+        for (int row = top; row <= bottom; row++) {
+          for (int col = left; col <= right; col++) {
+            if (pass == 0) {
+              starts[row * gridCols + col + 1]++;
+            } else {
+              ids[next[row * gridCols + col]++] = spaceId;
+            }
+          }
+        }
+      }
+      if (pass == 0) {
+        for (int cell = 0; cell < starts.length - 1; cell++) {
+          starts[cell + 1] += starts[cell];
+        }
+      } else {
+        this.cellSpaces = ids;
+      }
+    }
+    this.cellStarts = starts;
+  }
   
   @Override
   public Player getPlayerAtPoint(Point coord) throws IllegalArgumentException  {
@@ -212,25 +558,53 @@ public class DefaultImageGenerator implements ImageGenerator {
       throw new IllegalArgumentException("Cannot move here.\n");
     }
     
-    // 2. set up
-    MapData spaceData = spacesData.get(space.getId());
-    int playerBoxIndex = -1;
-    
-    // 3. get the box index of the clicked Point
-    // loop through each box that has players
-    for (int i = 0; i < space.getPlayersSize(); i++) {
-      
-      int xplayer = spaceData.getPlayerCoordAtBox(i).x;
-      int yplayer = spaceData.getPlayerCoordAtBox(i).y;
-      
-      // check if this point belong to this box,
-      if (isPointWithinRect(coord, xplayer, yplayer, playerCircleSize, playerCircleSize)) {
-        playerBoxIndex = i;
-        // get the player at this box index
-        return space.getPlayerByOrder(playerBoxIndex);
+    // 2. get the box index of the clicked Point and the player at this box index
+    MapData spaceData = layout(space.getId());
+    Point onWorld = new Point(coord.x + view.x, coord.y + view.y);
+    int playerBoxIndex = getPlayerBoxAtPoint(spaceData, onWorld, space.getPlayersSize());
+    if (playerBoxIndex < 0) {
+      return null;
+    }
+    return space.getPlayerByOrder(playerBoxIndex);
+  }
+
+  /**
+   * Util for finding the box whose player circle a point is on, from the offset of the
+   * point in the grid of boxes of the space. The circle of a box starts a sixth of the
+   * box into it and can reach into the next boxes when the boxes are small, so the
+   * first box in order wins where circles overlap.
+   * @param spaceData the map data of the space
+   * @param point the point
+   * @param players the number of players in the space, which take the first boxes
+   * @return the index of the box, or -1 if the point is not on a player
+   */
+  private int getPlayerBoxAtPoint(MapData spaceData, Point point, int players) {
+    int boxWidth = spaceData.getboxWidth();
+    int boxHeight = spaceData.getboxHeight();
+    int xoffset = point.x - spaceData.getPlayerXAtBox(0);
+    int yoffset = point.y - spaceData.getPlayerYAtBox(0);
+    if (xoffset < 0 || yoffset < 0) {
+      return -1;
+    }
+
+    // the boxes whose circle starts before the point and is still wide enough to reach it
+    int firstCol = Math.max(0, (xoffset - playerCircleSize + boxWidth - 1) / boxWidth);
+    int firstRow = Math.max(0, (yoffset - playerCircleSize + boxHeight - 1) / boxHeight);
+    int lastCol = Math.min(BOX_COLS - 1, xoffset / boxWidth);
+    int lastRow = Math.min(BOX_ROWS - 1, yoffset / boxHeight);
+    for (int col = firstCol; col <= lastCol; col++) {
+      for (int row = firstRow; row <= lastRow; row++) {
+        int box = col * BOX_ROWS + row;
+        if (box >= players) {
+          return -1;
+        }
+        if (xoffset <= col * boxWidth + playerCircleSize
+            && yoffset <= row * boxHeight + playerCircleSize) {
+          return box;
+        }
       }
     }
-    return null;
+    return -1;
   }
 
   @Override
@@ -251,12 +625,12 @@ public class DefaultImageGenerator implements ImageGenerator {
       throw new IllegalArgumentException("Target cannot be null.\n");
     }
     // get the spaceData
-    MapData spaceData = spacesData.get(target.getCurrentSpaceId());
+    MapData spaceData = layout(target.getCurrentSpaceId());
     g2.setColor(targetColor);
     
     // draw circle
-    int xtarget = spaceData.getPlayerCoordAtBox(11).x;
-    int ytarget = spaceData.getPlayerCoordAtBox(11).y;
+    int xtarget = spaceData.getPlayerXAtBox(11);
+    int ytarget = spaceData.getPlayerYAtBox(11);
     g2.fillOval(xtarget, ytarget, targetCircleSize, targetCircleSize);
 
     // draw name (initials)
@@ -276,7 +650,7 @@ public class DefaultImageGenerator implements ImageGenerator {
     }
     
     // get the map data of this space
-    MapData spaceData = spacesData.get(space.getId());
+    MapData spaceData = layout(space.getId());
 
     
     // for all players draw it on the box
@@ -284,8 +658,8 @@ public class DefaultImageGenerator implements ImageGenerator {
       g2.setColor(playersColor);
       
       // draw circle
-      int xplayer = spaceData.getPlayerCoordAtBox(i).x;
-      int yplayer = spaceData.getPlayerCoordAtBox(i).y;
+      int xplayer = spaceData.getPlayerXAtBox(i);
+      int yplayer = spaceData.getPlayerYAtBox(i);
       g2.fillOval(xplayer, yplayer, playerCircleSize, playerCircleSize);
       
       // draw name
@@ -301,13 +675,13 @@ public class DefaultImageGenerator implements ImageGenerator {
     }
     
     // get the map data of this space
-    MapData spaceData = spacesData.get(space.getId());
+    MapData spaceData = layout(space.getId());
     
     for (int i = 0; i < maxPlayers; i++) {
       
       // get coordinates
-      int x = spaceData.getCoordAtBox(i).x;
-      int y = spaceData.getCoordAtBox(i).y;
+      int x = spaceData.getBoxX(i);
+      int y = spaceData.getBoxY(i);
       
       eraseArea(x, y, spaceData.getboxWidth(), spaceData.getboxHeight());
     }
@@ -320,11 +694,11 @@ public class DefaultImageGenerator implements ImageGenerator {
     }
     
     // get the spaceData of where the target is at
-    MapData spaceData = spacesData.get(target.getCurrentSpaceId());
+    MapData spaceData = layout(target.getCurrentSpaceId());
     
     // get the coordinate of the target
-    int x = spaceData.getCoordAtBox(11).x;
-    int y = spaceData.getCoordAtBox(11).y;
+    int x = spaceData.getBoxX(11);
+    int y = spaceData.getBoxY(11);
     
     // erase
     eraseArea(x, y, spaceData.getboxWidth(), spaceData.getboxHeight());
@@ -1,11 +1,9 @@
 package world.model;
 
-import java.util.Objects;
-
 /**
  * A Class that represents the item in the game that are used
  * to give damage to the target character.
- * Two items are equal if they have the same name and damage point.
+ * Two items are equal if they have the same id.
  */
 public final class DefaultItem implements Item {
   private final String name;
@@ -63,7 +61,7 @@ public final class DefaultItem implements Item {
 
   @Override
   public int hashCode() {
-    return Objects.hash(damagePoint, name);
+    return Integer.hashCode(itemId);
   }
 
   @Override
@@ -76,7 +74,7 @@ public final class DefaultItem implements Item {
     }
  
     Item other = (Item) o;
-    return damagePoint == other.getDamagePoint() && Objects.equals(name, other.getName());
+    return itemId == other.getItemId();
   }
 }
 
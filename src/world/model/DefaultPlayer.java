@@ -1,36 +1,35 @@
 package world.model;
 
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.Objects;
-import java.util.Set;
-
 
 /**
  * Player in the game the can be controlled by either human user or CPU.
- * Two players are the same if they have the same name.
- * Thus player name is unique.
+ * Two players are the same if they have the same id.
+ * Player name is also unique in a world.
  * MaxItem varies between each players from range 1 to 5.
  */
 public class DefaultPlayer implements Player {
+  // how poking the target in the eye is listed with the items a player holds
+  static final String EYE_POKE_LABEL = "-1.eye poke";
+
+  private final int playerId;
   private final String name;
   private final int maxItem;
-  private final Set<Item> itemsHold;
+  private final ItemInventory itemsHold;
   private Space currentSpace;
   
   /**
-   * Construct a Player object using the given name
+   * Construct a Player object using the given id, name
    * chosen space, and max item it can hold.
    *
+   * @param playerId the id of the player
    * @param name the name of the player
    * @param currentSpace the space it is in 
    * @param maxItem the maximum number of item
    * @throws IllegalArgumentException if any argument is null
-   *     and if maxItem is negative.
+   *     and if playerId or maxItem is negative.
    * 
    */
-  public DefaultPlayer(String name, Space currentSpace,
+  public DefaultPlayer(int playerId, String name, Space currentSpace,
       int maxItem) throws IllegalArgumentException {
     // check null and empty string
     if (name == null || "".equals(name) || currentSpace == null) {
@@ -41,13 +40,23 @@ public class DefaultPlayer implements Player {
       throw new IllegalArgumentException("Max Item cannot be 0");
     }
     
+    if (playerId < 0) {
+      throw new IllegalArgumentException("Player id cannot be negative");
+    }
+    
+    this.playerId = playerId;
     this.name = name;
     this.currentSpace = currentSpace;
-    this.itemsHold = new HashSet<Item>();
+    this.itemsHold = new ItemInventory(true);
     this.maxItem = maxItem;
     currentSpace.addPlayer(this);
   }
   
+  @Override
+  public int getId() {
+    return this.playerId;
+  }
+
   @Override
   public String getName() {
     return this.name;
@@ -55,11 +64,8 @@ public class DefaultPlayer implements Player {
 
   @Override
   public int getItemIdWithMostDamage() {
-    if (itemsHold.size() > 0) {
-      Item itemMax = itemsHold.stream()
-          .max((itemA, itemB) -> itemA.getDamagePoint() - itemB.getDamagePoint())
-          .get();
-      
+    Item itemMax = itemsHold.getMostDamaging();
+    if (itemMax != null) {
       return itemMax.getItemId();
     }
     return -1; // item does not exist
@@ -82,7 +88,7 @@ public class DefaultPlayer implements Player {
   @Override
   public String getItemsAsString() {
     StringBuilder s = new StringBuilder();
-    s.append("-1.eye poke").append(",");
+    s.append(EYE_POKE_LABEL).append(",");
     for (Item item : itemsHold) {
       s.append(item.getItemId()).append(".").append(item.getName())
           .append(",");
@@ -127,7 +133,9 @@ public class DefaultPlayer implements Player {
       return true;
     } else {
       Item item = this.getItemAtId(itemId);
-      itemsHold.remove(item);
+      if (item != null) {
+        itemsHold.remove(item);
+      }
       return false;
     }
   }
@@ -212,14 +220,10 @@ public class DefaultPlayer implements Player {
     s.append(name)
       .append(", max item: ").append(maxItem).append("\n");
    
-    if (!itemsHold.isEmpty()) {
-      Iterator<Item> iterator = itemsHold.iterator();
-      
-      while (iterator.hasNext()) {
-        s.append("               > ")
-         .append(iterator.next().toString())
-             .append("\n");
-      }
+    for (Item item : itemsHold) {
+      s.append("               > ")
+       .append(item.toString())
+           .append("\n");
     }
       
     return s.toString();
@@ -239,12 +243,12 @@ public class DefaultPlayer implements Player {
 
     // The successful instance of check means our cast will succeed:
     Player that = (Player) o;
-    return name.equals(that.getName()); 
+    return playerId == that.getId(); 
   }
   
   @Override
   public int hashCode() {
-    return Objects.hash(name);
+    return Integer.hashCode(playerId);
   }
 
   /* **********Helper Methods ****************************/
@@ -274,16 +278,6 @@ public class DefaultPlayer implements Player {
     if (id <= -2) {
       throw new IllegalArgumentException("Item index does not exist");
     }
-    try {
-      // get the item
-      Item item = itemsHold
-              .stream()
-              .filter(itemA -> itemA.getItemId() == id)
-              .findAny()
-              .get();
-      return item;
-    } catch (NoSuchElementException e) {
-      return null;
-    }
+    return itemsHold.get(id);
   }
 }
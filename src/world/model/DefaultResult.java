@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * 
@@ -18,7 +19,7 @@ public final class DefaultResult implements Result {
   private String spaceText;
   private String lookAroundText;
   private String playerDescription;
-  private BufferedImage img;
+  private final Supplier<BufferedImage> img;
   private List<String> spaceNames;
   private List<String> currentPlayerItemNames;
   private List<String> currentPlayerSpaceItemNames;
@@ -34,7 +35,19 @@ public final class DefaultResult implements Result {
    */
   public DefaultResult(String name, BufferedImage img,
       List<String> spaceNames) throws IllegalArgumentException {
-    
+    this(name, imageSupplier(img), spaceNames);
+  }
+
+  /**
+   * Constructor for a result whose image is only made when it is first asked for.
+   * @param name the name of the world
+   * @param img the supplier of the image of the world
+   * @param spaceNames the list of name of all spaces for this world
+   * @throws IllegalArgumentException if name or img is null
+   */
+  DefaultResult(String name, Supplier<BufferedImage> img,
+      List<String> spaceNames) throws IllegalArgumentException {
+
     validateString(name);
     if (img == null) {
       throw new IllegalArgumentException(
@@ -123,8 +136,8 @@ public final class DefaultResult implements Result {
   }
 
   @Override
-  public BufferedImage getBufferedImage() {
-    return this.img;
+  public BufferedImage getBufferedImage() throws IllegalStateException {
+    return this.img.get();
   }
   
   @Override
@@ -198,6 +211,16 @@ public final class DefaultResult implements Result {
 
   /* *********** Helper methods *******************/
 
+  /**
+   * Util for wrapping an image that has already been made.
+   *
+   * @param img the image
+   * @return the supplier of the image, or null if img is null
+   */
+  private static Supplier<BufferedImage> imageSupplier(BufferedImage img) {
+    return img == null ? null : () -> img;
+  }
+
   /**
    * Util for validating string argument.
    *
@@ -3,8 +3,7 @@ package world.model;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 
 /**
@@ -12,11 +11,15 @@ import java.util.stream.Collectors;
  */
 public final class DefaultSpace implements Space {
   private final List<Space> neighbors;
+  private final Supplier<SpaceAdjacency> adjacency;
+  private final SpaceOccupancy occupancy;
   private final String name;
-  private final RowCol upLeft;
-  private final RowCol lowRight;
+  private final int upLeftRow;
+  private final int upLeftCol;
+  private final int lowRightRow;
+  private final int lowRightCol;
   private final int spaceId;
-  private List<Item> items;
+  private ItemInventory itemInventory;
   private List<Player> players;
   private Pet pet;
 
@@ -37,12 +40,39 @@ public final class DefaultSpace implements Space {
   public DefaultSpace(int spaceId, String name, RowCol upLeft, RowCol
       lowRight)
       throws IllegalArgumentException {
+    this(spaceId, name, upLeft, lowRight, new ArrayList<Space>(), null, null, null);
+  }
+
+  /**
+   * Constructs a space whose neighbors are already known, for example a read only
+   * view over the neighbor table of a {@link WorldTopology}. Neighbors cannot be
+   * added to a space that has a neighbor table.
+   * @param spaceId the id of the space
+   * @param name the name of the space.
+   * @param upLeft the upper left coordinates of the space
+   * @param lowRight the lower right coordinates of the space
+   * @param neighbors the neighbors of the space
+   * @param adjacency the neighbor table the list is a view over, used to check
+   *     neighbors by id, or null to check the list
+   * @param occupancy the occupancy of the spaces of the game the space is in, kept up
+   *     to date by the space and used to check its neighbors for players, or null to
+   *     ask the neighbors
+   * @param worldItems the items of the world in id order, which the space looks the
+   *     items it has up in, or null for the space to keep its items itself
+   * @throws IllegalArgumentException if neighbors is null, or for the same reasons
+   *     as {@link #DefaultSpace(int, String, RowCol, RowCol)}
+   */
+  DefaultSpace(int spaceId, String name, RowCol upLeft, RowCol lowRight,
+      List<Space> neighbors, Supplier<SpaceAdjacency> adjacency, SpaceOccupancy occupancy,
+      List<Item> worldItems) throws IllegalArgumentException {
     
     // check null
     if (name == null || "".equals(name)) {
       throw new IllegalArgumentException("Space name cannot be empty");
     } else if (upLeft == null || lowRight == null) {
       throw new IllegalArgumentException("Coordinates cannot be null");
+    } else if (neighbors == null) {
+      throw new IllegalArgumentException("Neighbors cannot be null");
     } 
     
     // check validity
@@ -57,11 +87,16 @@ public final class DefaultSpace implements Space {
 
     this.spaceId = spaceId;
     this.name = name;
-    this.upLeft = upLeft;
-    this.lowRight = lowRight;
-    this.neighbors = new ArrayList<Space>();
+    this.upLeftRow = upLeft.getRow();
+    this.upLeftCol = upLeft.getCol();
+    this.lowRightRow = lowRight.getRow();
+    this.lowRightCol = lowRight.getCol();
+    this.neighbors = neighbors;
+    this.adjacency = adjacency;
+    this.occupancy = occupancy;
     this.players = new ArrayList<Player>();
-    this.items = new ArrayList<Item>(); 
+    this.itemInventory = worldItems == null ? new ItemInventory(false)
+        : new ItemInventory(worldItems);
     this.pet = null;
   }
   
@@ -77,20 +112,24 @@ public final class DefaultSpace implements Space {
     
     this.spaceId = space.getId();
     this.name = space.getName();
-    this.upLeft = space.getUpLeft();
-    this.lowRight = space.getLowRight();
+    this.upLeftRow = space.getUpLeftRow();
+    this.upLeftCol = space.getUpLeftCol();
+    this.lowRightRow = space.getLowRightRow();
+    this.lowRightCol = space.getLowRightCol();
     this.players = new ArrayList<Player>();
     this.pet = null;
     
     this.neighbors = new ArrayList<Space>();
+    this.adjacency = null;
+    this.occupancy = null;
     for (int i = 0; i < space.getNeighborSize(); i++) {
       neighbors.add(space.getNeighborAt(i));
     }
     
     
-    this.items = new ArrayList<Item>();
+    this.itemInventory = new ItemInventory(false);
     for (int i = 0; i < space.getItemSize(); i++) {
-      items.add(space.getItemAt(i));
+      this.addItem(space.getItemAt(i));
     }
     
   }
@@ -122,7 +161,7 @@ public final class DefaultSpace implements Space {
   @Override
   public String getItemsAsString() {
     StringBuilder s = new StringBuilder();
-    for (Item item : items) {
+    for (Item item : itemInventory) {
       s.append(item.getItemId()).append(".").append(item.getName())
           .append(",");
     }
@@ -133,18 +172,39 @@ public final class DefaultSpace implements Space {
   
   @Override
   public RowCol getUpLeft() {
-    RowCol upLeftClone = new RowCol(this.upLeft.getRow(), this.upLeft.getCol());
-    return upLeftClone;
+    return new RowCol(this.upLeftRow, this.upLeftCol);
   }
   
   @Override
   public RowCol getLowRight() {
-    RowCol lowRightClone =  new RowCol(this.lowRight.getRow(), this.lowRight.getCol());
-    return lowRightClone;   
+    return new RowCol(this.lowRightRow, this.lowRightCol);
+  }
+
+  @Override
+  public int getUpLeftRow() {
+    return this.upLeftRow;
+  }
+
+  @Override
+  public int getUpLeftCol() {
+    return this.upLeftCol;
+  }
+
+  @Override
+  public int getLowRightRow() {
+    return this.lowRightRow;
+  }
+
+  @Override
+  public int getLowRightCol() {
+    return this.lowRightCol;
   }
 
   @Override
   public int getNeighborSize() {
+    if (adjacency != null) {
+      return adjacency.get().getNeighborCount(spaceId);
+    }
     return this.neighbors.size();
   }
   
@@ -161,27 +221,42 @@ public final class DefaultSpace implements Space {
   
   @Override 
   public List<Integer> getNeighborsIndices() {
-    return this.neighbors
-    .stream()
-    .map(neighbor -> neighbor.getId())
-        .collect(Collectors.toList());
-    
+    int size = getNeighborSize();
+    List<Integer> indices = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      indices.add(getNeighborId(i));
+    }
+    return indices;
+  }
+
+  @Override
+  public int getNeighborId(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= getNeighborSize()) {
+      throw new IllegalArgumentException(
+              new StringBuilder("List id cannot be negative or past the last ")
+                      .append("neighbour when getting a neighbour")
+                      .toString());
+    }
+    if (adjacency != null) {
+      return adjacency.get().getNeighbor(spaceId, index);
+    }
+    return this.neighbors.get(index).getId();
   }
   
   @Override
   public int getItemSize() {
-    return this.items.size();
+    return this.itemInventory.size();
   }
   
   @Override 
   public Item getItemAt(int id) throws IllegalArgumentException {
-    if ((id < 0) || (items.size() == 0)) {
+    if ((id < 0) || (id >= itemInventory.size())) {
       throw new IllegalArgumentException(
               new StringBuilder("Set id cannot be negative when getting")
                       .append("an item from a space's set or there is no item present.")
                       .toString());
     }
-    return this.items.get(id);
+    return this.itemInventory.getByOrder(id);
   }
  
   @Override
@@ -189,7 +264,9 @@ public final class DefaultSpace implements Space {
     if (item == null) {
       throw new IllegalArgumentException("Item added to a space cannot be null");
     }
-    this.items.add(item);
+    if (!this.itemInventory.add(item)) {
+      throw new IllegalArgumentException("item already exist in this space");
+    }
   }
   
   @Override 
@@ -200,12 +277,18 @@ public final class DefaultSpace implements Space {
       throw new IllegalStateException("A space cannot have more than 1 pet");
     }
     this.pet = pet;
+    if (occupancy != null) {
+      occupancy.setPet(spaceId, true);
+    }
   }
   
   @Override
-  public void addNeighbor(Space other) throws IllegalArgumentException {
+  public void addNeighbor(Space other) throws IllegalArgumentException, IllegalStateException {
     if (other == null) {
       throw new IllegalArgumentException("Neighbor added to a space cannot be null");
+    } else if (adjacency != null) {
+      throw new IllegalStateException(
+          "The neighbors of a space of a world topology are fixed by the topology");
     }
 
     // skip duplicate
@@ -235,6 +318,9 @@ public final class DefaultSpace implements Space {
       }
     }
     this.players.add(player);
+    if (occupancy != null) {
+      occupancy.setOccupied(spaceId, true);
+    }
   }
  
   @Override
@@ -244,11 +330,8 @@ public final class DefaultSpace implements Space {
     } 
     
     // check if item is present
-    for (Item itemInSpace : items) {
-      if (itemInSpace.equals(item)) {
-        this.items.remove(item); // remove
-        return;
-      }
+    if (this.itemInventory.remove(item)) {
+      return;
     }
     throw new IllegalArgumentException("Cannot remove non-existing item from this space");
   }
@@ -256,11 +339,17 @@ public final class DefaultSpace implements Space {
   @Override 
   public void removePet() {
     this.pet = null;
+    if (occupancy != null) {
+      occupancy.setPet(spaceId, false);
+    }
   }
   
   @Override
   public void removeAllPlayers() {
     this.players = new ArrayList<Player>();
+    if (occupancy != null) {
+      occupancy.setOccupied(spaceId, false);
+    }
   }
   
   @Override
@@ -273,6 +362,9 @@ public final class DefaultSpace implements Space {
     for (Player playerInSpace : players) {
       if (playerInSpace.equals(player)) {
         this.players.remove(player);
+        if (occupancy != null) {
+          occupancy.setOccupied(spaceId, !players.isEmpty());
+        }
         return;
       }
     }
@@ -289,12 +381,7 @@ public final class DefaultSpace implements Space {
     if (other == null) {
       throw new IllegalArgumentException("Item cannot be null");
     }
-    for (Item item : items) {
-      if (item.equals(other)) {
-        return true;
-      }
-    }
-    return false;
+    return itemInventory.contains(other.getItemId());
   }
 
   @Override
@@ -302,6 +389,9 @@ public final class DefaultSpace implements Space {
     if (other == null) {
       throw new IllegalArgumentException("Space cannot be null");
     }
+    if (adjacency != null) {
+      return adjacency.get().isNeighbor(spaceId, other.getId());
+    }
     
     for (Space neighbor : neighbors) {
       if (neighbor.equals(other)) {
@@ -323,18 +413,18 @@ public final class DefaultSpace implements Space {
     // p is other (potential)
     // Check for left right neighbors
     // 1. if 's wall is on the left of p's wall or vice versa they might be neighbors
-    boolean iseLeftOfp = (this.getUpLeft().getCol() == (other.getLowRight().getCol() + 1));
-    boolean iseRightOfp = (this.getLowRight().getCol() == (other.getUpLeft().getCol() - 1));
+    boolean iseLeftOfp = (this.upLeftCol == (other.getLowRightCol() + 1));
+    boolean iseRightOfp = (this.lowRightCol == (other.getUpLeftCol() - 1));
 
     // 2. if e's top wall falls between p's vertical wall range
     boolean etopBetweenPverticalRange = 
-        ((this.getUpLeft().getRow() >= other.getUpLeft().getRow())
-            && (this.getUpLeft().getRow() <= other.getLowRight().getRow()));
+        ((this.upLeftRow >= other.getUpLeftRow())
+            && (this.upLeftRow <= other.getLowRightRow()));
 
     // 3. if e's bottom wall falls between p's vertical wall range
     boolean ebottomBetweenPverticalRange = 
-        ((this.getLowRight().getRow() >= other.getUpLeft().getRow()) 
-            && (this.getLowRight().getRow() <= other.getLowRight().getRow()));
+        ((this.lowRightRow >= other.getUpLeftRow()) 
+            && (this.lowRightRow <= other.getLowRightRow()));
 
     // 4. Combined the if logic together:
     if (iseLeftOfp || iseRightOfp) {
@@ -346,20 +436,20 @@ public final class DefaultSpace implements Space {
     // Check for top bottom neighbors
     // 4. If e's wall is right below or above p's wall 
     boolean isVerticalNeighbor = false;
-    boolean ebelowP = (this.getUpLeft().getRow() == other.getLowRight().getRow() + 1);
-    boolean eaboveP = (this.getLowRight().getRow() == other.getUpLeft().getRow() - 1);   
+    boolean ebelowP = (this.upLeftRow == other.getLowRightRow() + 1);
+    boolean eaboveP = (this.lowRightRow == other.getUpLeftRow() - 1);   
     if (ebelowP || eaboveP) {
 
       // 5. If e's left wall falls between p's horizontal wall range
       boolean eleftBetweenPhorizontalRange = 
-          (this.getUpLeft().getCol() >= other.getUpLeft().getCol() 
-          && (this.getUpLeft().getCol() <= other.getLowRight().getCol()));
+          (this.upLeftCol >= other.getUpLeftCol() 
+          && (this.upLeftCol <= other.getLowRightCol()));
 
 
       // 6. If e's right wall falls between p's horizontal wall range
       boolean erightBetweenPhorizontalRange = 
-          (this.getLowRight().getCol() >= other.getUpLeft().getCol())
-          && (this.getLowRight().getCol() <= other.getLowRight().getCol());
+          (this.lowRightCol >= other.getUpLeftCol())
+          && (this.lowRightCol <= other.getLowRightCol());
 
       if (eleftBetweenPhorizontalRange || erightBetweenPhorizontalRange) {
         isVerticalNeighbor = true;
@@ -371,6 +461,9 @@ public final class DefaultSpace implements Space {
    
   @Override
   public boolean doNeighborsHavePlayersPetMode() {
+    if (occupancy != null) {
+      return occupancy.hasWatchingNeighbor(spaceId);
+    }
     for (Space neighbor : neighbors) {
       if (!neighbor.isPetHere()) {
         if (neighbor.getPlayersSize() > 0) {
@@ -383,6 +476,9 @@ public final class DefaultSpace implements Space {
   
   @Override
   public boolean doNeighborsHavePlayers() {
+    if (occupancy != null) {
+      return occupancy.hasOccupiedNeighbor(spaceId);
+    }
     for (Space neighbor : neighbors) {
       if (neighbor.getPlayersSize() > 0) {
         return true;
@@ -480,8 +576,8 @@ public final class DefaultSpace implements Space {
   @Override
   public String itemsAsString() {
     StringBuilder s = new StringBuilder();
-    if (!items.isEmpty()) {
-      Iterator<Item> iterator = items.iterator();
+    if (itemInventory.size() > 0) {
+      Iterator<Item> iterator = itemInventory.iterator();
       
       int i = 1;
       while (iterator.hasNext()) {
@@ -581,7 +677,7 @@ public final class DefaultSpace implements Space {
 
   @Override
   public int hashCode() {
-    return Objects.hash(name);
+    return Integer.hashCode(spaceId);
   }
 
   @Override
@@ -595,7 +691,7 @@ public final class DefaultSpace implements Space {
     }
 
     Space that = (Space) o;
-    return (this.name.equals(that.getName()));
+    return this.spaceId == that.getId();
 
   }
 
@@ -9,9 +9,9 @@ import java.util.Objects;
 public final class DefaultTargetCharc implements TargetCharacter {
 
   private final String name;
-  private final int maxSpace;
+  private final int[] route;
   private int health;
-  private int roomIdx;
+  private int stop;
   private final int originalHealth;
   
   
@@ -29,6 +29,25 @@ public final class DefaultTargetCharc implements TargetCharacter {
    */
   public DefaultTargetCharc(String name, int health, 
       int maxSpace) throws IllegalArgumentException {   
+    this(name, health, inOrderRoute(maxSpace));
+  }
+
+  /**
+   * Constructs a target character that follows a route that has been planned for it,
+   * for example by a {@link TargetRoutePlanner}. It starts at the first stop of the
+   * route and goes back to it after the last.
+   * @param name the name of the target character
+   * @param health the initial health of the character
+   * @param route the space indexes of the route
+   * @throws IllegalArgumentException if:
+   *     <ul>
+   *     <li> The health is less than 1
+   *     <li> The name is an empty string
+   *     <li> The route is null or empty, or has a negative space index
+   *     </ul>
+   */
+  public DefaultTargetCharc(String name, int health,
+      int[] route) throws IllegalArgumentException {
     if ("".equals(name) || name == null) {
       throw new IllegalArgumentException("Name of the target character cannot be empty");
     } else if (health <= 0) {
@@ -36,17 +55,40 @@ public final class DefaultTargetCharc implements TargetCharacter {
               new StringBuilder("The initial health of the target ")
                       .append("character cannot be less than 1")
                       .toString());
-    } else if (maxSpace <= 0) {
+    } else if (route == null || route.length == 0) {
+      throw new IllegalArgumentException("Route of the target character cannot be empty");
+    }
+    for (int spaceId : route) {
+      if (spaceId < 0) {
+        throw new IllegalArgumentException("Route of the target character has space "
+            + spaceId);
+      }
+    }
+    this.name = name;
+    this.health = health;
+    this.originalHealth = health;
+    this.route = route.clone();
+    this.stop = 0;
+  }
+
+  /**
+   * Helper for the route of a target character that walks the rooms in index order.
+   * @param maxSpace the maximum room index before it goes back to 0
+   * @return the route
+   * @throws IllegalArgumentException if maxSpace is 0 or less
+   */
+  private static int[] inOrderRoute(int maxSpace) throws IllegalArgumentException {
+    if (maxSpace <= 0) {
       throw new IllegalArgumentException(
               new StringBuilder("Maximum space for target")
                       .append("character cannot be 0 or less")
                       .toString());
     }
-    this.name = name;
-    this.health = health;
-    this.originalHealth = health;
-    this.roomIdx = 0;
-    this.maxSpace = maxSpace;
+    int[] route = new int[maxSpace];
+    for (int spaceId = 0; spaceId < maxSpace; spaceId++) {
+      route[spaceId] = spaceId;
+    }
+    return route;
   }
   
   @Override
@@ -61,16 +103,24 @@ public final class DefaultTargetCharc implements TargetCharacter {
   
   @Override
   public int getCurrentSpaceId() {
-    return this.roomIdx;
+    return this.route[stop];
   }
   
   @Override
   public void move() {
-    if (roomIdx < this.maxSpace - 1) {
-      this.roomIdx += 1;
+    if (stop < this.route.length - 1) {
+      this.stop += 1;
     } else {
-      this.roomIdx = 0;
+      this.stop = 0;
+    }
+  }
+  
+  @Override
+  public int predictSpaceId(int turns) throws IllegalArgumentException {
+    if (turns < 0) {
+      throw new IllegalArgumentException("Cannot predict a negative number of turns");
     }
+    return route[(stop + turns % route.length) % route.length];
   }
   
   @Override
@@ -121,6 +171,6 @@ public final class DefaultTargetCharc implements TargetCharacter {
   @Override
   public void restoreHealthAndPosition() {
     this.health = originalHealth;
-    this.roomIdx = 0;
+    this.stop = 0;
   }
 }
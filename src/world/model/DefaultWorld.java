@@ -1,16 +1,14 @@
 package world.model;
 
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
-import java.util.Set;
+import world.model.WorldLoadReport.Phase;
+import world.model.WorldLoadReport.Stopwatch;
 
 /**
  * World stores spaces, characters, and items inside it. It also contains CPU
@@ -19,29 +17,43 @@ import java.util.Set;
  */
 
 public final class DefaultWorld implements World {
-  // descriptions
-  private RowCol size;
-  private String name;
-
-  // spaces, players, items, character
-  private Pet pet;
-  private TargetCharacter target;
-  private List<Space> spaces;
-  private List<Item> items;
-  private List<Player> players;
-  private Map<Integer, Cpu> cpuControllers;
-
-  // reset objects
-  private List<Space> spacesDefaultState;
-
-  // dfs
-  private List<Integer> dfsPath;
-  private boolean isPetDfs;
-  private int dfsMoveToId;
-
-  // result and image
+  // rooms, items and neighbors, shared with other games of the same world
+  private WorldTopology topology;
+
+  // spaces, players, pet and target of this game
+  private GameState state;
+
+  // how the pet moves on its own, started from the space the pet is in when it is
+  // first needed, so a new game does not wait for the pet tour to be worked out
+  private final PetMovementStrategy petMovement;
+  private boolean petStarted;
+
+  // the route of the target, planned once for each topology, and its overlay which is
+  // only drawn when it is first asked for
+  private final TargetRoutePlanner targetRoutePlanner;
+  private int[] targetRoute;
+  private BufferedImage targetRouteOverlay;
+
+  // result and image, the image is only drawn when it is first asked for
   private Result result;
   private DefaultImageGenerator imgGen;
+  private boolean headless;
+
+  // the regions of a map too big to draw whole, whose image only shows the regions
+  // around the current player, or the target before there are players
+  private WorldRegions regions;
+
+  // where the time went when the current game was loaded, and how its topology was
+  // built, which is only added once the building is waited for when it is read
+  private WorldLoadReport loadReport;
+  private WorldLoadReport buildReport;
+
+  // the topology the current one is an edit of, and the areas that were edited
+  private WorldTopology editedFrom;
+  private List<Rectangle> editedCells;
+
+  // worlds loaded before, for reloading and resetting
+  private final WorldCache cache;
 
   // util
   private int currentTurn;
@@ -68,8 +80,25 @@ public final class DefaultWorld implements World {
    */
   public DefaultWorld(Readable file, RandomIntGenerator randomGen, int maxTurn, boolean isPetDfs)
       throws IllegalArgumentException {
+    this(file, randomGen, maxTurn, isPetDfs, new WorldCache(2));
+  }
 
-    if (file == null || randomGen == null
+  /**
+   * Constructs a world whose loads go through a cache of worlds, which can be shared
+   * with other worlds. Loading a world that is in the cache does not parse or draw it.
+   *
+   * @param file      the the text file of description of world of info
+   * @param randomGen the random number generator object that uses Random class
+   * @param maxTurn   the maximum number of turns
+   * @param isPetDfs  the pet move mode
+   * @param cache     the cache of loaded worlds
+   * @throws IllegalArgumentException if file, randomGen or cache is null, maxTurn is
+   *                                  invalid, or the file is not a valid world
+   */
+  public DefaultWorld(Readable file, RandomIntGenerator randomGen, int maxTurn, boolean isPetDfs,
+      WorldCache cache) throws IllegalArgumentException {
+
+    if (file == null || randomGen == null || cache == null
             || maxTurn <= -1 || maxTurn > 50) {
       throw new IllegalArgumentException(
           "File or Random number generator is null when constructing the world");
@@ -83,10 +112,133 @@ public final class DefaultWorld implements World {
     this.maxTurn = maxTurn;
     this.maxPlayers = 10;
     this.randomGen = randomGen;
-    this.isPetDfs = isPetDfs;
+    this.petMovement = petMovementOf(isPetDfs);
+    this.targetRoutePlanner = new InOrderTargetRoute();
+    this.cache = cache;
 
-    // 2. set up other variables by scanning the file
-    initializeWorld(file);
+    // 2. set up other variables by parsing the file
+    initializeWorld(cache.load(file));
+  }
+
+  /**
+   * Constructs a world from a specification that has already been parsed, for
+   * example one read from a memory mapped file by {@link WorldSpecParser#fromFile}.
+   *
+   * @param spec      the parsed world specification
+   * @param randomGen the random number generator object that uses Random class
+   * @param maxTurn   the maximum number of turns
+   * @param isPetDfs  the pet move mode
+   * @throws IllegalArgumentException if spec or randomGen is null, maxTurn is
+   *                                  invalid, or the specification is not a valid world
+   */
+  public DefaultWorld(WorldSpec spec, RandomIntGenerator randomGen, int maxTurn,
+      boolean isPetDfs) throws IllegalArgumentException {
+    this(WorldTopology.fromSpec(spec), randomGen, maxTurn, isPetDfs);
+  }
+
+  /**
+   * Constructs a new game of a world whose topology has already been built.
+   * The topology is not copied, so many games can be played on one topology.
+   *
+   * @param topology  the rooms, items and neighbors of the world
+   * @param randomGen the random number generator object that uses Random class
+   * @param maxTurn   the maximum number of turns
+   * @param isPetDfs  the pet move mode
+   * @throws IllegalArgumentException if topology or randomGen is null, or maxTurn
+   *                                  is invalid
+   */
+  public DefaultWorld(WorldTopology topology, RandomIntGenerator randomGen, int maxTurn,
+      boolean isPetDfs) throws IllegalArgumentException {
+    this(topology, randomGen, maxTurn, petMovementOf(isPetDfs));
+  }
+
+  /**
+   * Constructs a new game of a world whose topology has already been built, whose
+   * loads go through a cache of worlds. A topology loaded through the cache, for
+   * example with {@link WorldCache#loadFile}, is found there when it is loaded again.
+   *
+   * @param topology  the rooms, items and neighbors of the world
+   * @param randomGen the random number generator object that uses Random class
+   * @param maxTurn   the maximum number of turns
+   * @param isPetDfs  the pet move mode
+   * @param cache     the cache of loaded worlds
+   * @throws IllegalArgumentException if topology, randomGen or cache is null, or
+   *                                  maxTurn is invalid
+   */
+  public DefaultWorld(WorldTopology topology, RandomIntGenerator randomGen, int maxTurn,
+      boolean isPetDfs, WorldCache cache) throws IllegalArgumentException {
+    this(topology, randomGen, maxTurn, petMovementOf(isPetDfs), new InOrderTargetRoute(),
+        cache);
+  }
+
+  /**
+   * Constructs a new game of a world whose topology has already been built, with the
+   * pet moving on its own the way it is told to.
+   *
+   * @param topology    the rooms, items and neighbors of the world
+   * @param randomGen   the random number generator object that uses Random class
+   * @param maxTurn     the maximum number of turns
+   * @param petMovement how the pet moves at the end of every turn
+   * @throws IllegalArgumentException if topology, randomGen or petMovement is null,
+   *                                  or maxTurn is invalid
+   */
+  public DefaultWorld(WorldTopology topology, RandomIntGenerator randomGen, int maxTurn,
+      PetMovementStrategy petMovement) throws IllegalArgumentException {
+    this(topology, randomGen, maxTurn, petMovement, new InOrderTargetRoute());
+  }
+
+  /**
+   * Constructs a new game of a world whose topology has already been built, with the
+   * pet moving on its own and the target following a route the way they are told to.
+   *
+   * @param topology           the rooms, items and neighbors of the world
+   * @param randomGen          the random number generator object that uses Random class
+   * @param maxTurn            the maximum number of turns
+   * @param petMovement        how the pet moves at the end of every turn
+   * @param targetRoutePlanner how the route of the target is planned
+   * @throws IllegalArgumentException if an argument is null, maxTurn is invalid, or the
+   *                                  route of the target does not fit the world
+   */
+  public DefaultWorld(WorldTopology topology, RandomIntGenerator randomGen, int maxTurn,
+      PetMovementStrategy petMovement, TargetRoutePlanner targetRoutePlanner)
+      throws IllegalArgumentException {
+    this(topology, randomGen, maxTurn, petMovement, targetRoutePlanner, new WorldCache(2));
+  }
+
+  /**
+   * Constructs a new game of a world whose topology has already been built, with the
+   * pet moving on its own and the target following a route the way they are told to,
+   * and whose loads go through a cache of worlds.
+   *
+   * @param topology           the rooms, items and neighbors of the world
+   * @param randomGen          the random number generator object that uses Random class
+   * @param maxTurn            the maximum number of turns
+   * @param petMovement        how the pet moves at the end of every turn
+   * @param targetRoutePlanner how the route of the target is planned
+   * @param cache              the cache of loaded worlds
+   * @throws IllegalArgumentException if an argument is null, maxTurn is invalid, or the
+   *                                  route of the target does not fit the world
+   */
+  public DefaultWorld(WorldTopology topology, RandomIntGenerator randomGen, int maxTurn,
+      PetMovementStrategy petMovement, TargetRoutePlanner targetRoutePlanner,
+      WorldCache cache) throws IllegalArgumentException {
+    if (topology == null || randomGen == null || petMovement == null
+        || targetRoutePlanner == null || cache == null) {
+      throw new IllegalArgumentException(
+          "Topology, Random number generator, pet movement, target route or cache is null "
+          + "when constructing the world");
+    }
+    if (maxTurn <= -1 || maxTurn > 50) {
+      throw new IllegalArgumentException(
+              "Max turns invalid when constructing the world");
+    }
+    this.maxTurn = maxTurn;
+    this.maxPlayers = 10;
+    this.randomGen = randomGen;
+    this.petMovement = petMovement;
+    this.targetRoutePlanner = targetRoutePlanner;
+    this.cache = cache;
+    initializeWorld(topology);
   }
 
   @Override
@@ -94,58 +246,48 @@ public final class DefaultWorld implements World {
     if (file == null) {
       throw new IllegalArgumentException("File cannot be null when constructing the world");
     }
-    initializeWorld(file);
+    initializeWorld(cache.load(file));
   }
 
   @Override
-  public void reset() {
-
-    this.target.restoreHealthAndPosition();
-    
-    // clear space
-    for (Space space : spacesDefaultState) {
-      space.removeAllPlayers();  
+  public TopologyDiff hotReload(Readable file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null when reloading the world");
     }
-    this.spaces = spacesDefaultState;
-    
-    
-    pet.move(spaces.get(0));
-   
-
-    // items stays
-    this.players = new ArrayList<Player>();
-    this.cpuControllers = new HashMap<Integer, Cpu>();
-
-    // dfs
-    this.dfsPath = new ArrayList<Integer>();
-    dfsMoveToId = 1;
-    this.createDfsPath();
-
-    // util
-    this.currentTurn = 0;
-    this.gameStarted = false;
-
-    // image
-    final int adj = 60;
-    List<Space> spacesClone = Collections.unmodifiableList(this.spaces);
-    imgGen = new DefaultImageGenerator(spacesClone, size.getCol(), size.getRow(), adj);
-    imgGen.drawWorld();
-    imgGen.drawTarget(target);
-    
-    // space names
-    List<String> spaceNames = new ArrayList<>();
-    for (Space space : spaces) {
-      spaceNames.add(space.getName());
+    WorldTopology previous = this.topology;
+    WorldTopology edited = cache.load(file, previous);
+    TopologyDiff diff = TopologyDiff.between(previous, edited);
+    initializeWorld(edited);
+
+    // the map is drawn from the one before the edit, when it is the same size
+    if (previous.getSize().equals(edited.getSize())) {
+      List<Rectangle> cells = new ArrayList<>();
+      for (int spaceId : diff.getChangedSpaceIds()) {
+        if (spaceId < previous.getSpaceCount()) {
+          cells.add(spaceCells(previous, spaceId));
+        }
+        if (spaceId < edited.getSpaceCount()) {
+          cells.add(spaceCells(edited, spaceId));
+        }
+      }
+      this.editedFrom = previous;
+      this.editedCells = cells;
     }
+    result.setActionResult(new StringBuilder("Reloaded the world: ")
+        .append(diff).toString());
+    return diff;
+  }
 
-    // result
-    this.result = new DefaultResult(name, imgGen.getImage(), spaceNames);
+  @Override
+  public void reset() {
+    // the topology stays, the game starts over with a new state
+    initializeWorld(this.topology);
   }
 
   @Override
   public void startTheGame() throws IllegalStateException {
     
-    if (players.size() == 0) { 
+    if (state.getPlayers().size() == 0) { 
       throw new IllegalStateException("Cannot start game without any players");
     }
     this.gameStarted = true;
@@ -169,28 +311,89 @@ public final class DefaultWorld implements World {
       throw new IllegalArgumentException("point coordinate cannot be null");
     }
 
-    return this.imgGen.getSpaceAtPoint(coord).getName();
+    return this.getImageGenerator().getSpaceAtPoint(coord).getName();
 
   }
 
+  @Override
+  public int getSpaceIdByName(String name) throws IllegalArgumentException {
+    int spaceId = topology.getSpaceId(name);
+    if (spaceId < 0) {
+      throw new IllegalArgumentException("There is no space called " + name + ".\n");
+    }
+    return spaceId;
+  }
+
+  @Override
+  public int getItemIdByLabel(String label) throws IllegalArgumentException {
+    Integer itemId = topology.getItemId(label);
+    if (itemId == null) {
+      throw new IllegalArgumentException("There is no item " + label + ".\n");
+    }
+    return itemId;
+  }
+
+  @Override
+  public int predictTargetSpaceId(int turns) throws IllegalArgumentException {
+    return state.getTarget().predictSpaceId(turns);
+  }
+
+  @Override
+  public int predictPetSpaceId(int turns) throws IllegalArgumentException {
+    return startedPetMovement().predictSpaceId(turns);
+  }
+
+  @Override
+  public BufferedImage getTargetRouteOverlay() throws IllegalStateException {
+    if (targetRouteOverlay == null) {
+      this.targetRouteOverlay = getImageGenerator().drawRoute(targetRoute);
+    }
+    return this.targetRouteOverlay;
+  }
+
   @Override
   public Result getResult() {
     return this.result;
   }
 
+  @Override
+  public WorldLoadReport getLoadReport() {
+    if (buildReport != null) {
+      topology.getAdjacency();
+      topology.getPetTour();
+      loadReport.addAll(buildReport);
+      this.buildReport = null;
+    }
+    return this.loadReport;
+  }
+
+  /**
+   * Set whether the world is headless. A headless world never draws its map, which
+   * saves the time and memory of the image when no view shows it, and asking for the
+   * image or for what is at a point of it throws an IllegalStateException.
+   * @param headless true if the world should not draw its map
+   */
+  public void setHeadless(boolean headless) {
+    this.headless = headless;
+    if (headless) {
+      this.imgGen = null;
+      this.regions = null;
+    }
+  }
+
   @Override
   public String getSpaceInfo(int spaceId) throws IllegalArgumentException {
     if (spaceId <= -1) {
       throw new IllegalArgumentException("Cannot get info of a invalid space.\n");
     }
-    validateSpaceId(spaceId, this.spaces.size());
-    return spaces.get(spaceId).toString();
+    validateSpaceId(spaceId, state.getSpaces().size());
+    return state.getSpaces().get(spaceId).toString();
   }
 
   @Override
   public boolean isCurrentTurnCpu() {
-    int currentPlayerId = (this.currentTurn) % players.size();
-    if (this.cpuControllers.containsKey(currentPlayerId)) {
+    int currentPlayerId = (this.currentTurn) % state.getPlayers().size();
+    if (state.getCpuController(currentPlayerId) != null) {
       return true;
     }
     return false;
@@ -199,7 +402,7 @@ public final class DefaultWorld implements World {
   @Override
   public boolean isGameOver() {
 
-    if ((currentTurn > maxTurn - 1 && currentTurn != 0) || target.getHealth() == 0) {
+    if ((currentTurn > maxTurn - 1 && currentTurn != 0) || state.getTarget().getHealth() == 0) {
       return true;
     }
     return false;
@@ -208,7 +411,7 @@ public final class DefaultWorld implements World {
   @Override
   public void validateGameTurn(boolean isCpuCall) throws IllegalStateException {
 
-    if (players.size() == 0) {
+    if (state.getPlayers().size() == 0) {
       throw new IllegalStateException("Please add players before making any move.");
 
     } else if (isGameOver()) {
@@ -237,31 +440,34 @@ public final class DefaultWorld implements World {
     StringBuilder resultMsg = new StringBuilder();
 
     // 2. get current player index and controllers
-    int currPlayerId = (this.currentTurn) % players.size();
-    Cpu currController = this.cpuControllers.get(currPlayerId);
+    int currPlayerId = (this.currentTurn) % state.getPlayers().size();
+    Cpu currController = state.getCpuController(currPlayerId);
 
-    int oldPetSpaceIdx = this.pet.getCurrentSpace().getId();
+    int oldPetSpaceIdx = state.getPet().getCurrentSpace().getId();
     Space oldSpace = this.getCurrentPlayer().getCurrentSpace();
 
     // 3. get the random space to move pet to
+    List<Space> spaces = state.getSpaces();
     Space randomSpace = spaces.get(randomGen.getNextInt(0, spaces.size() - 1));
 
     // 4. take ranom action
-    resultMsg.append(currController.takeCpuTurnCommand(this.target, this.pet, randomSpace));
+    resultMsg.append(currController.takeCpuTurnCommand(state.getTarget(), state.getPet(),
+        randomSpace));
 
-    int newPetSpaceIdx = this.pet.getCurrentSpace().getId();
+    int newPetSpaceIdx = state.getPet().getCurrentSpace().getId();
     Space newSpace = this.getCurrentPlayer().getCurrentSpace();
 
     // if CPU moved the pet, reset the nextMove index
     if (oldPetSpaceIdx != newPetSpaceIdx) {
-      // resetPetDfsNextMove();
-      createDfsPath();
+      restartPetMovement();
     }
 
     // if the player moved
     if (!oldSpace.equals(newSpace)) {
       // draw and erase
-      imgGen.redrawSpacesPlayers(oldSpace, newSpace);
+      if (imgGen != null) {
+        imgGen.redrawSpacesPlayers(oldSpace, newSpace);
+      }
     }
 
     moveTargetPetAndIncrementTurn();
@@ -273,7 +479,7 @@ public final class DefaultWorld implements World {
   public void makeHumanPickItem(int itemId) throws IllegalArgumentException, IllegalStateException {
 
     // 1. Validate argument
-    if (itemId < 0 || itemId >= items.size()) {
+    if (itemId < 0 || itemId >= topology.getItems().size()) {
       throw new IllegalArgumentException("Item index entered is not valid");
     }
 
@@ -283,7 +489,7 @@ public final class DefaultWorld implements World {
 
     // 3. get players and items to pick
     Player currPlayer = getCurrentPlayer();
-    Item itemToPick = items.get(itemId);
+    Item itemToPick = topology.getItems().get(itemId);
 
     // 4. create status message
     StringBuilder resultMsg = new StringBuilder();
@@ -312,7 +518,7 @@ public final class DefaultWorld implements World {
           "Coordinate cannot be null when human is moving to this point");
     }
     
-    Space space = imgGen.getSpaceAtPoint(coord);
+    Space space = getImageGenerator().getSpaceAtPoint(coord);
     if (space == null) {
       throw new IllegalArgumentException("There is no space at this coordinate");
     }
@@ -344,7 +550,7 @@ public final class DefaultWorld implements World {
   @Override
   public void makeHumanMovePet(int spaceId) throws IllegalArgumentException, IllegalStateException {
     // 1. validate argument
-    validateSpaceId(spaceId, this.spaces.size());
+    validateSpaceId(spaceId, state.getSpaces().size());
 
     // 2. Validate state
     boolean isCpuCall = false;
@@ -352,17 +558,17 @@ public final class DefaultWorld implements World {
 
     // 3. get players and space to move pet to
     Player currPlayer = getCurrentPlayer();
-    currPlayer.movePet(this.pet, spaces.get(spaceId));
+    currPlayer.movePet(state.getPet(), state.getSpaces().get(spaceId));
 
-    // 4. create a new dfs path for the pet from this index.
+    // 4. start the pet moving again from its new space.
     // turn and move target and pet
-    createDfsPath();
+    restartPetMovement();
     moveTargetPetAndIncrementTurn();
 
     // 5. create status message
     StringBuilder resultMsg = new StringBuilder();
-    resultMsg.append(currPlayer.getName()).append(" has moved ").append(this.pet.getName())
-    .append(" to ").append(spaces.get(spaceId).getName()).toString();
+    resultMsg.append(currPlayer.getName()).append(" has moved ").append(state.getPet().getName())
+    .append(" to ").append(state.getSpaces().get(spaceId).getName()).toString();
 
     result.setActionResult(resultMsg.toString());
 
@@ -371,7 +577,7 @@ public final class DefaultWorld implements World {
   @Override
   public void makeHumanKill(int itemId) throws IllegalArgumentException, IllegalStateException {
     // 1. Validate argument
-    if (itemId <= -2 || itemId >= items.size()) {
+    if (itemId <= -2 || itemId >= topology.getItems().size()) {
       throw new IllegalArgumentException("Item index entered is not valid");
     }
 
@@ -380,7 +586,8 @@ public final class DefaultWorld implements World {
     validateGameTurn(isCpuCall);
 
     // 3. if target is not in space
-    if (this.getCurrentPlayer().getCurrentSpace().getId() != target.getCurrentSpaceId()) {
+    int targetSpaceId = state.getTarget().getCurrentSpaceId();
+    if (this.getCurrentPlayer().getCurrentSpace().getId() != targetSpaceId) {
       throw new IllegalStateException("Target is not in the same space");
 
     } 
@@ -396,32 +603,32 @@ public final class DefaultWorld implements World {
       itemName = "eye poking";
 
     } else {
-      itemName = items.get(itemId).getName();
+      itemName = topology.getItems().get(itemId).getName();
     }
 
     // 6. if kill attempt successful
-    if (this.getCurrentPlayer().attemptToKill(target, itemId)) {
+    if (this.getCurrentPlayer().attemptToKill(state.getTarget(), itemId)) {
       moveTargetPetAndIncrementTurn();
-      resultMsg.append("successfuly attempted to kill ").append(target.getName())
+      resultMsg.append("successfuly attempted to kill ").append(state.getTarget().getName())
       .append(" using ").append(itemName);
 
       // -grab target health
-      if (target.getHealth() > 0) {
+      if (state.getTarget().getHealth() > 0) {
         resultMsg.append(". ")
-                .append(target.getName())
+                .append(state.getTarget().getName())
                 .append("'s health is now ")
-        .append(target.getHealth()).toString();
+        .append(state.getTarget().getHealth()).toString();
       } else { // target dead
         this.gameStarted = false;
-        resultMsg.append(". ").append(target.getName()).append(" is dead.");
+        resultMsg.append(". ").append(state.getTarget().getName()).append(" is dead.");
       }
       resultMsg.toString();
 
     } else { // 7. if kill attempt fail
       moveTargetPetAndIncrementTurn();
-      resultMsg.append("failed to kill ").append(target.getName())
+      resultMsg.append("failed to kill ").append(state.getTarget().getName())
       .append(" since there are players around").append(".Target's health is still ")
-      .append(target.getHealth()).toString();
+      .append(state.getTarget().getHealth()).toString();
     }
 
     result.setActionResult(resultMsg.toString());
@@ -429,7 +636,7 @@ public final class DefaultWorld implements World {
 
   @Override
   public void generateImage() throws IllegalStateException {
-    imgGen.saveWorldImage();
+    getImageGenerator().saveWorldImage();
   }
 
   /*
@@ -441,7 +648,7 @@ public final class DefaultWorld implements World {
 
     // 1. Validate argument
     validateString(name);
-    validateSpaceId(spaceId, this.spaces.size());
+    validateSpaceId(spaceId, state.getSpaces().size());
 
 
     // 2. Validate State
@@ -452,14 +659,14 @@ public final class DefaultWorld implements World {
 
     // - duplicate names
     StringBuilder resultMsg = new StringBuilder();
-    for (Player player : players) {
+    for (Player player : state.getPlayers()) {
       if (player.getName().equals(name)) {
         throw new IllegalArgumentException("There is a player with a duplicate name");
       }
     }
     
     // - max players
-    if (players.size() == maxPlayers) {
+    if (state.getPlayers().size() == maxPlayers) {
       throw new IllegalStateException("You've reached maximum players. Start the game");
     }
 
@@ -470,12 +677,12 @@ public final class DefaultWorld implements World {
     
     // 4. Create players with random max number of item from 1 to 5
     int maxItem = randomGen.getNextInt(1, 5);
-    Space playerSpace = spaces.get(spaceId);
-    Player p1 = new DefaultPlayer(name, playerSpace, maxItem);
+    Space playerSpace = state.getSpaces().get(spaceId);
+    int playerId = state.getPlayers().size();
+    Player p1 = new DefaultPlayer(playerId, name, playerSpace, maxItem);
 
     // 5. Add players
-    int playerId = players.size();
-    this.players.add(p1); // add player to world
+    state.getPlayers().add(p1); // add player to world
 
     
     resultMsg.append("The ").append(playerId + 1)
@@ -484,7 +691,9 @@ public final class DefaultWorld implements World {
       .append(playerSpace.getName());
 
 
-    imgGen.drawPlayers(playerSpace);
+    if (imgGen != null) {
+      imgGen.drawPlayers(playerSpace);
+    }
     result.setActionResult(resultMsg.toString());
     return;
 
@@ -499,7 +708,7 @@ public final class DefaultWorld implements World {
       throw new IllegalStateException("The game has started. Cannot add players");
     }
     // - max players
-    if (players.size() == maxPlayers) {
+    if (state.getPlayers().size() == maxPlayers) {
       throw new IllegalStateException("You've reached maximum players. Start the game");
     }
     
@@ -509,17 +718,18 @@ public final class DefaultWorld implements World {
     }
 
     // 3. Initialize random space
+    List<Space> spaces = state.getSpaces();
     Space playerSpace = spaces.get(randomGen.getNextInt(0, spaces.size() - 1));
     // instantiate player
     // will add itself to a space
-    Cpu cpu = new DefaultCpu(randomGen, playerSpace);
+    int playerId = state.getPlayers().size();
+    Cpu cpu = new DefaultCpu(playerId, randomGen, playerSpace);
 
     // 4. add to world
-    this.players.add(cpu.getPlayer());
+    state.getPlayers().add(cpu.getPlayer());
 
-    // 5. add cpu to world and its player index number
-    int playerId = players.size() - 1;
-    this.cpuControllers.put(playerId, cpu);
+    // 5. add cpu to world by its player id
+    state.addCpuController(cpu);
 
     // 6. get success message
     StringBuilder resultMsg = new StringBuilder();
@@ -529,7 +739,9 @@ public final class DefaultWorld implements World {
     .append(" has been added to ")
       .append(playerSpace.getName());
     
-    imgGen.drawPlayers(playerSpace);
+    if (imgGen != null) {
+      imgGen.drawPlayers(playerSpace);
+    }
     result.setActionResult(resultMsg.toString());
   }
 
@@ -539,11 +751,13 @@ public final class DefaultWorld implements World {
   @Override
   public String toString() {
     StringBuilder s = new StringBuilder();
-    s.append("Name: ").append(name).append("\n").append("Size: ").append(size.getRow())
-    .append(" X ").append(size.getCol()).append("\n").append("Target: ")
-    .append(target.toString()).append("\n").append("Target's Position: ")
-    .append(this.target.getCurrentSpaceId()).append("\n").append("Number of Rooms: ")
-    .append(spaces.size()).append("\n").append("Number of Items: ").append(items.size())
+    RowCol size = topology.getSize();
+    s.append("Name: ").append(topology.getName()).append("\n").append("Size: ")
+    .append(size.getRow()).append(" X ").append(size.getCol()).append("\n").append("Target: ")
+    .append(state.getTarget().toString()).append("\n").append("Target's Position: ")
+    .append(state.getTarget().getCurrentSpaceId()).append("\n").append("Number of Rooms: ")
+    .append(topology.getSpaceCount()).append("\n").append("Number of Items: ")
+    .append(topology.getItemCount())
     .append("\n");
     return s.toString();
   }
@@ -557,7 +771,7 @@ public final class DefaultWorld implements World {
 
     Player playerP = null;
     try {
-      playerP = imgGen.getPlayerAtPoint(point);
+      playerP = getImageGenerator().getPlayerAtPoint(point);
       // current player is human
       if (getCurrentPlayer().equals(playerP) && !this.isCurrentTurnCpu()) {
         return true;
@@ -582,7 +796,7 @@ public final class DefaultWorld implements World {
 
     Space spaceS = null;
     try {
-      spaceS = imgGen.getSpaceAtPoint(point);
+      spaceS = getImageGenerator().getSpaceAtPoint(point);
       if (spaceS == null) {
         return false; // no space
       } else if (spaceS.isNeighbor(getCurrentPlayer().getCurrentSpace())) {
@@ -624,7 +838,7 @@ public final class DefaultWorld implements World {
    */
   private void makeHumanMove(int spaceId) throws IllegalArgumentException, IllegalStateException {
     // 1. validate argument
-    validateSpaceId(spaceId, this.spaces.size());
+    validateSpaceId(spaceId, state.getSpaces().size());
 
     // 2. Validate state
     boolean isCpuCall = false;
@@ -633,7 +847,7 @@ public final class DefaultWorld implements World {
     // 3. get players and space to move
     Player currPlayer = getCurrentPlayer();
     Space oldSpace = getCurrentPlayer().getCurrentSpace();
-    Space newSpace = spaces.get(spaceId);
+    Space newSpace = state.getSpaces().get(spaceId);
 
     // 4. create status message
     StringBuilder resultMsg = new StringBuilder();
@@ -645,7 +859,9 @@ public final class DefaultWorld implements World {
       resultMsg.append("successfuly moved to ").append(newSpace.getName());
 
       // draw and erase
-      imgGen.redrawSpacesPlayers(oldSpace, newSpace);
+      if (imgGen != null) {
+        imgGen.redrawSpacesPlayers(oldSpace, newSpace);
+      }
     } else {
       resultMsg.append("failed to move because space is not neighbor");
     }
@@ -655,113 +871,6 @@ public final class DefaultWorld implements World {
 
   }
 
-  /**
-   * This helper method capitalizes the names.
-   * @param name to be changed.
-   * @return captilized string.
-   * @throws IllegalArgumentException if there is problem with the name string.
-   */
-  private String capitalizeName(String name) throws IllegalArgumentException {
-    if (name == null || "".equals(name)) {
-      throw new IllegalArgumentException("name arguments cannot be empty");
-    }
-    StringBuffer capitalized = new StringBuffer();
-
-    String[] fullName = name.split(" ");
-    for (String word : fullName) {
-      char[] trimmedWord = word.trim().toCharArray();
-      trimmedWord[0] = Character.toUpperCase(trimmedWord[0]);
-      word = new String(trimmedWord);
-      capitalized.append(word).append(" ");
-
-    }
-    return capitalized.toString().trim();
-  }
-
-  /*
-   * 5. Pet dfs
-   */
-  private void createDfsPath() {
-    // track the spaces visited status
-    boolean[] visited = new boolean[spaces.size()];
-
-    // record the path used
-
-    // Initialize all visited status with false
-    for (int i = 0; i < spaces.size(); i++) {
-      visited[i] = false;
-    }
-
-    // reset the list of path
-    dfsPath.clear();
-    List<ArrayList<Integer>> pathUsed = new ArrayList<ArrayList<Integer>>();
-
-
-    traverse(this.pet.getCurrentSpace().getId(), -1, visited, pathUsed);
-    dfsMoveToId = 1;
-  }
-
-  /*
-   * util function for create dfs path
-   */
-  private void traverse(int currentId, int fromId, boolean[] visited,
-                        List<ArrayList<Integer>> pathUsed) {
-
-    if (currentId <= -2 || fromId <= -2) {
-      throw new IllegalArgumentException("Pet position invalid.\n");
-    }
-
-    if (pathUsed == null || visited == null) {
-      throw new IllegalArgumentException("DFS path or visited stack cannot be null.\n");
-    }
-
-    int visitedCount = 0;
-
-    // Check if all the totalSpaces is visited or not
-    // and count unvisited nodes
-    for (int i = 0; i < spaces.size(); i++) {
-      if (visited[i]) {
-        visitedCount++;
-      }
-    }
-
-    // Case 1: base case, all space have been visited
-    // If all the unvisited index is visited return;
-    if (visitedCount == spaces.size()) {
-      return;
-    }
-
-
-    // Mark not visited totalSpaces as visited
-    visited[currentId] = true;
-
-    // record this path
-    pathUsed.add(new ArrayList<Integer>(Arrays.asList(fromId, currentId)));
-
-    // add this index to the sequence of path needs to be taken
-    dfsPath.add(currentId);
-
-    // Case 2: visit unvisited neighbors
-
-
-    for (int neighborIdx : spaces.get(currentId).getNeighborsIndices()) {
-      if (!visited[neighborIdx]) {
-        traverse(neighborIdx, currentId, visited, pathUsed);
-      }
-    }
-
-
-
-    // Case 3: no more neighbors to visit, backtrack
-    for (int idx = 0; idx < pathUsed.size(); idx++) {
-      // if the toId is currentIdo
-
-      if (pathUsed.get(idx).get(1) == currentId) {
-        traverse(pathUsed.get(idx).get(0), currentId, visited, pathUsed);
-      }
-    }
-  }
-
   /**
    * Set the result's player description of the current player.
    */
@@ -778,14 +887,14 @@ public final class DefaultWorld implements World {
     // 1. Game is over
     if (isGameOver()) {
       status.append("Game Over! ");
-      if (target.getHealth() == 0) {
+      if (state.getTarget().getHealth() == 0) {
 
         // get winner
-        int previousPlayerId = ((this.currentTurn - 1) % players.size());
-        status.append(players.get(previousPlayerId).getName()).append(" wins\n");
+        int previousPlayerId = ((this.currentTurn - 1) % state.getPlayers().size());
+        status.append(state.getPlayers().get(previousPlayerId).getName()).append(" wins\n");
 
       } else { // target is not dead. No one wins
-        status.append("Maximum turn reached. ").append(target.getName())
+        status.append("Maximum turn reached. ").append(state.getTarget().getName())
                 .append(" escaped and nobody wins\n");
       }
       result.setStatus(status.toString());
@@ -794,7 +903,8 @@ public final class DefaultWorld implements World {
 
     // 2. Game not over: for controller display
     // - target
-    status.append("Target is at ").append(spaces.get(target.getCurrentSpaceId()).getName())
+    status.append("Target is at ")
+            .append(topology.getSpaceName(state.getTarget().getCurrentSpaceId()))
             .append("   ");
 
     // - whose turn
@@ -815,34 +925,17 @@ public final class DefaultWorld implements World {
 
   }
 
-  /**
-   * Check if a given name (world, space, or item) is alphanumeric only or
-   * contains apostrophe.
-   *
-   * @param name the name to be checked if it's valid
-   */
-  private boolean isAlphaNumeric(String name) throws IllegalArgumentException {
-    // 1. Check for alphanumeric character's name
-    if (name == null || !(name.matches("^[a-zA-Z0-9' ]*$"))) {
-      throw new IllegalArgumentException(
-              new StringBuilder("Target's name should contain")
-                      .append("alphanumeric characters and apostrophe only.")
-                      .toString());
-    }
-    return true;
-  }
-
   /**
    * Helper method to return current Player.
    * @return current Player.
    */
   private Player getCurrentPlayer() {
-    if (players.size() == 0) {
+    if (state.getPlayers().size() == 0) {
       return null;
     }
 
-    int currentPlayerId = (this.currentTurn) % players.size();
-    return players.get(currentPlayerId);
+    int currentPlayerId = (this.currentTurn) % state.getPlayers().size();
+    return state.getPlayers().get(currentPlayerId);
   }
 
   /**
@@ -863,141 +956,6 @@ public final class DefaultWorld implements World {
     result.setCurentPlayerSpaceItemNames(spaceItemNamesList);
   }
 
-  // 0. Helpers for constructor
-  /**
-   * Add space object to the list of spaces by parsing through the specification.
-   *
-   * @param sc      the scanner object that reads the spec
-   * @param spaceId the id of the space
-   * @throws IllegalArgumentException if spacesInfo is null
-   *
-   */
-  private final void addSpace(Scanner sc, int spaceId, int totalSpace) {
-    if (sc == null) {
-      throw new IllegalArgumentException("scanner cannot be null");
-    }
-
-    validateSpaceId(spaceId, totalSpace);
-    RowCol upLeft;
-    RowCol lowRight;
-
-    // 1. Initialize coordinates and name
-    upLeft = new RowCol(sc.nextInt(), sc.nextInt());
-    lowRight = new RowCol(sc.nextInt(), sc.nextInt());
-    sc.skip("\\s");
-    String spaceName;
-    spaceName = capitalizeName(sc.nextLine());
-
-    // 2. Check name validity and uniqueness
-    Set<Space> set = new HashSet<Space>(this.spaces);
-    if (set.size() < this.spaces.size()) {
-      sc.close();
-      throw new IllegalArgumentException("There are duplicate space names");
-    }
-
-    // 3. Check for existing duplicate rowCol
-    if (!this.spaces.isEmpty()) {
-      for (Space existingSpace : spaces) {
-        boolean lowLeftEqual = existingSpace.getUpLeft().equals(upLeft);
-        boolean upRightEqual = existingSpace.getLowRight().equals(lowRight);
-
-        if (lowLeftEqual && upRightEqual) {
-          sc.close();
-          throw new IllegalArgumentException(
-                  new StringBuilder("Duplicate coordinates")
-                          .append(" for when adding space to list")
-                          .toString());
-        }
-      }
-    }
-
-    Space space = new DefaultSpace(spaceId, spaceName, upLeft, lowRight);
-
-    // 5. Instantiate Space object and add to list
-    this.spaces.add(space);
-  }
-
-  /**
-   * Add item object to the list of items by parsing through the specification.
-   * Also add the item to space it belongs to
-   *
-   * @param scanner         the scanner object that reads the spec
-   * @param itemId     the id of the item
-   * @param totalSpace the size of the space in world
-   * @throws IllegalArgumentException if scanner is null or itemId is negative or
-   *                                  totalSpace is 0 or less
-   *
-   */
-  private final void addItem(Scanner scanner, int itemId, int totalSpace) {
-    if (scanner == null || itemId < 0 || totalSpace <= 0) {
-      throw new IllegalArgumentException(
-              new StringBuilder("scanner cannot be null or item index cannot be 0 or ")
-                      .append("total space cannot be 0 or less when adding item to the world")
-                      .toString());
-    }
-    int spaceId;
-    int damagePoint;
-
-    // 1. Get fields for items
-    spaceId = scanner.nextInt();
-
-    if (spaceId >= totalSpace) {
-      scanner.close();
-      throw new IllegalArgumentException(
-              new StringBuilder("Room index of the item should ")
-                      .append("be less than the total number of space")
-                      .toString());
-    }
-    damagePoint = scanner.nextInt();
-    scanner.skip("\\s"); // skip space
-    String itemName;
-    itemName = capitalizeName(scanner.nextLine());
-
-    // 2. Check name validity
-    isAlphaNumeric(itemName);
-
-    // 3. Instantiate item object and add to list
-    Item itemToAdd = new DefaultItem(itemName, itemId, damagePoint);
-    this.items.add(itemToAdd);
-
-    // 4. add this item to a space
-    for (Space space : spaces) {
-      if (space.getId() == spaceId) {
-        space.addItem(itemToAdd);
-      }
-    }
-
-    for (Space space : spacesDefaultState) {
-      if (space.getId() == spaceId) {
-        space.addItem(itemToAdd);
-      }
-    }
-  }
-
-  /**
-   * Util function to determine neighbor. If spaces are neighbors this method will
-   * add them to each other.
-   */
-  private void determineNeighbors() {
-
-    for (Space space : this.spaces) {
-      for (Space other : this.spaces) {
-        if (space.isNeighborByCalc(other)) {
-          space.addNeighbor(other);
-        }
-      }
-    }
-
-    // also set neighbor for the reset state
-    for (Space space : this.spacesDefaultState) {
-      for (Space other : this.spacesDefaultState) {
-        if (space.isNeighborByCalc(other)) {
-          space.addNeighbor(other);
-        }
-      }
-    }
-  }
-
   /**
    * Util for validating spaceId argument.
    *
@@ -1035,9 +993,13 @@ public final class DefaultWorld implements World {
 
 
     // 1. target move and update the image accordingly
-    imgGen.eraseTarget(target);
-    target.move();
-    imgGen.drawTarget(target);
+    if (imgGen != null) {
+      imgGen.eraseTarget(state.getTarget());
+    }
+    state.getTarget().move();
+    if (imgGen != null) {
+      imgGen.drawTarget(state.getTarget());
+    }
 
     // 2. update turn
     currentTurn += 1;
@@ -1045,13 +1007,10 @@ public final class DefaultWorld implements World {
       this.gameStarted = false;
     }
 
-    // 3. move pet if its on dfs mode. otherwise pet remains stationary
-    if (isPetDfs) {
-      Space petNewSpace = spaces.get(dfsPath.get(dfsMoveToId));
-      pet.move(petNewSpace);
-
-      // increment move to index
-      dfsMoveToId = (dfsMoveToId + 1) % dfsPath.size();
+    // 3. move pet the way its strategy says, a stationary pet stays where it is
+    int petNewSpaceId = startedPetMovement().nextSpaceId();
+    if (petNewSpaceId != state.getPet().getCurrentSpace().getId()) {
+      state.getPet().move(state.getSpaces().get(petNewSpaceId));
     }
 
     // 4. set result object
@@ -1064,113 +1023,172 @@ public final class DefaultWorld implements World {
   }
 
   /**
-   * Helper method to read the file.
-   * @param file the wold specification for the world
+   * Start moving the pet again from the space it is in, when it next moves.
    */
-  private void initializeWorld(Readable file) {
-    if (file == null) {
-      throw new IllegalArgumentException("File cannot be null.\n");
-    }
-    this.currentTurn = 0;
-    this.gameStarted = false;
-    this.players = new ArrayList<Player>();
-    this.cpuControllers = new HashMap<Integer, Cpu>();
-    this.dfsPath = new ArrayList<Integer>();
-    this.dfsMoveToId = 1;
-
-    Scanner sc;
-    sc = new Scanner(file);
-    try {
-
-      // 1. Get world
-      int row = sc.nextInt();
-      int col = sc.nextInt();
-      this.size = new RowCol(row, col);
-      this.name = sc.nextLine().trim();
+  private void restartPetMovement() {
+    this.petStarted = false;
+  }
 
-      // 2. Get target
-      int targetHealth = sc.nextInt();
-      sc.skip("\\s");
-      String targetName = sc.nextLine();
+  /**
+   * Getter for the pet movement, started from the space the pet is in if it has not
+   * been started since the game began or a player moved the pet.
+   * @return the started pet movement
+   */
+  private PetMovementStrategy startedPetMovement() {
+    if (!petStarted) {
+      petMovement.start(topology, state.getPet().getCurrentSpace().getId());
+      this.petStarted = true;
+    }
+    return this.petMovement;
+  }
 
-      // 3. Get pet
-      String petName = sc.nextLine().trim();
+  /**
+   * Helper method for the pet movement of the constructors that take the pet move mode.
+   * @param isPetDfs true for the pet to go round its depth first tour, false for it to
+   *     stay where it is
+   * @return the pet movement
+   */
+  private static PetMovementStrategy petMovementOf(boolean isPetDfs) {
+    return isPetDfs ? new DfsTourPetMovement() : new StationaryPetMovement();
+  }
 
-      // 4. Get space
-      int totalSpaces = sc.nextInt();
-      sc.skip("\\s");
+  /**
+   * Helper method to start a new game on a world topology.
+   * @param topology the topology of the world
+   */
+  private void initializeWorld(WorldTopology topology) {
+    if (topology == null) {
+      throw new IllegalArgumentException("World topology cannot be null.\n");
+    }
 
-      // Check space size
-      if (totalSpaces == 0) {
-        sc.close();
-        throw new IllegalArgumentException("There should be at least 1 space");
+    // the route of the target is only planned again for a new topology
+    if (topology != this.topology || targetRoute == null) {
+      int[] route = targetRoutePlanner.planRoute(topology);
+      if (route == null || route.length == 0) {
+        throw new IllegalArgumentException("The target has no route.\n");
       }
-      // add spaces to list
-      this.spaces = new ArrayList<Space>(totalSpaces);
-      int spaceId = 0;
-      while (spaceId < totalSpaces) {
-        addSpace(sc, spaceId, totalSpaces);
-        spaceId++;
+      for (int spaceId : route) {
+        validateSpaceId(spaceId, topology.getSpaceCount());
       }
+      this.targetRoute = route;
+      this.targetRouteOverlay = null;
+    }
+    this.topology = topology;
+    this.editedFrom = null;
+    this.editedCells = null;
+    WorldLoadReport report = new WorldLoadReport();
+    Stopwatch newGame = WorldLoadReport.start();
+    this.state = new GameState(topology, targetRoute);
+    newGame.stop(report, Phase.GAME_STATE);
+    this.currentTurn = 0;
+    this.gameStarted = false;
 
-      // create the default state to fall back to when game reset
-      this.spacesDefaultState = new ArrayList<Space>();
+    // the map of the new game is drawn when it is first asked for
+    this.imgGen = null;
+    this.regions = null;
 
-      for (Space space : spaces) {
-        Space spaceClone = new DefaultSpace(space.getId(),
-                space.getName(), space.getUpLeft(), space.getLowRight());
-        spacesDefaultState.add(spaceClone);
-      }
+    // the pet starts moving from space 0 when it first moves
+    restartPetMovement();
 
+    // the first game on a topology also reports how the topology was built
+    this.buildReport = topology.takeBuildReport();
+    this.loadReport = report;
 
-      this.target = new DefaultTargetCharc(targetName, targetHealth, totalSpaces);
-      this.pet = new DefaultPet(petName, spaces.get(0));
+    // initialize result
+    this.result = new DefaultResult(topology.getName(), () -> getMapImage(),
+        topology.getSpaceNames());
+  }
 
+  /**
+   * Getter for the area of a space in rows and columns.
+   * @param spaceTopology the topology the space is in
+   * @param spaceId the id of the space
+   * @return the area of the space
+   */
+  private static Rectangle spaceCells(WorldTopology spaceTopology, int spaceId) {
+    RowCol upLeft = spaceTopology.getUpLeft(spaceId);
+    RowCol lowRight = spaceTopology.getLowRight(spaceId);
+    return new Rectangle(upLeft.getCol(), upLeft.getRow(),
+        lowRight.getCol() - upLeft.getCol() + 1, lowRight.getRow() - upLeft.getRow() + 1);
+  }
 
-      // 5. Get item
-      int totalItems = sc.nextInt();
-      sc.skip("\\s");
-      // check item size
-      if (totalItems == 0) {
-        sc.close();
-        throw new IllegalArgumentException("There should be at least 1 item");
-      }
-      // add items to list
-      this.items = new ArrayList<Item>();
-      int itemId = 0;
-      while (sc.hasNextLine()) {
-        addItem(sc, itemId, totalSpaces);
-        itemId++;
-      }
+  /**
+   * Getter for the image of the map. On a map drawn in regions, the image is drawn
+   * again from the regions around the current player, or the target before there are
+   * players, once they are in other regions than the ones it shows.
+   * @return the image
+   * @throws IllegalStateException if the world is headless
+   */
+  private BufferedImage getMapImage() throws IllegalStateException {
+    DefaultImageGenerator map = getImageGenerator();
+    if (regions != null && !map.getView().equals(regions.getView(getFocusSpaceId()))) {
+      this.imgGen = null;
+      map = getImageGenerator();
+    }
+    return map.getImage();
+  }
 
-      if (totalItems != itemId) {
-        throw new IllegalArgumentException(
-                new StringBuilder("Actual total items ")
-                        .append("stated and the given number does not match")
-                        .toString());
-      }
+  /**
+   * Getter for the space a map drawn in regions shows the area around.
+   * @return the id of the space of the current player, or of the target before there
+   *     are players
+   */
+  private int getFocusSpaceId() {
+    if (state.getPlayers().isEmpty()) {
+      return state.getTarget().getCurrentSpaceId();
+    }
+    return state.getPlayers().get(currentTurn % state.getPlayers().size())
+        .getCurrentSpace().getId();
+  }
 
-      // draw wold
+  /**
+   * Getter for the map of the game, which is drawn with the target and the players
+   * where they are now the first time it is asked for. A map of more than
+   * {@link WorldRegions#REGION_PIXELS} pixels is drawn in regions, and only shows the
+   * area around the current player, or the target before there are players.
+   * @return the map
+   * @throws IllegalStateException if the world is headless
+   */
+  private DefaultImageGenerator getImageGenerator() throws IllegalStateException {
+    if (headless) {
+      throw new IllegalStateException("A headless world does not draw its map.\n");
+    }
+    if (imgGen == null) {
+      Stopwatch rendering = WorldLoadReport.start();
       final int adj = 60;
-      List<Space> spacesClone = Collections.unmodifiableList(this.spaces);
-
-      imgGen = new DefaultImageGenerator(spacesClone, size.getCol(), size.getRow(), adj);
-      imgGen.drawWorld();
-      imgGen.drawTarget(target);
-
-      // 6.
-      determineNeighbors();
-      createDfsPath(); // start dfs from index 0
-      sc.close();
-      List<String> spaceNames = new ArrayList<>();
-      for (Space space : spaces) {
-        spaceNames.add(space.getName());
+      List<Space> spacesClone = Collections.unmodifiableList(state.getSpaces());
+      RowCol size = topology.getSize();
+      DefaultImageGenerator map;
+      if ((long) size.getCol() * adj * size.getRow() * adj > WorldRegions.REGION_PIXELS) {
+        // the regions are kept while the game goes on, and the route is drawn again
+        // over the area the new map shows
+        if (regions == null) {
+          this.regions = new WorldRegions(spacesClone, size.getCol(), size.getRow(), adj);
+        }
+        map = new DefaultImageGenerator(spacesClone, regions,
+            regions.getView(getFocusSpaceId()));
+        map.drawWorld();
+        this.targetRouteOverlay = null;
+      } else {
+        map = new DefaultImageGenerator(spacesClone, size.getCol(), size.getRow(), adj);
+        if (!cache.drawWorld(topology, map)) {
+          if (editedFrom == null || !cache.redrawWorld(editedFrom, map, editedCells)) {
+            map.drawWorld();
+          }
+          cache.saveWorld(topology, map);
+        }
       }
-      // initialize result
-      this.result = new DefaultResult(name, imgGen.getImage(), spaceNames);
-
-    } catch (NoSuchElementException e) {
-      throw new IllegalArgumentException("Please check your world specification format");
+      this.editedFrom = null;
+      this.editedCells = null;
+      map.drawTarget(state.getTarget());
+      for (Space space : state.getSpaces()) {
+        if (space.getPlayersSize() > 0) {
+          map.drawPlayers(space);
+        }
+      }
+      this.imgGen = map;
+      rendering.stop(loadReport, Phase.RENDER);
     }
+    return this.imgGen;
   }
-}
\ No newline at end of file
+}
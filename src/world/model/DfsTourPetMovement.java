@@ -0,0 +1,15 @@
+package world.model;
+
+/**
+ * The pet goes round the depth first tour of the world from the space it starts in,
+ * and jumps back to the start when it has been everywhere it can reach. The tours are
+ * kept with the topology, so starting from a space the pet has started from before
+ * does not search the world again.
+ */
+public final class DfsTourPetMovement extends RoutePetMovement {
+
+  @Override
+  protected int[] createRoute(WorldTopology topology, int spaceId) {
+    return topology.getPetTour(spaceId);
+  }
+}
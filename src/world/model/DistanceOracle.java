@@ -0,0 +1,276 @@
+package world.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * How many moves it takes to get from one space of a world to another, and which
+ * neighbor to move to first.
+ *
+ * <p>Worlds of up to {@link #EXACT_SPACES} spaces keep the exact answer for every pair
+ * of spaces, found with a breadth first search from each space, run in parallel. The
+ * distances and first moves are kept in two n by n tables of shorts, so both questions
+ * are a single lookup.
+ *
+ * <p>Bigger worlds only keep the distances from a few landmarks: the first space of
+ * each group of connected spaces, and {@link #LANDMARKS} spaces spread over the
+ * biggest group. A distance is then the shortest way through one of the landmarks,
+ * which can be longer than the real distance but never shorter, and the first move is
+ * the neighbor the landmarks say is closest.
+ */
+public final class DistanceOracle {
+  static final int EXACT_SPACES = 2048;
+  static final int LANDMARKS = 16;
+
+  private final SpaceAdjacency adjacency;
+  private final int totalSpaces;
+
+  // exact tables, row from and column to, -1 where to cannot be reached
+  private final short[] distances;
+  private final short[] nextHops;
+
+  // landmark estimates
+  private final int[] components;
+  private final int[] rootDistances;
+  private final int[][] landmarkDistances;
+
+  /**
+   * Work out the distances between the spaces of a neighbor table.
+   * @param adjacency the neighbor table
+   * @throws IllegalArgumentException if adjacency is null
+   */
+  DistanceOracle(SpaceAdjacency adjacency) throws IllegalArgumentException {
+    if (adjacency == null) {
+      throw new IllegalArgumentException("Cannot find distances without a neighbor table");
+    }
+    this.adjacency = adjacency;
+    this.totalSpaces = adjacency.getSpaceCount();
+    if (totalSpaces <= EXACT_SPACES) {
+      this.distances = new short[totalSpaces * totalSpaces];
+      this.nextHops = new short[totalSpaces * totalSpaces];
+      IntStream.range(0, totalSpaces).parallel().forEach(this::searchExact);
+      this.components = null;
+      this.rootDistances = null;
+      this.landmarkDistances = null;
+    } else {
+      this.distances = null;
+      this.nextHops = null;
+      this.components = new int[totalSpaces];
+      this.rootDistances = new int[totalSpaces];
+      this.landmarkDistances = findLandmarkDistances();
+    }
+  }
+
+  /**
+   * Whether the answers are exact, which they are for worlds of up to
+   * {@link #EXACT_SPACES} spaces.
+   * @return true if the distances are exact, false if they are estimates
+   */
+  public boolean isExact() {
+    return this.distances != null;
+  }
+
+  /**
+   * Getter for the number of spaces.
+   * @return the number of spaces
+   */
+  public int getSpaceCount() {
+    return this.totalSpaces;
+  }
+
+  /**
+   * Getter for the number of moves it takes to get from one space to another.
+   * @param from the id of the space to start from
+   * @param to the id of the space to get to
+   * @return the number of moves, 0 if they are the same space and -1 if to cannot be
+   *     reached from from
+   * @throws IllegalArgumentException if an id is not a space of the world
+   */
+  public int distance(int from, int to) throws IllegalArgumentException {
+    validateSpaceId(from);
+    validateSpaceId(to);
+    if (isExact()) {
+      return distances[from * totalSpaces + to];
+    }
+    if (from == to) {
+      return 0;
+    } else if (components[from] != components[to]) {
+      return -1;
+    } else if (adjacency.isNeighbor(from, to)) {
+      return 1;
+    }
+    int best = rootDistances[from] + rootDistances[to];
+    for (int[] landmark : landmarkDistances) {
+      if (landmark[from] >= 0 && landmark[to] >= 0) {
+        best = Math.min(best, landmark[from] + landmark[to]);
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Getter for the neighbor to move to first on the way from one space to another.
+   * Where two neighbors are as close, the one with the lower id is chosen.
+   * @param from the id of the space to start from
+   * @param to the id of the space to get to
+   * @return the id of the neighbor, from if they are the same space and -1 if to
+   *     cannot be reached from from
+   * @throws IllegalArgumentException if an id is not a space of the world
+   */
+  public int nextHop(int from, int to) throws IllegalArgumentException {
+    validateSpaceId(from);
+    validateSpaceId(to);
+    if (isExact()) {
+      return nextHops[from * totalSpaces + to];
+    }
+    if (from == to) {
+      return from;
+    } else if (components[from] != components[to]) {
+      return -1;
+    }
+    int best = -1;
+    int bestDistance = Integer.MAX_VALUE;
+    for (int i = 0; i < adjacency.getNeighborCount(from); i++) {
+      int neighborId = adjacency.getNeighbor(from, i);
+      int neighborDistance = distance(neighborId, to);
+      if (neighborDistance < bestDistance) {
+        best = neighborId;
+        bestDistance = neighborDistance;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Fill the row of the exact tables of a space with a breadth first search. The
+   * first move to a space is the first move to the space it was reached from.
+   * @param from the id of the space to search from
+   */
+  private void searchExact(int from) {
+    int row = from * totalSpaces;
+    Arrays.fill(distances, row, row + totalSpaces, (short) -1);
+    Arrays.fill(nextHops, row, row + totalSpaces, (short) -1);
+    distances[row + from] = 0;
+    nextHops[row + from] = (short) from;
+
+    // neighbors are in ascending id order, so the lowest id gets to a space first
+    int[] queue = new int[totalSpaces];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = from;
+    while (head < tail) {
+      int spaceId = queue[head++];
+      for (int i = 0; i < adjacency.getNeighborCount(spaceId); i++) {
+        int neighborId = adjacency.getNeighbor(spaceId, i);
+        if (distances[row + neighborId] < 0) {
+          distances[row + neighborId] = (short) (distances[row + spaceId] + 1);
+          nextHops[row + neighborId] = spaceId == from ? (short) neighborId
+              : nextHops[row + spaceId];
+          queue[tail++] = neighborId;
+        }
+      }
+    }
+  }
+
+  /**
+   * Find the groups of connected spaces and the landmarks, and the distances from
+   * them. The landmarks of the biggest group are picked one at a time as the space
+   * that is the farthest from the landmarks so far.
+   * @return the distances from each landmark of the biggest group, -1 for the
+   *     spaces it cannot reach
+   */
+  private int[][] findLandmarkDistances() {
+    // 1. the first space of each group is its root
+    Arrays.fill(components, -1);
+    int biggestRoot = 0;
+    int biggestSize = 0;
+    int[] queue = new int[totalSpaces];
+    for (int root = 0; root < totalSpaces; root++) {
+      if (components[root] < 0) {
+        int groupSize = search(root, rootDistances, queue);
+        for (int i = 0; i < groupSize; i++) {
+          components[queue[i]] = root;
+        }
+        if (groupSize > biggestSize) {
+          biggestRoot = root;
+          biggestSize = groupSize;
+        }
+      }
+    }
+
+    // 2. spread the landmarks over the biggest group
+    int[] closest = new int[totalSpaces];
+    Arrays.fill(closest, Integer.MAX_VALUE);
+    int[][] landmarks = new int[Math.min(LANDMARKS, biggestSize)][];
+    int[] fromRoot = new int[totalSpaces];
+    search(biggestRoot, fromRoot, queue);
+    int landmark = farthest(fromRoot, biggestRoot);
+    for (int i = 0; i < landmarks.length; i++) {
+      landmarks[i] = new int[totalSpaces];
+      Arrays.fill(landmarks[i], -1);
+      search(landmark, landmarks[i], queue);
+      for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+        if (landmarks[i][spaceId] >= 0) {
+          closest[spaceId] = Math.min(closest[spaceId], landmarks[i][spaceId]);
+        }
+      }
+      landmark = farthest(closest, biggestRoot);
+    }
+    return landmarks;
+  }
+
+  /**
+   * Util for a breadth first search that only visits the spaces it can reach.
+   * @param from the id of the space to search from
+   * @param reached the distance to each space, only written for the spaces reached
+   * @param queue room for the queue, which ends up with the spaces reached
+   * @return the number of spaces reached
+   */
+  private int search(int from, int[] reached, int[] queue) {
+    boolean[] visited = new boolean[totalSpaces];
+    visited[from] = true;
+    reached[from] = 0;
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = from;
+    while (head < tail) {
+      int spaceId = queue[head++];
+      for (int i = 0; i < adjacency.getNeighborCount(spaceId); i++) {
+        int neighborId = adjacency.getNeighbor(spaceId, i);
+        if (!visited[neighborId]) {
+          visited[neighborId] = true;
+          reached[neighborId] = reached[spaceId] + 1;
+          queue[tail++] = neighborId;
+        }
+      }
+    }
+    return tail;
+  }
+
+  /**
+   * Util for finding the space of a group that is the farthest away.
+   * @param distance the distance to each space
+   * @param root the root of the group
+   * @return the id of the farthest space, the lowest id if there is a tie
+   */
+  private int farthest(int[] distance, int root) {
+    int farthest = root;
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      if (components[spaceId] == root && distance[spaceId] > distance[farthest]) {
+        farthest = spaceId;
+      }
+    }
+    return farthest;
+  }
+
+  /**
+   * Util for checking that an id is a space of the world.
+   * @param spaceId the id of the space
+   * @throws IllegalArgumentException if it is not
+   */
+  private void validateSpaceId(int spaceId) throws IllegalArgumentException {
+    if (spaceId < 0 || spaceId >= totalSpaces) {
+      throw new IllegalArgumentException("No space with id " + spaceId);
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package world.model;
+
+/**
+ * The pet goes round the depth first tour of the world from the space it starts in,
+ * and then walks back to the start the way it came, so it only ever moves to a
+ * neighbor.
+ */
+public final class EulerTourPetMovement extends RoutePetMovement {
+
+  @Override
+  protected int[] createRoute(WorldTopology topology, int spaceId) {
+    return new PetTourBuilder(topology.getAdjacency()).buildClosed(spaceId);
+  }
+}
@@ -0,0 +1,100 @@
+package world.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The part of a world that changes while a game is played: the spaces with the
+ * players, pet and items currently in them, the target, and the players with their
+ * inventories. A new game state is created from a {@link WorldTopology} for every
+ * game, which is all it takes to reset a world.
+ */
+final class GameState {
+  private final List<Space> spaces;
+  private final TargetCharacter target;
+  private final Pet pet;
+  private final List<Player> players;
+  private Cpu[] cpuControllers;
+
+  /**
+   * Constructs the state of a new game, with the items in the space they start in,
+   * the target with full health at the start of its route and the pet in the first
+   * space.
+   * @param topology the topology of the world the game is played in
+   * @param targetRoute the space ids of the route of the target
+   * @throws IllegalArgumentException if topology is null, or targetRoute is null,
+   *     empty or not in the world
+   */
+  GameState(WorldTopology topology, int[] targetRoute) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Topology cannot be null when creating a game");
+    }
+    this.spaces = topology.createSpaces();
+    this.target = new DefaultTargetCharc(topology.getTargetName(), topology.getTargetHealth(),
+        targetRoute);
+    this.pet = new DefaultPet(topology.getPetName(), spaces.get(0));
+    this.players = new ArrayList<Player>();
+    this.cpuControllers = new Cpu[0];
+  }
+
+  /**
+   * Getter for the spaces of the game.
+   * @return the spaces in id order
+   */
+  List<Space> getSpaces() {
+    return this.spaces;
+  }
+
+  /**
+   * Getter for the target of the game.
+   * @return the target
+   */
+  TargetCharacter getTarget() {
+    return this.target;
+  }
+
+  /**
+   * Getter for the pet of the game.
+   * @return the pet
+   */
+  Pet getPet() {
+    return this.pet;
+  }
+
+  /**
+   * Getter for the players of the game, in the order they take turns.
+   * @return the players
+   */
+  List<Player> getPlayers() {
+    return this.players;
+  }
+
+  /**
+   * Getter for the cpu controller of a player.
+   * @param playerId the id of the player
+   * @return the cpu controller, or null if the player is not controlled by a cpu
+   */
+  Cpu getCpuController(int playerId) {
+    if (playerId < 0 || playerId >= cpuControllers.length) {
+      return null;
+    }
+    return this.cpuControllers[playerId];
+  }
+
+  /**
+   * Add a cpu controller, kept by the id of the player it controls.
+   * @param cpu the cpu controller
+   * @throws IllegalArgumentException if cpu is null
+   */
+  void addCpuController(Cpu cpu) throws IllegalArgumentException {
+    if (cpu == null) {
+      throw new IllegalArgumentException("Cpu controller cannot be null");
+    }
+    int playerId = cpu.getPlayer().getId();
+    if (playerId >= cpuControllers.length) {
+      cpuControllers = Arrays.copyOf(cpuControllers, playerId + 1);
+    }
+    this.cpuControllers[playerId] = cpu;
+  }
+}
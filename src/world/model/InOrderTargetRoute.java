@@ -0,0 +1,19 @@
+package world.model;
+
+/**
+ * The target walks the spaces in id order, starting from space 0.
+ */
+public final class InOrderTargetRoute implements TargetRoutePlanner {
+
+  @Override
+  public int[] planRoute(WorldTopology topology) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot plan a route in a null topology");
+    }
+    int[] route = new int[topology.getSpaceCount()];
+    for (int spaceId = 0; spaceId < route.length; spaceId++) {
+      route[spaceId] = spaceId;
+    }
+    return route;
+  }
+}
@@ -0,0 +1,269 @@
+package world.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The items a player or a space has, kept as a bit per item id so checking for an
+ * item, adding it and removing it does not go through the other items. Iterating goes
+ * through the items in id order.
+ *
+ * <p>The bits only cover the words from the lowest to the highest id the inventory
+ * has held, and are not allocated until the first item is added, so the inventories of
+ * the many spaces of a big world that each hold a few items stay small. The spaces of
+ * a world look their items up by id in the items of the world, which all the games of
+ * the world share. Other inventories keep the few items they hold themselves, and a
+ * ranked inventory keeps them sorted by damage, strongest first, so the best weapon is
+ * always the first one.
+ */
+final class ItemInventory implements Iterable<Item> {
+  private final List<Item> worldItems;
+  private final boolean ranked;
+  private long[] bits;
+  private int firstWord;
+  private Item[] held;
+  private int size;
+
+  /**
+   * Construct an empty inventory that looks its items up in the items of a world.
+   * @param worldItems the items of the world in id order
+   * @throws IllegalArgumentException if worldItems is null
+   */
+  ItemInventory(List<Item> worldItems) throws IllegalArgumentException {
+    if (worldItems == null) {
+      throw new IllegalArgumentException("The items of the world cannot be null");
+    }
+    this.worldItems = worldItems;
+    this.ranked = false;
+    this.size = 0;
+  }
+
+  /**
+   * Construct an empty inventory that keeps the items it holds.
+   * @param ranked true to keep the items sorted by damage
+   */
+  ItemInventory(boolean ranked) {
+    this.worldItems = null;
+    this.ranked = ranked;
+    this.size = 0;
+  }
+
+  /**
+   * Getter for the number of items.
+   * @return the number of items
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Check if an item with an id is in the inventory.
+   * @param itemId the id of the item
+   * @return true if it is
+   */
+  boolean contains(int itemId) {
+    if (bits == null || itemId < 0) {
+      return false;
+    }
+    int word = (itemId >>> 6) - firstWord;
+    return word >= 0 && word < bits.length && (bits[word] & (1L << itemId)) != 0;
+  }
+
+  /**
+   * Getter for the item with an id.
+   * @param itemId the id of the item
+   * @return the item, or null if it is not in the inventory
+   */
+  Item get(int itemId) {
+    if (!contains(itemId)) {
+      return null;
+    }
+    if (worldItems != null) {
+      return worldItems.get(itemId);
+    }
+    return held[heldIndex(itemId)];
+  }
+
+  /**
+   * Getter for the item that does the most damage. Where items do the same damage,
+   * the one with the lower id is the first.
+   * @return the item, or null if the inventory is empty
+   * @throws IllegalStateException if the inventory is not ranked
+   */
+  Item getMostDamaging() throws IllegalStateException {
+    if (!ranked) {
+      throw new IllegalStateException("The items are not sorted by damage");
+    }
+    return size == 0 ? null : held[0];
+  }
+
+  /**
+   * Getter for an item by its place in id order.
+   * @param index the place of the item, 0 for the item with the lowest id
+   * @return the item
+   * @throws IllegalArgumentException if index is negative or not less than the size
+   */
+  Item getByOrder(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= size) {
+      throw new IllegalArgumentException("No item at place " + index);
+    }
+    int word = 0;
+    int before = Long.bitCount(bits[0]);
+    while (before <= index) {
+      before += Long.bitCount(bits[++word]);
+    }
+    long remaining = bits[word];
+    for (int skip = index - (before - Long.bitCount(remaining)); skip > 0; skip--) {
+      remaining &= remaining - 1;
+    }
+    return get((firstWord + word) * 64 + Long.numberOfTrailingZeros(remaining));
+  }
+
+  /**
+   * Add an item, unless an item with its id is already in the inventory.
+   * @param item the item
+   * @return true if it was added
+   * @throws IllegalArgumentException if the inventory looks its items up in a world
+   *     that does not have an item with the id of item
+   */
+  boolean add(Item item) throws IllegalArgumentException {
+    int itemId = item.getItemId();
+    if (worldItems != null && (itemId < 0 || itemId >= worldItems.size())) {
+      throw new IllegalArgumentException("There is no item " + itemId + " in the world");
+    }
+    if (contains(itemId)) {
+      return false;
+    }
+    coverWord(itemId >>> 6);
+    bits[(itemId >>> 6) - firstWord] |= 1L << itemId;
+    size++;
+    if (worldItems != null) {
+      return true;
+    }
+
+    // keep the item, in damage order if the inventory is ranked
+    if (held == null) {
+      held = new Item[4];
+    } else if (size > held.length) {
+      held = Arrays.copyOf(held, held.length * 2);
+    }
+    int index = size - 1;
+    while (ranked && index > 0 && isStronger(item, held[index - 1])) {
+      held[index] = held[index - 1];
+      index--;
+    }
+    held[index] = item;
+    return true;
+  }
+
+  /**
+   * Remove the item with the id of an item.
+   * @param item the item
+   * @return true if it was in the inventory
+   */
+  boolean remove(Item item) {
+    int itemId = item.getItemId();
+    if (!contains(itemId)) {
+      return false;
+    }
+    if (worldItems == null) {
+      int index = heldIndex(itemId);
+      System.arraycopy(held, index + 1, held, index, size - index - 1);
+      held[size - 1] = null;
+    }
+    bits[(itemId >>> 6) - firstWord] &= ~(1L << itemId);
+    size--;
+    return true;
+  }
+
+  @Override
+  public Iterator<Item> iterator() {
+    return new Iterator<Item>() {
+      private int next = nextId(0);
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public Item next() {
+        if (next < 0) {
+          throw new NoSuchElementException("No more items");
+        }
+        Item item = get(next);
+        next = nextId(next + 1);
+        return item;
+      }
+    };
+  }
+
+  /**
+   * Util for making the bits cover a word, allocating them on the first add and
+   * growing them towards lower or higher ids after that.
+   * @param word the index of the word of an item id
+   */
+  private void coverWord(int word) {
+    if (bits == null) {
+      bits = new long[1];
+      firstWord = word;
+    } else if (word < firstWord) {
+      long[] grown = new long[bits.length + firstWord - word];
+      System.arraycopy(bits, 0, grown, firstWord - word, bits.length);
+      bits = grown;
+      firstWord = word;
+    } else if (word >= firstWord + bits.length) {
+      bits = Arrays.copyOf(bits, word - firstWord + 1);
+    }
+  }
+
+  /**
+   * Util for finding where a held item is.
+   * @param itemId the id of an item in the inventory
+   * @return the index of the item in held
+   */
+  private int heldIndex(int itemId) {
+    int index = 0;
+    while (held[index].getItemId() != itemId) {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Util for finding the next item id in the inventory.
+   * @param from the id to start looking from
+   * @return the lowest id from from on, or -1 if there is none
+   */
+  private int nextId(int from) {
+    if (bits == null) {
+      return -1;
+    }
+    int word = Math.max(0, (from >>> 6) - firstWord);
+    if (word >= bits.length) {
+      return -1;
+    }
+    long remaining = (from >>> 6) < firstWord ? bits[0] : bits[word] & (-1L << from);
+    while (remaining == 0) {
+      if (++word == bits.length) {
+        return -1;
+      }
+      remaining = bits[word];
+    }
+    return (firstWord + word) * 64 + Long.numberOfTrailingZeros(remaining);
+  }
+
+  /**
+   * Util for ordering the items by damage, and by id where the damage is the same.
+   * @param item an item
+   * @param other the other item
+   * @return true if item comes before other
+   */
+  private static boolean isStronger(Item item, Item other) {
+    return item.getDamagePoint() > other.getDamagePoint()
+        || item.getDamagePoint() == other.getDamagePoint()
+            && item.getItemId() < other.getItemId();
+  }
+}
@@ -32,6 +32,18 @@ public interface MapData {
    * @return the xy coordinates of the space
    */
   Point getSpaceCoord();
+
+  /**
+   * Getter for the x coordinate of the top left of this space.
+   * @return the x coordinate of the space
+   */
+  int getSpaceX();
+
+  /**
+   * Getter for the y coordinate of the top left of this space.
+   * @return the y coordinate of the space
+   */
+  int getSpaceY();
   
   
   /**
@@ -52,12 +64,33 @@ public interface MapData {
    * @return the xy coordinates of the box at the given index
    */
   Point getPlayerCoordAtBox(int index);
+
+  /**
+   * Getter of the x coordinate of the top left of the player circle.
+   * @param index the index of the box
+   * @return the x coordinate of the circle in the box at the given index
+   */
+  int getPlayerXAtBox(int index);
+
+  /**
+   * Getter of the y coordinate of the top left of the player circle.
+   * @param index the index of the box
+   * @return the y coordinate of the circle in the box at the given index
+   */
+  int getPlayerYAtBox(int index);
   
   /**
    * Append a top left xy coordinate of a box.
    * @param point the top left x and y coordinate of the box at the given index
    */
   void addBoxCoord(Point point);
+
+  /**
+   * Append a top left xy coordinate of a box.
+   * @param x the top left x coordinate of the box
+   * @param y the top left y coordinate of the box
+   */
+  void addBoxCoord(int x, int y);
   
   /**
    * Getter of the top left point coordinate of a box.
@@ -65,5 +98,19 @@ public interface MapData {
    * @return the xy coordinates of the box at the given index
    */
   Point getCoordAtBox(int index);
+
+  /**
+   * Getter of the top left x coordinate of a box.
+   * @param index the index of the box
+   * @return the x coordinate of the box at the given index
+   */
+  int getBoxX(int index);
+
+  /**
+   * Getter of the top left y coordinate of a box.
+   * @param index the index of the box
+   * @return the y coordinate of the box at the given index
+   */
+  int getBoxY(int index);
   
 }
@@ -0,0 +1,111 @@
+package world.model;
+
+import java.util.Arrays;
+
+/**
+ * The target patrols between the spaces it is given, walking a shortest way from each
+ * one to the next and from the last back to the first, so it only ever moves to a
+ * neighbor.
+ *
+ * <p>The way is found with the world's {@link DistanceOracle} when its answers are
+ * exact. The oracle of a bigger world only estimates, so each leg is then found with a
+ * breadth first search instead. Either way it is only done when the route is planned.
+ */
+public final class PatrolTargetRoute implements TargetRoutePlanner {
+  private final int[] waypoints;
+
+  /**
+   * Construct a patrol.
+   * @param waypoints the ids of the spaces the target patrols between, starting with
+   *     the space it starts in
+   * @throws IllegalArgumentException if waypoints is null or empty
+   */
+  public PatrolTargetRoute(int... waypoints) throws IllegalArgumentException {
+    if (waypoints == null || waypoints.length == 0) {
+      throw new IllegalArgumentException("A patrol needs at least one space");
+    }
+    this.waypoints = waypoints.clone();
+  }
+
+  @Override
+  public int[] planRoute(WorldTopology topology) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot plan a route in a null topology");
+    }
+    return walk(topology, waypoints);
+  }
+
+  /**
+   * Work out the route through some spaces, walking a shortest way from each one to
+   * the next and from the last back to the first.
+   * @param topology the topology of the world
+   * @param waypoints the ids of the spaces
+   * @return the space ids of the route, starting with the first of the waypoints
+   * @throws IllegalArgumentException if a waypoint is not a space of the world, or one
+   *     cannot be reached from another
+   */
+  static int[] walk(WorldTopology topology, int[] waypoints) throws IllegalArgumentException {
+    for (int spaceId : waypoints) {
+      if (spaceId < 0 || spaceId >= topology.getSpaceCount()) {
+        throw new IllegalArgumentException("No space with id " + spaceId);
+      }
+    }
+    DistanceOracle distances = topology.getDistances();
+    SpaceAdjacency adjacency = topology.getAdjacency();
+    int[] nextHops = distances.isExact() ? null : new int[topology.getSpaceCount()];
+    int[] queue = distances.isExact() ? null : new int[topology.getSpaceCount()];
+    int[] route = new int[Math.max(16, waypoints.length)];
+    int length = 0;
+    for (int i = 0; i < waypoints.length; i++) {
+      int from = waypoints[i];
+      int to = waypoints[(i + 1) % waypoints.length];
+      if (distances.distance(from, to) < 0) {
+        throw new IllegalArgumentException(
+            "Cannot patrol from space " + from + " to space " + to);
+      }
+      if (nextHops != null && from != to) {
+        searchTowards(adjacency, to, nextHops, queue);
+      }
+
+      // every space of the leg but the last, which the next leg starts from
+      for (int spaceId = from; spaceId != to;
+          spaceId = nextHops == null ? distances.nextHop(spaceId, to) : nextHops[spaceId]) {
+        if (length == route.length) {
+          route = Arrays.copyOf(route, route.length * 2);
+        }
+        route[length++] = spaceId;
+      }
+    }
+
+    // a patrol of one space stays there
+    return length == 0 ? new int[] {waypoints[0]} : Arrays.copyOf(route, length);
+  }
+
+  /**
+   * Util for the neighbor each space moves to first on a shortest way to a space, with
+   * a breadth first search back from it.
+   * @param adjacency the neighbor table
+   * @param to the id of the space to get to
+   * @param nextHops the neighbor to move to from each space, -1 where to cannot be
+   *     reached
+   * @param queue the queue of the search, as long as nextHops
+   */
+  private static void searchTowards(SpaceAdjacency adjacency, int to, int[] nextHops,
+      int[] queue) {
+    Arrays.fill(nextHops, -1);
+    int head = 0;
+    int tail = 0;
+    nextHops[to] = to;
+    queue[tail++] = to;
+    while (head < tail) {
+      int current = queue[head++];
+      for (int i = 0; i < adjacency.getNeighborCount(current); i++) {
+        int neighborId = adjacency.getNeighbor(current, i);
+        if (nextHops[neighborId] < 0) {
+          nextHops[neighborId] = current;
+          queue[tail++] = neighborId;
+        }
+      }
+    }
+  }
+}
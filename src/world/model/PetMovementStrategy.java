@@ -0,0 +1,37 @@
+package world.model;
+
+/**
+ * How the pet moves on its own at the end of every turn. A world is given one
+ * strategy, which is started again for every game and every time a player moves the
+ * pet, and then asked for the space the pet moves to each turn. Whatever a strategy
+ * works out when it starts, finding the next space takes constant time, and so does
+ * predicting where the pet will be for all but the random walk.
+ */
+public interface PetMovementStrategy {
+
+  /**
+   * Start moving the pet from a space.
+   * @param topology the topology of the world the pet is in
+   * @param spaceId the id of the space the pet is in
+   * @throws IllegalArgumentException if topology is null or spaceId is not a space
+   *     of the world
+   */
+  void start(WorldTopology topology, int spaceId) throws IllegalArgumentException;
+
+  /**
+   * Getter for the space the pet moves to this turn.
+   * @return the id of the space
+   * @throws IllegalStateException if the strategy has not been started
+   */
+  int nextSpaceId() throws IllegalStateException;
+
+  /**
+   * Getter for the space the pet will be in after a number of turns, if no player
+   * moves it in the meantime. The strategy itself does not move on.
+   * @param turns the number of turns, 0 for the space it moved to last
+   * @return the id of the space
+   * @throws IllegalArgumentException if turns is negative
+   * @throws IllegalStateException if the strategy has not been started
+   */
+  int predictSpaceId(int turns) throws IllegalArgumentException, IllegalStateException;
+}
@@ -0,0 +1,107 @@
+package world.model;
+
+import java.util.Arrays;
+
+/**
+ * Works out the tours the pet takes through the spaces of a world. A tour is a depth
+ * first search that moves to the first neighbor in id order that has not been visited
+ * yet, goes back the way it came when there is none, and ends at the last space that
+ * can be reached. A closed tour goes on back to where it started instead, so every
+ * step of it, including going round again, is to a neighbor.
+ *
+ * <p>The search keeps its own stack and, for each space, how far through its
+ * neighbors it is, so a tour takes time in proportion to the spaces and neighbors
+ * that can be reached however deep the search goes. A builder reuses its arrays from
+ * one tour to the next, so it should not be shared between threads.
+ */
+final class PetTourBuilder {
+  private final SpaceAdjacency adjacency;
+  private final boolean[] visited;
+  private final int[] nextNeighbor;
+  private final int[] stack;
+
+  /**
+   * Construct a builder for the tours over a neighbor table.
+   * @param adjacency the neighbor table
+   * @throws IllegalArgumentException if adjacency is null
+   */
+  PetTourBuilder(SpaceAdjacency adjacency) throws IllegalArgumentException {
+    if (adjacency == null) {
+      throw new IllegalArgumentException("Cannot build a tour without a neighbor table");
+    }
+    this.adjacency = adjacency;
+    this.visited = new boolean[adjacency.getSpaceCount()];
+    this.nextNeighbor = new int[adjacency.getSpaceCount()];
+    this.stack = new int[adjacency.getSpaceCount()];
+  }
+
+  /**
+   * Work out the tour of the pet from a space.
+   * @param startId the id of the space the pet is in
+   * @return the space ids the pet visits, starting with startId
+   * @throws IllegalArgumentException if startId is not a space of the world
+   */
+  int[] build(int startId) throws IllegalArgumentException {
+    return walk(startId, false);
+  }
+
+  /**
+   * Work out the closed tour of the pet from a space.
+   * @param startId the id of the space the pet is in
+   * @return the space ids the pet visits, starting with startId and ending with the
+   *     neighbor it goes back to startId from
+   * @throws IllegalArgumentException if startId is not a space of the world
+   */
+  int[] buildClosed(int startId) throws IllegalArgumentException {
+    return walk(startId, true);
+  }
+
+  /**
+   * Util for the depth first search of the tours.
+   * @param startId the id of the space the pet is in
+   * @param closed true to go back to startId at the end
+   * @return the space ids the pet visits
+   * @throws IllegalArgumentException if startId is not a space of the world
+   */
+  private int[] walk(int startId, boolean closed) throws IllegalArgumentException {
+    if (startId < 0 || startId >= visited.length) {
+      throw new IllegalArgumentException("No space with id " + startId);
+    }
+    Arrays.fill(visited, false);
+
+    // every space is entered once, and gone back to at most once for each space
+    // entered from it
+    int[] tour = new int[visited.length * 2 - 1];
+    int length = 0;
+    int top = 0;
+    stack[0] = startId;
+    visited[startId] = true;
+    nextNeighbor[startId] = 0;
+    tour[length++] = startId;
+    int lastEntered = length;
+    while (top >= 0) {
+      int spaceId = stack[top];
+      int unvisited = -1;
+      while (nextNeighbor[spaceId] < adjacency.getNeighborCount(spaceId)) {
+        int neighborId = adjacency.getNeighbor(spaceId, nextNeighbor[spaceId]++);
+        if (!visited[neighborId]) {
+          unvisited = neighborId;
+          break;
+        }
+      }
+      if (unvisited >= 0) {
+        visited[unvisited] = true;
+        nextNeighbor[unvisited] = 0;
+        stack[++top] = unvisited;
+        tour[length++] = unvisited;
+        lastEntered = length;
+      } else if (--top >= 0) {
+        tour[length++] = stack[top];
+      }
+    }
+
+    // the tour does not go back after the last space is entered, and the closed tour
+    // leaves out the start it ends with since it starts over from there
+    return Arrays.copyOf(tour, closed ? Math.max(1, length - 1) : lastEntered);
+  }
+}
@@ -0,0 +1,86 @@
+package world.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The pet tours of a world by the space they start in, so moving the pet to a space
+ * it has been moved to before does not search the world again. A tour is worked out
+ * the first time the pet is moved to its start.
+ *
+ * <p>The tours kept have at most {@link #MAX_STOPS} stops between them, and the least
+ * recently used tour is dropped when there are more. The most recent tour is always
+ * kept, however long it is. The tours are shared by all the games on a topology, so
+ * they must not be changed.
+ */
+final class PetTourCache {
+  static final long MAX_STOPS = 1L << 22;
+
+  private final SpaceAdjacency adjacency;
+  private final long maxStops;
+  private final Map<Integer, int[]> tours;
+  private PetTourBuilder builder;
+  private long stops;
+
+  /**
+   * Construct an empty cache of the tours over a neighbor table.
+   * @param adjacency the neighbor table
+   * @param maxStops the number of stops the tours kept can have between them
+   * @throws IllegalArgumentException if adjacency is null or maxStops is less than 1
+   */
+  PetTourCache(SpaceAdjacency adjacency, long maxStops) throws IllegalArgumentException {
+    if (adjacency == null) {
+      throw new IllegalArgumentException("Cannot build tours without a neighbor table");
+    }
+    if (maxStops < 1) {
+      throw new IllegalArgumentException("Tour cache must keep at least 1 stop");
+    }
+    this.adjacency = adjacency;
+    this.maxStops = maxStops;
+    this.tours = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Getter for the tour of the pet from a space, worked out if it is not kept.
+   * @param startId the id of the space the pet is in
+   * @return the space ids the pet visits, starting with startId
+   * @throws IllegalArgumentException if startId is not a space of the world
+   */
+  synchronized int[] get(int startId) throws IllegalArgumentException {
+    int[] tour = tours.get(startId);
+    if (tour != null) {
+      return tour;
+    }
+    if (builder == null) {
+      builder = new PetTourBuilder(adjacency);
+    }
+    tour = builder.build(startId);
+    tours.put(startId, tour);
+    stops += tour.length;
+
+    // drop the least recently used tours, but never the one just added
+    Iterator<int[]> eldest = tours.values().iterator();
+    while (stops > maxStops && tours.size() > 1) {
+      stops -= eldest.next().length;
+      eldest.remove();
+    }
+    return tour;
+  }
+
+  /**
+   * Getter for the number of tours kept.
+   * @return the number of tours
+   */
+  synchronized int size() {
+    return this.tours.size();
+  }
+
+  /**
+   * Getter for the number of stops of the tours kept.
+   * @return the number of stops
+   */
+  synchronized long getStops() {
+    return this.stops;
+  }
+}
@@ -2,11 +2,16 @@ package world.model;
 
 /**
  * Player in the game the can be controlled by either human user or CPU.
- * Two players are the same if they have the same name and maxiItem
+ * Two players are the same if they have the same id.
  * MaxItem varies between each players from range 1 to 5.
  */
 public interface Player {
   
+  /**
+   * Getter for the player id, which is the order it was added to the world in.
+   * @return the id of the player
+   */
+  int getId();
 
   /**
    * Get the name of the player.
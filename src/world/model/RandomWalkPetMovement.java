@@ -0,0 +1,85 @@
+package world.model;
+
+/**
+ * The pet moves to a random neighbor of its space every turn. The walk is seeded, and
+ * starts over from the seed every time the pet is started, so the same game plays
+ * out the same way again. A pet in a space with no neighbors stays there.
+ *
+ * <p>The neighbor picked on a turn only depends on the seed, how many turns the pet
+ * has walked and the space it is in, so where it will be can be predicted without
+ * moving it. Predicting takes time in proportion to the number of turns, since every
+ * step of the walk depends on the one before.
+ */
+public final class RandomWalkPetMovement implements PetMovementStrategy {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final long seed;
+  private SpaceAdjacency adjacency;
+  private int spaceId;
+  private long steps;
+
+  /**
+   * Construct a random walk.
+   * @param seed the seed of the walk
+   */
+  public RandomWalkPetMovement(long seed) {
+    this.seed = seed;
+  }
+
+  @Override
+  public void start(WorldTopology topology, int spaceId) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot move the pet in a null topology");
+    }
+    if (spaceId < 0 || spaceId >= topology.getSpaceCount()) {
+      throw new IllegalArgumentException("No space with id " + spaceId);
+    }
+    this.adjacency = topology.getAdjacency();
+    this.spaceId = spaceId;
+    this.steps = 0;
+  }
+
+  @Override
+  public int nextSpaceId() throws IllegalStateException {
+    if (adjacency == null) {
+      throw new IllegalStateException("The pet has not started moving");
+    }
+    spaceId = step(spaceId, steps++);
+    return spaceId;
+  }
+
+  @Override
+  public int predictSpaceId(int turns)
+      throws IllegalArgumentException, IllegalStateException {
+    if (turns < 0) {
+      throw new IllegalArgumentException("Cannot predict a negative number of turns");
+    }
+    if (adjacency == null) {
+      throw new IllegalStateException("The pet has not started moving");
+    }
+    int predicted = spaceId;
+    for (int turn = 0; turn < turns; turn++) {
+      predicted = step(predicted, steps + turn);
+    }
+    return predicted;
+  }
+
+  /**
+   * Util for one step of the walk.
+   * @param from the id of the space the pet is in
+   * @param step the number of steps walked before this one
+   * @return the id of the space the pet moves to
+   */
+  private int step(int from, long step) {
+    int neighbors = adjacency.getNeighborCount(from);
+    if (neighbors == 0) {
+      return from;
+    }
+    // a splitmix64 hash of the seed and the step
+    long bits = seed + (step + 1) * GOLDEN_GAMMA;
+    bits = (bits ^ (bits >>> 30)) * 0xBF58476D1CE4E5B9L;
+    bits = (bits ^ (bits >>> 27)) * 0x94D049BB133111EBL;
+    bits = bits ^ (bits >>> 31);
+    return adjacency.getNeighbor(from, (int) Math.floorMod(bits, (long) neighbors));
+  }
+}
@@ -101,8 +101,9 @@ public interface Result {
   /**
    * Getter for the graphical representation of the map.
    * @return img the image of the map
+   * @throws IllegalStateException if the world is headless and does not draw its map
    */
-  BufferedImage getBufferedImage();
+  BufferedImage getBufferedImage() throws IllegalStateException;
 
   /**
    * Returns a list of space names from each spaces.
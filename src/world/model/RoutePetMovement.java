@@ -0,0 +1,55 @@
+package world.model;
+
+/**
+ * A pet movement that works out a route when it starts and then goes round it, one
+ * stop a turn, starting with the stop after the space the pet is in.
+ */
+abstract class RoutePetMovement implements PetMovementStrategy {
+  private int[] route;
+  private int next;
+
+  @Override
+  public final void start(WorldTopology topology, int spaceId)
+      throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot move the pet in a null topology");
+    }
+    if (spaceId < 0 || spaceId >= topology.getSpaceCount()) {
+      throw new IllegalArgumentException("No space with id " + spaceId);
+    }
+    this.route = createRoute(topology, spaceId);
+    this.next = 1 % route.length;
+  }
+
+  @Override
+  public final int nextSpaceId() throws IllegalStateException {
+    if (route == null) {
+      throw new IllegalStateException("The pet has not started moving");
+    }
+    int spaceId = route[next];
+    next = (next + 1) % route.length;
+    return spaceId;
+  }
+
+  @Override
+  public final int predictSpaceId(int turns)
+      throws IllegalArgumentException, IllegalStateException {
+    if (turns < 0) {
+      throw new IllegalArgumentException("Cannot predict a negative number of turns");
+    }
+    if (route == null) {
+      throw new IllegalStateException("The pet has not started moving");
+    }
+    // the stop the pet is at is the one before the next
+    int current = (next + route.length - 1) % route.length;
+    return route[(current + turns % route.length) % route.length];
+  }
+
+  /**
+   * Work out the route of the pet from a space.
+   * @param topology the topology of the world the pet is in
+   * @param spaceId the id of the space the pet is in, which is a space of the world
+   * @return the space ids of the route, starting with spaceId
+   */
+  protected abstract int[] createRoute(WorldTopology topology, int spaceId);
+}
@@ -0,0 +1,35 @@
+package world.model;
+
+/**
+ * The target visits the spaces it is given, in the order it is given them. It jumps
+ * from one to the next, so they do not need to be neighbors.
+ */
+public final class ScriptedTargetRoute implements TargetRoutePlanner {
+  private final int[] spaceIds;
+
+  /**
+   * Construct a scripted route.
+   * @param spaceIds the ids of the spaces the target visits, starting with the space
+   *     it starts in
+   * @throws IllegalArgumentException if spaceIds is null or empty
+   */
+  public ScriptedTargetRoute(int... spaceIds) throws IllegalArgumentException {
+    if (spaceIds == null || spaceIds.length == 0) {
+      throw new IllegalArgumentException("A scripted route needs at least one space");
+    }
+    this.spaceIds = spaceIds.clone();
+  }
+
+  @Override
+  public int[] planRoute(WorldTopology topology) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot plan a route in a null topology");
+    }
+    for (int spaceId : spaceIds) {
+      if (spaceId < 0 || spaceId >= topology.getSpaceCount()) {
+        throw new IllegalArgumentException("No space with id " + spaceId);
+      }
+    }
+    return spaceIds.clone();
+  }
+}
@@ -5,7 +5,7 @@ import java.util.List;
 /**
  * Spaces is defined in terms of its upper left point, and lower right point.
  * There maybe some items inside a space.
- * Two space are the same if they have the same name and rowCol
+ * Two space are the same if they have the same id
  * ensured that item names are unique.
  * Space stores its neighbors object as list. 
  * The neighbors variable is protected for WorldImpl to set the neighbors for each space.
@@ -37,6 +37,30 @@ public interface Space {
    * @return the bottom right coordinate as RowCol object
    */
   RowCol getLowRight();
+
+  /**
+   * Getter for the top row of the space.
+   * @return the row of the top left coordinate
+   */
+  int getUpLeftRow();
+
+  /**
+   * Getter for the left column of the space.
+   * @return the column of the top left coordinate
+   */
+  int getUpLeftCol();
+
+  /**
+   * Getter for the bottom row of the space.
+   * @return the row of the bottom right coordinate
+   */
+  int getLowRightRow();
+
+  /**
+   * Getter for the right column of the space.
+   * @return the column of the bottom right coordinate
+   */
+  int getLowRightCol();
   
   /**
    * Getters for the number of neighbors.
@@ -72,10 +96,10 @@ public interface Space {
   
   
   /**
-   * Getters for item.
+   * Getters for item, the items being ordered by item id.
    * @param id the Id of item in the set
    * @return the item.
-   * @throws IllegalArgumentException if Id is less than 0
+   * @throws IllegalArgumentException if Id is less than 0 or not less than the item size
    */  
   Item getItemAt(int id) throws IllegalArgumentException;
   
@@ -83,7 +107,7 @@ public interface Space {
   /**
    * Add a an item to this space.
    * @param item the item to be added
-   * @throws IllegalArgumentException if item is null
+   * @throws IllegalArgumentException if item is null or an item with its id is already here
    */  
   void addItem(Item item) throws IllegalArgumentException;
   
@@ -91,9 +115,11 @@ public interface Space {
    * Add a neighbor to the set of neighbors for this space. 
    * @param neighbor the space that's a neighbor of this space.
    * @throws IllegalArgumentException if neighbor is a null pointer.
+   * @throws IllegalStateException if this space belongs to a world topology, whose
+   *     neighbor table already has the neighbors
    */  
-  void addNeighbor(Space neighbor) throws IllegalArgumentException;
-  
+  void addNeighbor(Space neighbor) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Add a player to the set of players for this space. 
    * Player object can add itself to a space
@@ -225,11 +251,22 @@ public interface Space {
 
   
   /**
-   * Get the neighbors indices of the current space.
+   * Get the neighbors indices of the current space. This creates a new list every
+   * time, so loops should use {@link #getNeighborSize()} and
+   * {@link #getNeighborId(int)} instead.
    * @return the list of indices of neighbors
    */
   List<Integer> getNeighborsIndices();
 
+  /**
+   * Get the index of a neighbor of the current space.
+   * @param index the order of the neighbor, neighbors are in ascending id order
+   * @return the index of the neighbor
+   * @throws IllegalArgumentException if index is negative or there are not that many
+   *     neighbors
+   */
+  int getNeighborId(int index) throws IllegalArgumentException;
+
   /**
    * Get the player by index order not the id of the player.
    * @param orderIndex the order of the index of the list.
@@ -0,0 +1,338 @@
+package world.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The neighbor table of the spaces in a world.
+ * The neighbors of space i are ids[offsets[i]] up to ids[offsets[i + 1]],
+ * in ascending id order, the same order the spaces are given neighbors in.
+ *
+ * <p>Two spaces are neighbors if they share a wall: one starts on the column (or row)
+ * right after the other ends, and their rows (or columns) overlap.
+ * {@link #fromSpec(WorldSpec)} finds all of them with a sweep along each wall instead
+ * of comparing every pair of spaces, so it takes O(n log n + k) for n spaces and
+ * k neighbor pairs.
+ *
+ * <p>Worlds of up to {@link #DENSE_SPACES} spaces also keep a bit for every pair of
+ * spaces, so {@link #isNeighbor(int, int)} is a single lookup. Bigger worlds search
+ * the sorted neighbors of the space instead, since the bits grow with n squared.
+ */
+final class SpaceAdjacency {
+  static final int DENSE_SPACES = 2048;
+
+  private final int[] offsets;
+  private final int[] ids;
+  private final long[] neighborBits;
+
+  /**
+   * Construct a neighbor table from its offsets and neighbor ids.
+   * @param offsets where the neighbors of each space start, one more than the spaces
+   * @param ids the neighbors of all the spaces
+   * @throws IllegalArgumentException if an array is null, they do not match, or the
+   *     neighbors of a space are not spaces of the table in ascending id order
+   */
+  SpaceAdjacency(int[] offsets, int[] ids) throws IllegalArgumentException {
+    if (offsets == null || ids == null || offsets.length == 0 || offsets[0] != 0
+        || offsets[offsets.length - 1] != ids.length) {
+      throw new IllegalArgumentException("Neighbor table offsets do not match its neighbors");
+    }
+    this.offsets = offsets;
+    this.ids = ids;
+
+    // the lookups search the neighbors of a space, so they must be sorted
+    int totalSpaces = offsets.length - 1;
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      if (offsets[spaceId] > offsets[spaceId + 1]) {
+        throw new IllegalArgumentException("Neighbor table offsets do not match its neighbors");
+      }
+      for (int i = offsets[spaceId]; i < offsets[spaceId + 1]; i++) {
+        if (ids[i] < 0 || ids[i] >= totalSpaces
+            || (i > offsets[spaceId] && ids[i] <= ids[i - 1])) {
+          throw new IllegalArgumentException(
+              "Neighbors of space " + spaceId + " are not spaces in ascending id order");
+        }
+      }
+    }
+
+    // bit spaceId * n + neighborId is set for every neighbor
+    if (totalSpaces <= DENSE_SPACES) {
+      this.neighborBits = new long[(totalSpaces * totalSpaces + 63) / 64];
+      for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+        for (int i = offsets[spaceId]; i < offsets[spaceId + 1]; i++) {
+          int bit = spaceId * totalSpaces + ids[i];
+          neighborBits[bit >>> 6] |= 1L << bit;
+        }
+      }
+    } else {
+      this.neighborBits = null;
+    }
+  }
+
+  /**
+   * Find the neighbors of all the spaces of a world specification.
+   * @param spec the world specification
+   * @return the neighbor table
+   * @throws IllegalArgumentException if spec is null
+   */
+  static SpaceAdjacency fromSpec(WorldSpec spec) throws IllegalArgumentException {
+    if (spec == null) {
+      throw new IllegalArgumentException("specification cannot be null");
+    }
+    int totalSpaces = spec.getSpaceCount();
+    int[] lows = new int[totalSpaces * 2];
+    int[] highs = new int[totalSpaces * 2];
+    List<int[]> pairs = new ArrayList<>();
+
+    // 1. left and right neighbors meet on a column and overlap on rows
+    for (int i = 0; i < totalSpaces; i++) {
+      lows[i * 2] = spec.getUpLeftCol(i);
+      highs[i * 2] = spec.getLowRightCol(i);
+      lows[i * 2 + 1] = spec.getUpLeftRow(i);
+      highs[i * 2 + 1] = spec.getLowRightRow(i);
+    }
+    sweep(lows, highs, 0, totalSpaces, pairs);
+
+    // 2. top and bottom neighbors meet on a row and overlap on columns
+    sweep(lows, highs, 1, totalSpaces, pairs);
+
+    // 3. turn the pairs into a table, both spaces of a pair are neighbors of each other.
+    // a pair is never found twice, spaces sharing a column wall cannot overlap on columns
+    int[] offsets = new int[totalSpaces + 1];
+    for (int[] pair : pairs) {
+      offsets[pair[0] + 1]++;
+      offsets[pair[1] + 1]++;
+    }
+    for (int i = 0; i < totalSpaces; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+    int[] ids = new int[offsets[totalSpaces]];
+    int[] next = Arrays.copyOf(offsets, totalSpaces);
+    for (int[] pair : pairs) {
+      ids[next[pair[0]]++] = pair[1];
+      ids[next[pair[1]]++] = pair[0];
+    }
+    for (int i = 0; i < totalSpaces; i++) {
+      Arrays.sort(ids, offsets[i], offsets[i + 1]);
+    }
+    return new SpaceAdjacency(offsets, ids);
+  }
+
+  /**
+   * Update the neighbor table of a world after some of its spaces were edited.
+   * The neighbors of the spaces that did not change are kept, except for the edited
+   * spaces, and only the edited spaces are compared with every space, so it takes
+   * O(n + k + c * n) for c edited spaces.
+   * @param previous the neighbor table before the edit
+   * @param spec the edited world specification
+   * @param changed for each space of spec, true if it is new or was edited
+   * @return the neighbor table of spec
+   * @throws IllegalArgumentException if an argument is null or changed does not
+   *                                  have one entry per space
+   */
+  static SpaceAdjacency update(SpaceAdjacency previous, WorldSpec spec, boolean[] changed)
+      throws IllegalArgumentException {
+    if (previous == null || spec == null || changed == null
+        || changed.length != spec.getSpaceCount()) {
+      throw new IllegalArgumentException("Cannot update a neighbor table without its spaces");
+    }
+    int totalSpaces = spec.getSpaceCount();
+    int previousSpaces = previous.getSpaceCount();
+
+    // 1. the new neighbor pairs of the edited spaces, each pair only once
+    List<int[]> pairs = new ArrayList<>();
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      if (!changed[spaceId]) {
+        continue;
+      }
+      for (int otherId = 0; otherId < totalSpaces; otherId++) {
+        if (otherId != spaceId && (!changed[otherId] || otherId > spaceId)
+            && sharesWall(spec, spaceId, otherId)) {
+          pairs.add(new int[] {spaceId, otherId});
+        }
+      }
+    }
+
+    // 2. count the kept neighbors and the new ones of each space
+    int[] offsets = new int[totalSpaces + 1];
+    for (int spaceId = 0; spaceId < Math.min(totalSpaces, previousSpaces); spaceId++) {
+      if (!changed[spaceId]) {
+        for (int i = 0; i < previous.getNeighborCount(spaceId); i++) {
+          int neighborId = previous.getNeighbor(spaceId, i);
+          if (neighborId < totalSpaces && !changed[neighborId]) {
+            offsets[spaceId + 1]++;
+          }
+        }
+      }
+    }
+    for (int[] pair : pairs) {
+      offsets[pair[0] + 1]++;
+      offsets[pair[1] + 1]++;
+    }
+    for (int i = 0; i < totalSpaces; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+
+    // 3. fill the table, and sort the spaces that got new neighbors
+    int[] ids = new int[offsets[totalSpaces]];
+    int[] next = Arrays.copyOf(offsets, totalSpaces);
+    for (int spaceId = 0; spaceId < Math.min(totalSpaces, previousSpaces); spaceId++) {
+      if (!changed[spaceId]) {
+        for (int i = 0; i < previous.getNeighborCount(spaceId); i++) {
+          int neighborId = previous.getNeighbor(spaceId, i);
+          if (neighborId < totalSpaces && !changed[neighborId]) {
+            ids[next[spaceId]++] = neighborId;
+          }
+        }
+      }
+    }
+    boolean[] unsorted = new boolean[totalSpaces];
+    for (int[] pair : pairs) {
+      ids[next[pair[0]]++] = pair[1];
+      ids[next[pair[1]]++] = pair[0];
+      unsorted[pair[0]] = true;
+      unsorted[pair[1]] = true;
+    }
+    for (int i = 0; i < totalSpaces; i++) {
+      if (unsorted[i]) {
+        Arrays.sort(ids, offsets[i], offsets[i + 1]);
+      }
+    }
+    return new SpaceAdjacency(offsets, ids);
+  }
+
+  /**
+   * Check if two spaces share a wall, the same way the sweep pairs them.
+   * @param spec the world specification
+   * @param first the id of a space
+   * @param second the id of the other space
+   * @return true if the spaces are neighbors
+   */
+  private static boolean sharesWall(WorldSpec spec, int first, int second) {
+    boolean rowsOverlap = spec.getUpLeftRow(first) <= spec.getLowRightRow(second)
+        && spec.getUpLeftRow(second) <= spec.getLowRightRow(first);
+    boolean colsOverlap = spec.getUpLeftCol(first) <= spec.getLowRightCol(second)
+        && spec.getUpLeftCol(second) <= spec.getLowRightCol(first);
+    boolean colWall = (long) spec.getLowRightCol(first) + 1 == spec.getUpLeftCol(second)
+        || (long) spec.getLowRightCol(second) + 1 == spec.getUpLeftCol(first);
+    boolean rowWall = (long) spec.getLowRightRow(first) + 1 == spec.getUpLeftRow(second)
+        || (long) spec.getLowRightRow(second) + 1 == spec.getUpLeftRow(first);
+    return (colWall && rowsOverlap) || (rowWall && colsOverlap);
+  }
+
+  /**
+   * Find the spaces that share a wall along one axis.
+   * Every space has a wall before its low edge and one after its high edge. The walls
+   * are sorted by position and then by where they start on the other axis, so each
+   * space only has to be paired with the spaces on the other side of the same wall
+   * that are still open when it starts.
+   * @param lows the low edge of each space, two axes per space
+   * @param highs the high edge of each space, two axes per space
+   * @param axis 0 to find walls on columns, 1 to find walls on rows
+   * @param totalSpaces the number of spaces
+   * @param pairs the list the neighbor pairs are added to
+   */
+  private static void sweep(int[] lows, int[] highs, int axis, int totalSpaces,
+      List<int[]> pairs) {
+    final int other = 1 - axis;
+
+    // a wall is 2 * id for the wall after the space and 2 * id + 1 for the one before it
+    Integer[] walls = new Integer[totalSpaces * 2];
+    for (int i = 0; i < walls.length; i++) {
+      walls[i] = i;
+    }
+    Comparator<Integer> byPosition = Comparator.comparingLong(
+        wall -> wallPosition(lows, highs, axis, wall));
+    Arrays.sort(walls, byPosition.thenComparingInt(wall -> lows[(wall / 2) * 2 + other]));
+
+    // the open spaces on each side of the wall, the one that ends first at the head
+    Comparator<Integer> byEnd = Comparator.comparingInt(id -> highs[id * 2 + other]);
+    List<PriorityQueue<Integer>> open = new ArrayList<>();
+    open.add(new PriorityQueue<>(byEnd));
+    open.add(new PriorityQueue<>(byEnd));
+
+    long position = Long.MIN_VALUE;
+    for (int wall : walls) {
+      long wallAt = wallPosition(lows, highs, axis, wall);
+      if (wallAt != position) {
+        position = wallAt;
+        open.get(0).clear();
+        open.get(1).clear();
+      }
+      int spaceId = wall / 2;
+      int side = wall % 2;
+      int start = lows[spaceId * 2 + other];
+      for (PriorityQueue<Integer> spaces : open) {
+        while (!spaces.isEmpty() && highs[spaces.peek() * 2 + other] < start) {
+          spaces.poll();
+        }
+      }
+      for (int neighborId : open.get(1 - side)) {
+        pairs.add(new int[] {spaceId, neighborId});
+      }
+      open.get(side).add(spaceId);
+    }
+  }
+
+  /**
+   * Getter for the position of a wall, the column or row between two neighbors.
+   * @param lows the low edge of each space, two axes per space
+   * @param highs the high edge of each space, two axes per space
+   * @param axis 0 for walls on columns, 1 for walls on rows
+   * @param wall 2 * id for the wall after a space and 2 * id + 1 for the one before it
+   * @return the last column or row before the wall
+   */
+  private static long wallPosition(int[] lows, int[] highs, int axis, int wall) {
+    int edge = (wall / 2) * 2 + axis;
+    return wall % 2 == 0 ? highs[edge] : (long) lows[edge] - 1;
+  }
+
+  /**
+   * Getter for the number of spaces in the table.
+   * @return the number of spaces
+   */
+  int getSpaceCount() {
+    return this.offsets.length - 1;
+  }
+
+  /**
+   * Getter for the number of neighbors of a space.
+   * @param spaceId the id of the space
+   * @return the number of neighbors
+   */
+  int getNeighborCount(int spaceId) {
+    return this.offsets[spaceId + 1] - this.offsets[spaceId];
+  }
+
+  /**
+   * Getter for a neighbor of a space.
+   * @param spaceId the id of the space
+   * @param index the index of the neighbor, neighbors are in ascending id order
+   * @return the id of the neighbor
+   */
+  int getNeighbor(int spaceId, int index) {
+    return this.ids[this.offsets[spaceId] + index];
+  }
+
+  /**
+   * Check if two spaces are neighbors.
+   * @param spaceId the id of a space
+   * @param otherId the id of the other space
+   * @return true if they are neighbors, false if they are not or an id is not a space
+   *     of the table
+   */
+  boolean isNeighbor(int spaceId, int otherId) {
+    int totalSpaces = getSpaceCount();
+    if (spaceId < 0 || otherId < 0 || spaceId >= totalSpaces || otherId >= totalSpaces) {
+      return false;
+    }
+    if (neighborBits != null) {
+      int bit = spaceId * totalSpaces + otherId;
+      return (neighborBits[bit >>> 6] & (1L << bit)) != 0;
+    }
+    return Arrays.binarySearch(ids, offsets[spaceId], offsets[spaceId + 1], otherId) >= 0;
+  }
+}
@@ -1,12 +1,13 @@
 package world.model;
 
 import java.awt.Point;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * The implementation of a map data of space in the world.
  * the space has maximum of 12 boxes.
+ * The boxes are kept as x and y pairs in one array, so reading them does not
+ * create any objects.
  */
 public final class SpaceMapData implements MapData {
 
@@ -15,7 +16,8 @@ public final class SpaceMapData implements MapData {
   private int spaceHeight;
   private int boxWidth;
   private int boxHeight;
-  private List<Point> boxesPoint;
+  private int[] boxCoords;
+  private int boxCount;
 
   /**
    * Constructor for the map data.
@@ -41,7 +43,8 @@ public final class SpaceMapData implements MapData {
     this.spaceHeight = spaceHeight;
     this.boxWidth = boxWidth;
     this.boxHeight = boxHeight;
-    this.boxesPoint = new ArrayList<Point>();
+    this.boxCoords = new int[12 * 2];
+    this.boxCount = 0;
   }
   
 
@@ -49,6 +52,16 @@ public final class SpaceMapData implements MapData {
   public Point getSpaceCoord() {
     return this.spaceCoord;
   }
+
+  @Override
+  public int getSpaceX() {
+    return this.spaceCoord.x;
+  }
+
+  @Override
+  public int getSpaceY() {
+    return this.spaceCoord.y;
+  }
   
   @Override
   public int getSpaceWidth() {
@@ -75,7 +88,20 @@ public final class SpaceMapData implements MapData {
     if (coord == null || coord.x < 0 || coord.y < 0) {
       throw new IllegalArgumentException("Coordinates cannot be negative or null.\n");
     }
-    boxesPoint.add(coord);
+    addBoxCoord(coord.x, coord.y);
+  }
+
+  @Override
+  public void addBoxCoord(int x, int y) {
+    if (x < 0 || y < 0) {
+      throw new IllegalArgumentException("Coordinates cannot be negative or null.\n");
+    }
+    if (boxCount * 2 == boxCoords.length) {
+      boxCoords = Arrays.copyOf(boxCoords, boxCoords.length * 2);
+    }
+    boxCoords[boxCount * 2] = x;
+    boxCoords[boxCount * 2 + 1] = y;
+    boxCount++;
   }
 
   @Override
@@ -83,7 +109,19 @@ public final class SpaceMapData implements MapData {
     if (index < 0) {
       throw new IllegalArgumentException("Index cannot be negative");
     }
-    return boxesPoint.get(index);
+    return new Point(getBoxX(index), getBoxY(index));
+  }
+
+  @Override
+  public int getBoxX(int index) {
+    checkBoxIndex(index);
+    return boxCoords[index * 2];
+  }
+
+  @Override
+  public int getBoxY(int index) {
+    checkBoxIndex(index);
+    return boxCoords[index * 2 + 1];
   }
 
 
@@ -93,11 +131,33 @@ public final class SpaceMapData implements MapData {
     if (index < 0) {
       throw new IllegalArgumentException("Index cannot be negative");
     }
+    return new Point(getPlayerXAtBox(index), getPlayerYAtBox(index));
+  }
+
+  @Override
+  public int getPlayerXAtBox(int index) {
     int xcircleBorderGap = this.getboxWidth() / 6;
+    return getBoxX(index) + xcircleBorderGap;
+  }
+
+  @Override
+  public int getPlayerYAtBox(int index) {
     int ycircleBorderGap = this.getboxHeight() / 6;
-    int x = this.getCoordAtBox(index).x + xcircleBorderGap;
-    int y = this.getCoordAtBox(index).y + ycircleBorderGap;
-    return new Point(x, y);
+    return getBoxY(index) + ycircleBorderGap;
+  }
+
+  /**
+   * Check that a box has been added.
+   * @param index the index of the box
+   * @throws IllegalArgumentException if the index is negative
+   * @throws IndexOutOfBoundsException if there is no box at the index
+   */
+  private void checkBoxIndex(int index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Index cannot be negative");
+    } else if (index >= boxCount) {
+      throw new IndexOutOfBoundsException("No box at index " + index);
+    }
   }
 
 }
@@ -0,0 +1,118 @@
+package world.model;
+
+import java.util.function.Supplier;
+
+/**
+ * Which spaces of a game have players or the pet in them, and for each space how
+ * many of its neighbors have players in them. The spaces of a game report when they
+ * become occupied or empty and when the pet comes or goes, and the neighbor counts
+ * are updated right away, so checking if a player can be seen does not have to go
+ * through the neighbors of its space.
+ *
+ * <p>A neighbor is only counted as watching a space if it has players and no pet,
+ * since the pet blocks the view from the space it is in.
+ */
+final class SpaceOccupancy {
+  private final Supplier<SpaceAdjacency> adjacency;
+  private final long[] occupied;
+  private final long[] pets;
+  private final int[] occupiedNeighbors;
+  private final int[] watchingNeighbors;
+
+  /**
+   * Construct the occupancy of a game where no space has players or the pet yet.
+   * @param totalSpaces the number of spaces
+   * @param adjacency the neighbor table of the spaces
+   * @throws IllegalArgumentException if totalSpaces is negative or adjacency is null
+   */
+  SpaceOccupancy(int totalSpaces, Supplier<SpaceAdjacency> adjacency)
+      throws IllegalArgumentException {
+    if (totalSpaces < 0 || adjacency == null) {
+      throw new IllegalArgumentException("Cannot track the spaces without their neighbors");
+    }
+    this.adjacency = adjacency;
+    this.occupied = new long[(totalSpaces + 63) / 64];
+    this.pets = new long[(totalSpaces + 63) / 64];
+    this.occupiedNeighbors = new int[totalSpaces];
+    this.watchingNeighbors = new int[totalSpaces];
+  }
+
+  /**
+   * Record that a space became occupied or empty.
+   * @param spaceId the id of the space
+   * @param isOccupied true if the space now has players in it
+   */
+  void setOccupied(int spaceId, boolean isOccupied) {
+    if (isSet(occupied, spaceId) == isOccupied) {
+      return;
+    }
+    flip(occupied, spaceId);
+    int change = isOccupied ? 1 : -1;
+    boolean watching = !isSet(pets, spaceId);
+    SpaceAdjacency table = adjacency.get();
+    for (int i = 0; i < table.getNeighborCount(spaceId); i++) {
+      int neighborId = table.getNeighbor(spaceId, i);
+      occupiedNeighbors[neighborId] += change;
+      if (watching) {
+        watchingNeighbors[neighborId] += change;
+      }
+    }
+  }
+
+  /**
+   * Record that the pet came to or left a space.
+   * @param spaceId the id of the space
+   * @param isPetHere true if the pet is now in the space
+   */
+  void setPet(int spaceId, boolean isPetHere) {
+    if (isSet(pets, spaceId) == isPetHere) {
+      return;
+    }
+    flip(pets, spaceId);
+    if (!isSet(occupied, spaceId)) {
+      return;
+    }
+    int change = isPetHere ? -1 : 1;
+    SpaceAdjacency table = adjacency.get();
+    for (int i = 0; i < table.getNeighborCount(spaceId); i++) {
+      watchingNeighbors[table.getNeighbor(spaceId, i)] += change;
+    }
+  }
+
+  /**
+   * Check if any neighbor of a space has players in it.
+   * @param spaceId the id of the space
+   * @return true if a neighbor has players
+   */
+  boolean hasOccupiedNeighbor(int spaceId) {
+    return occupiedNeighbors[spaceId] > 0;
+  }
+
+  /**
+   * Check if any neighbor of a space has players in it and no pet.
+   * @param spaceId the id of the space
+   * @return true if players in a neighbor can see into the space
+   */
+  boolean hasWatchingNeighbor(int spaceId) {
+    return watchingNeighbors[spaceId] > 0;
+  }
+
+  /**
+   * Util for reading a bit.
+   * @param bits the bits
+   * @param index the index of the bit
+   * @return true if the bit is set
+   */
+  private static boolean isSet(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Util for flipping a bit.
+   * @param bits the bits
+   * @param index the index of the bit
+   */
+  private static void flip(long[] bits, int index) {
+    bits[index >>> 6] ^= 1L << index;
+  }
+}
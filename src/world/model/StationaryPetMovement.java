@@ -0,0 +1,36 @@
+package world.model;
+
+/**
+ * The pet stays where it is until a player moves it.
+ */
+public final class StationaryPetMovement implements PetMovementStrategy {
+  private int spaceId = -1;
+
+  @Override
+  public void start(WorldTopology topology, int spaceId) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot move the pet in a null topology");
+    }
+    if (spaceId < 0 || spaceId >= topology.getSpaceCount()) {
+      throw new IllegalArgumentException("No space with id " + spaceId);
+    }
+    this.spaceId = spaceId;
+  }
+
+  @Override
+  public int nextSpaceId() throws IllegalStateException {
+    if (spaceId < 0) {
+      throw new IllegalStateException("The pet has not started moving");
+    }
+    return this.spaceId;
+  }
+
+  @Override
+  public int predictSpaceId(int turns)
+      throws IllegalArgumentException, IllegalStateException {
+    if (turns < 0) {
+      throw new IllegalArgumentException("Cannot predict a negative number of turns");
+    }
+    return nextSpaceId();
+  }
+}
@@ -2,10 +2,11 @@ package world.model;
 
 /**
  * Interface for target character.
- * Target character is placed on index 0 in the beginning of the game.
+ * Target character is placed at the start of its route in the beginning of the game,
+ * which is index 0 unless the world planned it another route.
  * Players will make attempt to kill it and will reduce its health if
  * attempts are successful. 
- * Target character move to new room index every at every game turn.
+ * Target character move to the next room of its route at every game turn.
  * 
  */
 public interface TargetCharacter {
@@ -40,9 +41,18 @@ public interface TargetCharacter {
   void reduceHealth(int amount) throws IllegalArgumentException;
   
   /**
-   * Move this target character by 1 index room up.
+   * Move this target character to the next room of its route, by default 1 index
+   * room up.
    */
   void move();
+
+  /**
+   * Getter for the space this character will be in after it moves a number of times.
+   * @param turns the number of moves, 0 for where it is now
+   * @return the space index it will be at
+   * @throws IllegalArgumentException if turns is negative
+   */
+  int predictSpaceId(int turns) throws IllegalArgumentException;
   
   
   /**
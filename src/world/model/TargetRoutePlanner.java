@@ -0,0 +1,20 @@
+package world.model;
+
+/**
+ * How the route of the target through a world is worked out. A world plans the route
+ * once for each topology it is given, and the target then follows it one stop a turn
+ * and goes round again from the first stop after the last, so moving the target takes
+ * constant time however the route was worked out.
+ */
+public interface TargetRoutePlanner {
+
+  /**
+   * Work out the route of the target through a world.
+   * @param topology the topology of the world
+   * @return the space ids the target visits in order, starting with the space it
+   *     starts in
+   * @throws IllegalArgumentException if topology is null or the route does not fit
+   *     the world
+   */
+  int[] planRoute(WorldTopology topology) throws IllegalArgumentException;
+}
@@ -0,0 +1,192 @@
+package world.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What changed between a world topology and an edited version of it: the spaces that
+ * were added, removed, renamed or moved, the items that were added, removed or
+ * changed, and the neighbor links that appeared or went away.
+ * Spaces and items are matched by id, the order they are given in the specification.
+ */
+public final class TopologyDiff {
+  private final boolean worldChanged;
+  private final int[] changedSpaceIds;
+  private final int[] changedItemIds;
+  private final int addedEdges;
+  private final int removedEdges;
+
+  /**
+   * Construct a diff.
+   * @param worldChanged if the name, size, target or pet of the world changed
+   * @param changedSpaceIds the ids of the changed spaces in ascending order
+   * @param changedItemIds the ids of the changed items in ascending order
+   * @param addedEdges the number of new neighbor links
+   * @param removedEdges the number of neighbor links that went away
+   */
+  private TopologyDiff(boolean worldChanged, int[] changedSpaceIds, int[] changedItemIds,
+      int addedEdges, int removedEdges) {
+    this.worldChanged = worldChanged;
+    this.changedSpaceIds = changedSpaceIds;
+    this.changedItemIds = changedItemIds;
+    this.addedEdges = addedEdges;
+    this.removedEdges = removedEdges;
+  }
+
+  /**
+   * Find what changed between two topologies. Neighbor links can only change when one
+   * of their spaces changed, so only the neighbors of the changed spaces are compared.
+   * @param before the topology before the edit
+   * @param after the topology after the edit
+   * @return the diff
+   * @throws IllegalArgumentException if a topology is null
+   */
+  static TopologyDiff between(WorldTopology before, WorldTopology after)
+      throws IllegalArgumentException {
+    if (before == null || after == null) {
+      throw new IllegalArgumentException("Cannot compare a null topology");
+    }
+    boolean worldChanged = !before.getName().equals(after.getName())
+        || !before.getSize().equals(after.getSize())
+        || !before.getTargetName().equals(after.getTargetName())
+        || before.getTargetHealth() != after.getTargetHealth()
+        || !before.getPetName().equals(after.getPetName());
+
+    // 1. spaces that are only in one of them, or whose name or coordinates differ
+    int totalSpaces = Math.max(before.getSpaceCount(), after.getSpaceCount());
+    boolean[] changed = new boolean[totalSpaces];
+    List<Integer> spaceIds = new ArrayList<>();
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      changed[spaceId] = spaceId >= before.getSpaceCount() || spaceId >= after.getSpaceCount()
+          || !before.getSpaceName(spaceId).equals(after.getSpaceName(spaceId))
+          || !before.getUpLeft(spaceId).equals(after.getUpLeft(spaceId))
+          || !before.getLowRight(spaceId).equals(after.getLowRight(spaceId));
+      if (changed[spaceId]) {
+        spaceIds.add(spaceId);
+      }
+    }
+
+    // 2. items that are only in one of them, or whose name, damage or space differ
+    int totalItems = Math.max(before.getItemCount(), after.getItemCount());
+    List<Integer> itemIds = new ArrayList<>();
+    for (int itemId = 0; itemId < totalItems; itemId++) {
+      if (itemId >= before.getItemCount() || itemId >= after.getItemCount()
+          || !before.getItems().get(itemId).getName()
+              .equals(after.getItems().get(itemId).getName())
+          || before.getItems().get(itemId).getDamagePoint()
+              != after.getItems().get(itemId).getDamagePoint()
+          || before.getItemSpaceId(itemId) != after.getItemSpaceId(itemId)) {
+        itemIds.add(itemId);
+      }
+    }
+
+    // 3. neighbor links of the changed spaces, a link between two changed spaces
+    // is counted from the one with the lower id
+    int addedEdges = 0;
+    int removedEdges = 0;
+    for (int spaceId : spaceIds) {
+      int[] old = neighbors(before, spaceId);
+      int[] now = neighbors(after, spaceId);
+      for (int neighborId : now) {
+        if (Arrays.binarySearch(old, neighborId) < 0
+            && (!changed[neighborId] || neighborId > spaceId)) {
+          addedEdges++;
+        }
+      }
+      for (int neighborId : old) {
+        if (Arrays.binarySearch(now, neighborId) < 0
+            && (!changed[neighborId] || neighborId > spaceId)) {
+          removedEdges++;
+        }
+      }
+    }
+    return new TopologyDiff(worldChanged, toArray(spaceIds), toArray(itemIds),
+        addedEdges, removedEdges);
+  }
+
+  /**
+   * Whether the name, size, target or pet of the world changed.
+   * @return true if any of them changed
+   */
+  public boolean isWorldChanged() {
+    return this.worldChanged;
+  }
+
+  /**
+   * Getter for the ids of the spaces that were added, removed, renamed or moved.
+   * @return the ids in ascending order
+   */
+  public int[] getChangedSpaceIds() {
+    return this.changedSpaceIds.clone();
+  }
+
+  /**
+   * Getter for the ids of the items that were added, removed or changed.
+   * @return the ids in ascending order
+   */
+  public int[] getChangedItemIds() {
+    return this.changedItemIds.clone();
+  }
+
+  /**
+   * Getter for the number of neighbor links that appeared.
+   * @return the number of new links
+   */
+  public int getAddedEdges() {
+    return this.addedEdges;
+  }
+
+  /**
+   * Getter for the number of neighbor links that went away.
+   * @return the number of links removed
+   */
+  public int getRemovedEdges() {
+    return this.removedEdges;
+  }
+
+  /**
+   * Whether nothing changed.
+   * @return true if the topologies are the same
+   */
+  public boolean isEmpty() {
+    return !worldChanged && changedSpaceIds.length == 0 && changedItemIds.length == 0;
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder()
+        .append(changedSpaceIds.length).append(" spaces, ")
+        .append(changedItemIds.length).append(" items and ")
+        .append(addedEdges + removedEdges).append(" neighbor links changed")
+        .append(worldChanged ? ", and the world itself changed" : "")
+        .toString();
+  }
+
+  /**
+   * Util for getting the neighbors of a space in a topology.
+   * @param topology the topology
+   * @param spaceId the id of the space, which may not be in the topology
+   * @return the neighbor ids in ascending order, empty if the space is not there
+   */
+  private static int[] neighbors(WorldTopology topology, int spaceId) {
+    if (spaceId >= topology.getSpaceCount()) {
+      return new int[0];
+    }
+    SpaceAdjacency adjacency = topology.getAdjacency();
+    int[] ids = new int[adjacency.getNeighborCount(spaceId)];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = adjacency.getNeighbor(spaceId, i);
+    }
+    return ids;
+  }
+
+  /**
+   * Util for turning a list of ids into an array.
+   * @param ids the ids
+   * @return the array of ids
+   */
+  private static int[] toArray(List<Integer> ids) {
+    return ids.stream().mapToInt(i -> i).toArray();
+  }
+}
@@ -0,0 +1,78 @@
+package world.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The target goes on an itinerary of spaces picked at random, each space as likely to
+ * be picked as its weight says, and walks a shortest way from one to the next like a
+ * {@link PatrolTargetRoute}. The itinerary starts in space 0 and is planned from a
+ * seed, so the same world gets the same itinerary every time.
+ */
+public final class WeightedTargetRoute implements TargetRoutePlanner {
+  private final double[] weights;
+  private final int stops;
+  private final long seed;
+
+  /**
+   * Construct a weighted itinerary.
+   * @param weights the weight of each space, by id
+   * @param stops the number of spaces picked after space 0
+   * @param seed the seed of the picks
+   * @throws IllegalArgumentException if weights is null, a weight is negative or not
+   *     a number, or stops is less than 1
+   */
+  public WeightedTargetRoute(double[] weights, int stops, long seed)
+      throws IllegalArgumentException {
+    if (weights == null || stops < 1) {
+      throw new IllegalArgumentException("An itinerary needs weights and at least 1 stop");
+    }
+    for (double weight : weights) {
+      if (!(weight >= 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Weights of an itinerary must be at least 0");
+      }
+    }
+    this.weights = weights.clone();
+    this.stops = stops;
+    this.seed = seed;
+  }
+
+  @Override
+  public int[] planRoute(WorldTopology topology) throws IllegalArgumentException {
+    if (topology == null) {
+      throw new IllegalArgumentException("Cannot plan a route in a null topology");
+    }
+    if (weights.length != topology.getSpaceCount()) {
+      throw new IllegalArgumentException("An itinerary needs a weight for every space");
+    }
+
+    // only the spaces that can be reached from space 0 can be picked
+    DistanceOracle distances = topology.getDistances();
+    double[] cumulative = new double[weights.length];
+    double total = 0;
+    for (int spaceId = 0; spaceId < weights.length; spaceId++) {
+      if (distances.distance(0, spaceId) >= 0) {
+        total += weights[spaceId];
+      }
+      cumulative[spaceId] = total;
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("No space that can be reached has any weight");
+    }
+
+    Random random = new Random(seed);
+    int[] waypoints = new int[stops + 1];
+    for (int stop = 1; stop <= stops; stop++) {
+      // the first space whose running total is over the pick, so spaces with no
+      // weight are never picked
+      double pick = Math.min(random.nextDouble() * total, Math.nextDown(total));
+      int found = Arrays.binarySearch(cumulative, pick);
+      int spaceId = found >= 0 ? found + 1 : -found - 1;
+      while (weights[spaceId] == 0 || distances.distance(0, spaceId) < 0) {
+        spaceId++;
+      }
+      waypoints[stop] = spaceId;
+    }
+    return PatrolTargetRoute.walk(topology, waypoints);
+  }
+}
@@ -1,6 +1,7 @@
 package world.model;
 
 import java.awt.Point;
+import java.awt.image.BufferedImage;
 
 /**
  * World will be implemented by WorldImpl.
@@ -28,6 +29,53 @@ public interface World {
    */
   String getSpaceNameByCoord(Point coord);
 
+  /**
+   * Get the id of a space from its name, as listed in {@link Result#getSpaceNames()}.
+   * @param name the name of the space
+   * @return the id of the space
+   * @throws IllegalArgumentException if no space has the name
+   */
+  int getSpaceIdByName(String name) throws IllegalArgumentException;
+
+  /**
+   * Get the id of an item from the label it is listed with, as in
+   * {@link Result#getCurentPlayerItemNames()} and
+   * {@link Result#getCurentPlayerSpaceItemNames()}.
+   * @param label the label of the item
+   * @return the id of the item, -1 for poking the target in the eye
+   * @throws IllegalArgumentException if no item has the label
+   */
+  int getItemIdByLabel(String label) throws IllegalArgumentException;
+
+  /**
+   * Get the space the target will be in a number of turns from now. The target follows
+   * the route planned by the world's TargetRoutePlanner and keeps a cursor to its stop
+   * on that route, so this looks ahead along the route in constant time.
+   * @param turns the number of turns from now, 0 for the space it is in
+   * @return the id of the space
+   * @throws IllegalArgumentException if turns is negative
+   */
+  int predictTargetSpaceId(int turns) throws IllegalArgumentException;
+
+  /**
+   * Get the space the pet will be in a number of turns from now, if no player moves
+   * it in the meantime. The pet follows the route its movement worked out when it last
+   * started, so this takes constant time for all but a random walk.
+   * @param turns the number of turns from now, 0 for the space it is in
+   * @return the id of the space
+   * @throws IllegalArgumentException if turns is negative
+   */
+  int predictPetSpaceId(int turns) throws IllegalArgumentException;
+
+  /**
+   * Get the route of the target drawn on an image the size of the map, clear where
+   * there is no route so it can be laid over the map. The route is planned when the
+   * world is loaded and only drawn the first time it is asked for.
+   * @return the image of the route
+   * @throws IllegalStateException if the world does not draw its map
+   */
+  BufferedImage getTargetRouteOverlay() throws IllegalStateException;
+
 
   /**
    * Generate graphical image of the world and save to png file.
@@ -134,6 +182,14 @@ public interface World {
    */
   Result getResult();
 
+  /**
+   * Getter for the report of how long each phase of loading the current game took.
+   * The map is drawn when it is first asked for, so its phase is only in the report
+   * after that.
+   * @return the load report
+   */
+  WorldLoadReport getLoadReport();
+
   /**
    * Check if the current player is in this point.
    * @param point the point from the image
@@ -162,6 +218,16 @@ public interface World {
    */
   void reloadNewGame(Readable file);
 
+  /**
+   * Reset to a new game with an edited version of the current world specification.
+   * Only the neighbors of the spaces that were edited are worked out again, and only
+   * their areas of the map are drawn again.
+   * @param file the edited world specification
+   * @return what changed in the world
+   * @throws IllegalArgumentException if file is null or it is not a valid world
+   */
+  TopologyDiff hotReload(Readable file) throws IllegalArgumentException;
+
   /**
    * Set the start field to true.
    */
@@ -0,0 +1,249 @@
+package world.model;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of the worlds that have been loaded, so loading the same world again
+ * skips parsing, the neighbor search, the pet tour and drawing the world.
+ *
+ * <p>Topologies are kept by the SHA-256 digest of their specification, and the least
+ * recently used one is dropped when the cache is full. The drawing of the world, before
+ * any player or target is drawn on it, is kept for each topology as long as the
+ * topology is in the cache or used by a game, unless it is too large to keep a copy of.
+ */
+public final class WorldCache {
+  static final long MAX_IMAGE_PIXELS = 1L << 25;
+
+  private final int capacity;
+  private final Map<String, WorldTopology> topologies;
+  private final Map<WorldTopology, WorldImage> images;
+  private int hits;
+  private int misses;
+
+  /**
+   * Construct an empty cache.
+   * @param capacity the number of topologies the cache keeps
+   * @throws IllegalArgumentException if capacity is less than 1
+   */
+  public WorldCache(int capacity) throws IllegalArgumentException {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Cache capacity must be at least 1");
+    }
+    this.capacity = capacity;
+    this.topologies = new LinkedHashMap<String, WorldTopology>(capacity + 1, 1f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, WorldTopology> eldest) {
+        return size() > WorldCache.this.capacity;
+      }
+    };
+    this.images = new WeakHashMap<>();
+  }
+
+  /**
+   * Load the topology of a text world specification, from the cache if a
+   * specification with the same content has been loaded before.
+   * @param file the readable text world specification
+   * @return the topology of the world
+   * @throws IllegalArgumentException if file is null or it is not a valid world
+   */
+  public WorldTopology load(Readable file) throws IllegalArgumentException {
+    return load(file, null);
+  }
+
+  /**
+   * Load the topology of an edited text world specification, from the cache if a
+   * specification with the same content has been loaded before. Otherwise only the
+   * neighbors of the spaces that were edited are worked out again.
+   * @param file the readable text world specification
+   * @param previous the topology before the edit, or null to build everything
+   * @return the topology of the world
+   * @throws IllegalArgumentException if file is null or it is not a valid world
+   */
+  synchronized WorldTopology load(Readable file, WorldTopology previous)
+      throws IllegalArgumentException {
+    CharBuffer text = WorldSpecParser.readAll(file);
+    return load(digest(StandardCharsets.UTF_8.encode(text.duplicate())),
+        () -> new WorldSpecParser(text), previous);
+  }
+
+  /**
+   * Load the topology of a text world specification file, from the cache if a
+   * specification with the same content has been loaded before. The file is memory
+   * mapped instead of read, and is kept by the same digest as reading it through
+   * {@link #load(Readable)}, so either way of loading it again finds it.
+   * @param path the path of the text world specification
+   * @return the topology of the world
+   * @throws IllegalArgumentException if path is null, the file cannot be read, or it
+   *                                  is not a valid world
+   */
+  public synchronized WorldTopology loadFile(Path path) throws IllegalArgumentException {
+    if (path == null) {
+      throw new IllegalArgumentException("File cannot be null.\n");
+    }
+    ByteBuffer bytes;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read the world specification " + path);
+    }
+    return load(digest(bytes.duplicate()), () -> WorldSpecParser.fromBytes(bytes), null);
+  }
+
+  /**
+   * Helper method to find a topology by the digest of its specification, or parse and
+   * build it and keep it.
+   * @param key the digest of the specification
+   * @param parser makes the parser over the specification, only called on a miss
+   * @param previous the topology the specification is an edit of, or null
+   * @return the topology of the world
+   * @throws IllegalArgumentException if the specification is not a valid world
+   */
+  private WorldTopology load(String key, Supplier<WorldSpecParser> parser,
+      WorldTopology previous) throws IllegalArgumentException {
+    WorldTopology topology = topologies.get(key);
+    if (topology != null) {
+      hits++;
+      return topology;
+    }
+    misses++;
+    WorldLoadReport report = new WorldLoadReport();
+    WorldLoadReport.Stopwatch parsing = WorldLoadReport.start();
+    WorldSpec spec = parser.get().parse();
+    parsing.stop(report, WorldLoadReport.Phase.PARSE);
+    topology = WorldTopology.fromSpec(spec, report, previous);
+    topologies.put(key, topology);
+    return topology;
+  }
+
+  /**
+   * Draw the world of a topology on a new map by copying the drawing kept for it.
+   * @param topology the topology the map is for
+   * @param imgGen the new map, nothing should be drawn on it yet
+   * @return true if the world was copied, false if there is no drawing kept for it
+   */
+  synchronized boolean drawWorld(WorldTopology topology, DefaultImageGenerator imgGen) {
+    WorldImage image = images.get(topology);
+    if (image == null) {
+      return false;
+    }
+    imgGen.drawWorld(image.worldImage, image.spacesData);
+    return true;
+  }
+
+  /**
+   * Draw the world of an edited topology on a new map by copying the drawing kept for
+   * the topology before the edit and drawing the edited areas again.
+   * @param previous the topology before the edit
+   * @param imgGen the new map of the edited topology, nothing should be drawn on it yet
+   * @param changedCells the areas that were edited, in rows and columns of the world
+   * @return true if the world was drawn, false if there is no drawing kept for previous
+   *         or it is not the size of the new map
+   */
+  synchronized boolean redrawWorld(WorldTopology previous, DefaultImageGenerator imgGen,
+      List<Rectangle> changedCells) {
+    WorldImage image = images.get(previous);
+    if (image == null || image.worldImage.getWidth() != imgGen.getImage().getWidth()
+        || image.worldImage.getHeight() != imgGen.getImage().getHeight()) {
+      return false;
+    }
+    imgGen.redrawWorld(image.worldImage, changedCells);
+    return true;
+  }
+
+  /**
+   * Keep a copy of the drawing of a world for the next game on its topology.
+   * Nothing is kept if the image is larger than {@link #MAX_IMAGE_PIXELS}.
+   * @param topology the topology the map is for
+   * @param imgGen a map that only has the world drawn on it
+   */
+  synchronized void saveWorld(WorldTopology topology, DefaultImageGenerator imgGen) {
+    BufferedImage drawn = imgGen.getImage();
+    if (images.containsKey(topology)
+        || (long) drawn.getWidth() * drawn.getHeight() > MAX_IMAGE_PIXELS) {
+      return;
+    }
+    BufferedImage copy = new BufferedImage(drawn.getWidth(), drawn.getHeight(),
+        drawn.getType());
+    copy.setData(drawn.getRaster());
+    images.put(topology, new WorldImage(copy, new ArrayList<>(imgGen.getSpacesData())));
+  }
+
+  /**
+   * Getter for the number of loads that were found in the cache.
+   * @return the number of hits
+   */
+  public synchronized int getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Getter for the number of loads that had to be parsed.
+   * @return the number of misses
+   */
+  public synchronized int getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Getter for the number of topologies in the cache.
+   * @return the number of topologies
+   */
+  public synchronized int size() {
+    return this.topologies.size();
+  }
+
+  /**
+   * Work out the SHA-256 digest of a specification.
+   * @param bytes the UTF-8 content of the specification, which is read to its limit
+   * @return the digest as a hexadecimal string
+   */
+  private static String digest(ByteBuffer bytes) {
+    try {
+      MessageDigest sha = MessageDigest.getInstance("SHA-256");
+      sha.update(bytes);
+      StringBuilder hex = new StringBuilder();
+      for (byte b : sha.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available");
+    }
+  }
+
+  /**
+   * The drawing of a world before anything is drawn on it, and where each space is.
+   */
+  private static final class WorldImage {
+    private final BufferedImage worldImage;
+    private final List<MapData> spacesData;
+
+    /**
+     * Construct a kept drawing.
+     * @param worldImage the image that only has the world drawn on it
+     * @param spacesData the layout of each space on that image
+     */
+    private WorldImage(BufferedImage worldImage, List<MapData> spacesData) {
+      this.worldImage = worldImage;
+      this.spacesData = spacesData;
+    }
+  }
+}
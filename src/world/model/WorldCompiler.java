@@ -0,0 +1,148 @@
+package world.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compiles a text world specification into a binary world file (.dlw).
+ * The file has everything the world works out when it loads a text specification:
+ * the validated room and item names, the coordinates, the neighbor table and the
+ * pet tour. {@link CompiledWorldLoader} reads it back without any text parsing.
+ *
+ * <p>All numbers are big endian 4 byte integers and strings are a length followed
+ * by UTF-8 bytes. The layout is:
+ * <pre>
+ * magic, version
+ * rows, cols, world name
+ * target health, target name, pet name
+ * total spaces, coordinates (4 per space), space names
+ * total items, item space ids, item damages, item names
+ * neighbor offsets (total spaces + 1), neighbor ids
+ * pet tour length, pet tour
+ * </pre>
+ */
+public final class WorldCompiler {
+  static final int MAGIC = 0x444C5731; // "DLW1"
+  static final int VERSION = 1;
+
+  /**
+   * Prevent instantiation, this class only has static methods.
+   */
+  private WorldCompiler() {
+  }
+
+  /**
+   * Compile a world specification to a binary world file.
+   * The specification is validated by building the world topology from it, so invalid
+   * specifications are rejected the same way as when they are loaded as text.
+   * @param file the readable text world specification
+   * @param output the path of the binary world file to write
+   * @throws IllegalArgumentException if file or output is null, the specification is not
+   *     a valid world, or the binary file cannot be written
+   */
+  public static void compile(Readable file, Path output) throws IllegalArgumentException {
+    if (file == null || output == null) {
+      throw new IllegalArgumentException("File and output path cannot be null when compiling");
+    }
+    compile(WorldSpecParser.fromReadable(file).parse(), output);
+  }
+
+  /**
+   * Compile a parsed world specification to a binary world file.
+   * @param spec the parsed world specification
+   * @param output the path of the binary world file to write
+   * @throws IllegalArgumentException if spec or output is null, the specification is not
+   *     a valid world, or the binary file cannot be written
+   */
+  public static void compile(WorldSpec spec, Path output) throws IllegalArgumentException {
+    if (spec == null || output == null) {
+      throw new IllegalArgumentException("Spec and output path cannot be null when compiling");
+    }
+    write(WorldTopology.fromSpec(spec).toCompiledSpec(), output);
+  }
+
+  /**
+   * Write a compiled world specification.
+   * @param spec the compiled world specification
+   * @param output the path of the binary world file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  private static void write(WorldSpec spec, Path output) throws IllegalArgumentException {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(output)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+
+      // 1. world, target and pet
+      out.writeInt(spec.getRows());
+      out.writeInt(spec.getCols());
+      writeString(out, spec.getName());
+      out.writeInt(spec.getTargetHealth());
+      writeString(out, spec.getTargetName());
+      writeString(out, spec.getPetName());
+
+      // 2. spaces
+      int totalSpaces = spec.getSpaceCount();
+      out.writeInt(totalSpaces);
+      for (int i = 0; i < totalSpaces; i++) {
+        out.writeInt(spec.getUpLeftRow(i));
+        out.writeInt(spec.getUpLeftCol(i));
+        out.writeInt(spec.getLowRightRow(i));
+        out.writeInt(spec.getLowRightCol(i));
+      }
+      for (int i = 0; i < totalSpaces; i++) {
+        writeString(out, spec.getSpaceName(i));
+      }
+
+      // 3. items
+      int totalItems = spec.getItemCount();
+      out.writeInt(totalItems);
+      for (int i = 0; i < totalItems; i++) {
+        out.writeInt(spec.getItemSpaceId(i));
+      }
+      for (int i = 0; i < totalItems; i++) {
+        out.writeInt(spec.getItemDamage(i));
+      }
+      for (int i = 0; i < totalItems; i++) {
+        writeString(out, spec.getItemName(i));
+      }
+
+      // 4. neighbor table
+      int offset = 0;
+      out.writeInt(offset);
+      for (int i = 0; i < totalSpaces; i++) {
+        offset += spec.getNeighborCount(i);
+        out.writeInt(offset);
+      }
+      for (int i = 0; i < totalSpaces; i++) {
+        for (int j = 0; j < spec.getNeighborCount(i); j++) {
+          out.writeInt(spec.getNeighbor(i, j));
+        }
+      }
+
+      // 5. pet tour
+      out.writeInt(spec.getPetTourLength());
+      for (int i = 0; i < spec.getPetTourLength(); i++) {
+        out.writeInt(spec.getPetTourStop(i));
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot write the compiled world to " + output);
+    }
+  }
+
+  /**
+   * Write a string as its length and its UTF-8 bytes.
+   * @param out the stream to write to
+   * @param text the string to write
+   * @throws IOException if the stream cannot be written
+   */
+  private static void writeString(DataOutputStream out, String text) throws IOException {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
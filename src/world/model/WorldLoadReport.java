@@ -0,0 +1,185 @@
+package world.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * A report of where the time went when a world was loaded: how long each phase
+ * took and how many bytes it allocated.
+ *
+ * <p>The bytes are the ones allocated by the thread that ran the phase, so the bands
+ * of a map drawn in parallel only count what the calling thread allocated. They are
+ * -1 when the JVM cannot count allocations. A phase that did not run for this load,
+ * such as parsing a world that was in the cache or drawing the map of a headless
+ * world, is left out of the report.
+ */
+public final class WorldLoadReport {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  /**
+   * The phases of loading a world, in the order they start.
+   */
+  public enum Phase {
+    PARSE, VALIDATE, ADJACENCY, PET_TOUR, GAME_STATE, RENDER
+  }
+
+  private final boolean[] ran;
+  private final long[] nanos;
+  private final long[] bytes;
+
+  /**
+   * Construct a report in which no phase has run yet.
+   */
+  public WorldLoadReport() {
+    this.ran = new boolean[Phase.values().length];
+    this.nanos = new long[Phase.values().length];
+    this.bytes = new long[Phase.values().length];
+  }
+
+  /**
+   * Whether a phase ran for this load.
+   * @param phase the phase
+   * @return true if the phase ran
+   * @throws IllegalArgumentException if phase is null
+   */
+  public synchronized boolean hasRun(Phase phase) throws IllegalArgumentException {
+    return ran[index(phase)];
+  }
+
+  /**
+   * Getter for the time a phase took.
+   * @param phase the phase
+   * @return the time in nanoseconds, 0 if the phase did not run
+   * @throws IllegalArgumentException if phase is null
+   */
+  public synchronized long getNanos(Phase phase) throws IllegalArgumentException {
+    return nanos[index(phase)];
+  }
+
+  /**
+   * Getter for the bytes a phase allocated.
+   * @param phase the phase
+   * @return the allocated bytes, 0 if the phase did not run or -1 if unknown
+   * @throws IllegalArgumentException if phase is null
+   */
+  public synchronized long getAllocatedBytes(Phase phase) throws IllegalArgumentException {
+    return bytes[index(phase)];
+  }
+
+  /**
+   * Getter for the time all the phases that ran took together. Phases that ran at
+   * the same time are all counted, so this can be more than the time the load took.
+   * @return the time in nanoseconds
+   */
+  public synchronized long getTotalNanos() {
+    long total = 0;
+    for (long phaseNanos : nanos) {
+      total += phaseNanos;
+    }
+    return total;
+  }
+
+  /**
+   * Record the phases that ran in another report, such as the build of a topology.
+   * @param other the report to copy from
+   */
+  void addAll(WorldLoadReport other) {
+    for (Phase phase : Phase.values()) {
+      if (other.hasRun(phase)) {
+        record(phase, other.getNanos(phase), other.getAllocatedBytes(phase));
+      }
+    }
+  }
+
+  /**
+   * Record the time and allocations of a phase.
+   * @param phase the phase
+   * @param phaseNanos the time it took in nanoseconds
+   * @param phaseBytes the bytes it allocated, or -1 if unknown
+   */
+  synchronized void record(Phase phase, long phaseNanos, long phaseBytes) {
+    ran[phase.ordinal()] = true;
+    nanos[phase.ordinal()] = phaseNanos;
+    bytes[phase.ordinal()] = phaseBytes;
+  }
+
+  /**
+   * Start timing a phase on the current thread.
+   * @return the stopwatch of the phase
+   */
+  static Stopwatch start() {
+    return new Stopwatch();
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder s = new StringBuilder("World load report:\n");
+    for (Phase phase : Phase.values()) {
+      if (!ran[phase.ordinal()]) {
+        continue;
+      }
+      s.append(String.format("  %-10s %10.3f ms", phase, nanos[phase.ordinal()] / 1e6));
+      if (bytes[phase.ordinal()] >= 0) {
+        s.append(String.format(" %12d bytes", bytes[phase.ordinal()]));
+      }
+      s.append("\n");
+    }
+    s.append(String.format("  %-10s %10.3f ms", "TOTAL", getTotalNanos() / 1e6));
+    return s.toString();
+  }
+
+  /**
+   * Util for validating a phase argument.
+   * @param phase the phase to be validated
+   * @return the index of the phase
+   * @throws IllegalArgumentException if phase is null
+   */
+  private static int index(Phase phase) throws IllegalArgumentException {
+    if (phase == null) {
+      throw new IllegalArgumentException("Phase cannot be null");
+    }
+    return phase.ordinal();
+  }
+
+  /**
+   * Util for reading the bytes the current thread has allocated so far.
+   * @return the allocated bytes, or -1 if the JVM cannot count them
+   */
+  private static long allocatedBytes() {
+    if (THREADS instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+      if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The time and allocations of the current thread since a phase started.
+   */
+  static final class Stopwatch {
+    private final long startNanos;
+    private final long startBytes;
+
+    /**
+     * Start the stopwatch.
+     */
+    private Stopwatch() {
+      this.startBytes = allocatedBytes();
+      this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stop the stopwatch and record the phase it timed.
+     * @param report the report to record the phase in
+     * @param phase the phase
+     */
+    void stop(WorldLoadReport report, Phase phase) {
+      long phaseNanos = System.nanoTime() - startNanos;
+      long endBytes = allocatedBytes();
+      report.record(phase, phaseNanos,
+          startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes);
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package world.model;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The map of a world too big to draw whole, split into square regions of rows and
+ * columns that are each drawn on their own when the map first shows them. A region
+ * keeps the ids and the layouts of the spaces that reach it, which points on it are
+ * looked up in, and the image of the world over it without the players and the
+ * target. At most a given number of regions are kept, and the least recently used
+ * one is dropped to make room, so the memory of the map follows the area around the
+ * players and the target and not the size of the world.
+ *
+ * <p>The neighbors and the items of the spaces are not kept by region, since the
+ * topology keeps them in tables all the games of the world share.
+ */
+public final class WorldRegions {
+  /** The number of pixels from which a world is drawn in regions. */
+  public static final long REGION_PIXELS = 1L << 25;
+  static final int REGION_CELLS = 8;
+  static final int MAX_REGIONS = 32;
+
+  private final List<Space> spaces;
+  private final int adj;
+  private final int mapWidth;
+  private final int mapHeight;
+  private final int regionSize;
+  private final int regionCols;
+  private final int regionRows;
+  private final Map<Integer, Region> loaded;
+  private int loads;
+
+  /**
+   * Construct the regions of a world of {@link #REGION_CELLS} rows and columns each,
+   * keeping at most {@link #MAX_REGIONS} of them.
+   * @param spaces the spaces of the world in id order
+   * @param cols the number of columns of the world
+   * @param rows the number of rows of the world
+   * @param adj the number of pixels of a row and a column
+   * @throws IllegalArgumentException if spaces is null, or cols, rows or adj is not
+   *     positive
+   */
+  public WorldRegions(List<Space> spaces, int cols, int rows, int adj)
+      throws IllegalArgumentException {
+    this(spaces, cols, rows, adj, REGION_CELLS, MAX_REGIONS);
+  }
+
+  /**
+   * Construct the regions of a world.
+   * @param spaces the spaces of the world in id order
+   * @param cols the number of columns of the world
+   * @param rows the number of rows of the world
+   * @param adj the number of pixels of a row and a column
+   * @param regionCells the number of rows and columns of a region
+   * @param maxRegions the number of regions kept at most
+   * @throws IllegalArgumentException if spaces is null, or another argument is not
+   *     positive
+   */
+  public WorldRegions(List<Space> spaces, int cols, int rows, int adj, int regionCells,
+      int maxRegions) throws IllegalArgumentException {
+    if (spaces == null || cols <= 0 || rows <= 0 || adj <= 0 || regionCells <= 0
+        || maxRegions <= 0) {
+      throw new IllegalArgumentException("The regions need spaces and a positive size");
+    }
+    this.spaces = spaces;
+    this.adj = adj;
+    this.mapWidth = cols * adj + 1;
+    this.mapHeight = rows * adj + 1;
+    this.regionSize = regionCells * adj;
+    this.regionCols = (mapWidth + regionSize - 1) / regionSize;
+    this.regionRows = (mapHeight + regionSize - 1) / regionSize;
+    this.loaded = new LinkedHashMap<Integer, Region>(maxRegions + 1, 1f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Region> eldest) {
+        return size() > maxRegions;
+      }
+    };
+    this.loads = 0;
+  }
+
+  /**
+   * Getter for the area of the map around a space, which is the region its upper left
+   * corner is in and the regions next to that one.
+   * @param spaceId the id of the space
+   * @return the area in pixels
+   * @throws IllegalArgumentException if there is no space with the id
+   */
+  public Rectangle getView(int spaceId) throws IllegalArgumentException {
+    if (spaceId < 0 || spaceId >= spaces.size()) {
+      throw new IllegalArgumentException("There is no space " + spaceId);
+    }
+    Space space = spaces.get(spaceId);
+    int regionCol = space.getUpLeftCol() * adj / regionSize;
+    int regionRow = space.getUpLeftRow() * adj / regionSize;
+    int left = Math.max(0, regionCol - 1) * regionSize;
+    int top = Math.max(0, regionRow - 1) * regionSize;
+    int right = Math.min(mapWidth, (regionCol + 2) * regionSize);
+    int bottom = Math.min(mapHeight, (regionRow + 2) * regionSize);
+    return new Rectangle(left, top, right - left, bottom - top);
+  }
+
+  /**
+   * Getter for the number of regions kept now.
+   * @return the number of regions
+   */
+  public int getLoadedRegions() {
+    return loaded.size();
+  }
+
+  /**
+   * Getter for the number of times a region was drawn, including regions drawn again
+   * after they were dropped.
+   * @return the number of loads
+   */
+  public int getLoads() {
+    return loads;
+  }
+
+  /**
+   * Getter for the width of the map.
+   * @return the width in pixels
+   */
+  int getMapWidth() {
+    return mapWidth;
+  }
+
+  /**
+   * Getter for the height of the map.
+   * @return the height in pixels
+   */
+  int getMapHeight() {
+    return mapHeight;
+  }
+
+  /**
+   * Getter for the number of pixels of a row and a column.
+   * @return the number of pixels
+   */
+  int getAdj() {
+    return adj;
+  }
+
+  /**
+   * Draw the world over an area of the map from the images of the regions it covers.
+   * @param g the graphics to draw with, in pixels of the map
+   * @param area the area in pixels
+   */
+  void draw(Graphics2D g, Rectangle area) {
+    for (int row = area.y / regionSize; row <= (area.y + area.height - 1) / regionSize;
+        row++) {
+      for (int col = area.x / regionSize; col <= (area.x + area.width - 1) / regionSize;
+          col++) {
+        Region region = load(row * regionCols + col);
+        g.drawImage(region.image, region.area.x, region.area.y, null);
+      }
+    }
+  }
+
+  /**
+   * Getter for the space at a point of the map. The first space in id order wins on
+   * the wall two spaces share.
+   * @param point the point in pixels of the map
+   * @return the id of the space, or -1 if the point is not on a space
+   */
+  int getSpaceAt(Point point) {
+    if (point.x < 0 || point.y < 0 || point.x >= mapWidth || point.y >= mapHeight) {
+      return -1;
+    }
+    Region region = load(point.y / regionSize * regionCols + point.x / regionSize);
+    for (int k = 0; k < region.spaceIds.length; k++) {
+      MapData spaceData = region.layouts[k];
+      if (point.x >= spaceData.getSpaceX() && point.y >= spaceData.getSpaceY()
+          && point.x <= spaceData.getSpaceX() + spaceData.getSpaceWidth()
+          && point.y <= spaceData.getSpaceY() + spaceData.getSpaceHeight()) {
+        return region.spaceIds[k];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Util for getting a region, drawing it if it is not kept.
+   * @param regionId the id of the region, its row times the number of columns of
+   *     regions plus its column
+   * @return the region
+   */
+  private Region load(int regionId) {
+    Region region = loaded.get(regionId);
+    if (region != null) {
+      return region;
+    }
+    int left = regionId % regionCols * regionSize;
+    int top = regionId / regionCols * regionSize;
+    Rectangle area = new Rectangle(left, top, Math.min(regionSize, mapWidth - left),
+        Math.min(regionSize, mapHeight - top));
+
+    // the spaces that reach the region, drawn in id order like on the whole map
+    int[] spaceIds = IntStream.range(0, spaces.size()).filter(spaceId -> {
+      Space space = spaces.get(spaceId);
+      return DefaultImageGenerator.reaches(space.getUpLeftCol() * adj,
+          space.getUpLeftRow() * adj,
+          (space.getLowRightRow() - space.getUpLeftRow() + 1) * adj, area, adj);
+    }).toArray();
+    MapData[] layouts = new MapData[spaceIds.length];
+    BufferedImage image = new BufferedImage(area.width, area.height,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.translate(-area.x, -area.y);
+    g.setColor(DefaultImageGenerator.MAP_BACKGROUND);
+    g.fillRect(area.x, area.y, area.width, area.height);
+    for (int k = 0; k < spaceIds.length; k++) {
+      layouts[k] = DefaultImageGenerator.layoutSpace(spaces.get(spaceIds[k]), adj);
+      DefaultImageGenerator.drawSpace(g, spaceIds[k], spaces.get(spaceIds[k]).getName(),
+          layouts[k], adj);
+    }
+    g.dispose();
+
+    region = new Region(area, spaceIds, layouts, image);
+    loaded.put(regionId, region);
+    loads++;
+    return region;
+  }
+
+  /**
+   * A region of the map, with the spaces that reach it and its image.
+   */
+  private static final class Region {
+    private final Rectangle area;
+    private final int[] spaceIds;
+    private final MapData[] layouts;
+    private final BufferedImage image;
+
+    /**
+     * Construct a region.
+     * @param area the area of the region in pixels
+     * @param spaceIds the ids of the spaces that reach the region in id order
+     * @param layouts the layout of each of those spaces
+     * @param image the image of the world over the region
+     */
+    private Region(Rectangle area, int[] spaceIds, MapData[] layouts, BufferedImage image) {
+      this.area = area;
+      this.spaceIds = spaceIds;
+      this.layouts = layouts;
+      this.image = image;
+    }
+  }
+}
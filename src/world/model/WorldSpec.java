@@ -0,0 +1,294 @@
+package world.model;
+
+/**
+ * The raw content of a world specification after it has been tokenized.
+ * Spaces and items are stored in primitive arrays indexed by their id so a
+ * large specification does not need one object per field.
+ * The names are stored as they appear in the file. Validating and capitalizing
+ * them is the job of the world that is built from this specification.
+ *
+ * <p>A specification loaded from a compiled world file also carries the neighbor
+ * table and the pet tour, and its names are already validated, so the world
+ * can be built from it without working any of these out again.
+ */
+public final class WorldSpec {
+  private final int rows;
+  private final int cols;
+  private final String name;
+  private final int targetHealth;
+  private final String targetName;
+  private final String petName;
+  private final int[] spaceCoords;
+  private final String[] spaceNames;
+  private final int[] itemSpaceIds;
+  private final int[] itemDamages;
+  private final String[] itemNames;
+  private final int[] neighborOffsets;
+  private final int[] neighborIds;
+  private final int[] petTour;
+
+  /**
+   * Construct a world specification from the parsed fields.
+   * @param rows the number of rows of the world
+   * @param cols the number of columns of the world
+   * @param name the name of the world
+   * @param targetHealth the initial health of the target
+   * @param targetName the name of the target
+   * @param petName the name of the pet
+   * @param spaceCoords the coordinates of the spaces, four per space in the order
+   *     upper left row, upper left column, lower right row, lower right column
+   * @param spaceNames the names of the spaces
+   * @param itemSpaceIds the id of the space each item starts in
+   * @param itemDamages the damage point of each item
+   * @param itemNames the names of the items
+   * @throws IllegalArgumentException if any array is null or the array lengths do not match
+   */
+  WorldSpec(int rows, int cols, String name, int targetHealth, String targetName,
+      String petName, int[] spaceCoords, String[] spaceNames, int[] itemSpaceIds,
+      int[] itemDamages, String[] itemNames) throws IllegalArgumentException {
+    this(rows, cols, name, targetHealth, targetName, petName, spaceCoords, spaceNames,
+        itemSpaceIds, itemDamages, itemNames, null, null, null);
+  }
+
+  /**
+   * Construct a compiled world specification that also has the neighbors and the pet tour.
+   * The neighbors of space i are neighborIds[neighborOffsets[i]] up to
+   * neighborIds[neighborOffsets[i + 1]] in ascending order.
+   * @param rows the number of rows of the world
+   * @param cols the number of columns of the world
+   * @param name the name of the world
+   * @param targetHealth the initial health of the target
+   * @param targetName the name of the target
+   * @param petName the name of the pet
+   * @param spaceCoords the coordinates of the spaces, four per space
+   * @param spaceNames the validated names of the spaces
+   * @param itemSpaceIds the id of the space each item starts in
+   * @param itemDamages the damage point of each item
+   * @param itemNames the validated names of the items
+   * @param neighborOffsets where the neighbors of each space start, one more than the spaces
+   * @param neighborIds the neighbors of all the spaces
+   * @param petTour the order of the spaces the pet visits starting from space 0
+   * @throws IllegalArgumentException if an array is null or the array lengths do not match
+   */
+  WorldSpec(int rows, int cols, String name, int targetHealth, String targetName,
+      String petName, int[] spaceCoords, String[] spaceNames, int[] itemSpaceIds,
+      int[] itemDamages, String[] itemNames, int[] neighborOffsets, int[] neighborIds,
+      int[] petTour) throws IllegalArgumentException {
+    if (spaceCoords == null || spaceNames == null || itemSpaceIds == null
+        || itemDamages == null || itemNames == null) {
+      throw new IllegalArgumentException("World specification arrays cannot be null");
+    }
+    if (spaceCoords.length != spaceNames.length * 4
+        || itemSpaceIds.length != itemNames.length || itemDamages.length != itemNames.length) {
+      throw new IllegalArgumentException("World specification arrays have mismatched lengths");
+    }
+    if ((neighborOffsets == null) != (neighborIds == null)
+        || (neighborOffsets == null) != (petTour == null)
+        || (neighborOffsets != null && neighborOffsets.length != spaceNames.length + 1)) {
+      throw new IllegalArgumentException("Compiled world specification is incomplete");
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.name = name;
+    this.targetHealth = targetHealth;
+    this.targetName = targetName;
+    this.petName = petName;
+    this.spaceCoords = spaceCoords;
+    this.spaceNames = spaceNames;
+    this.itemSpaceIds = itemSpaceIds;
+    this.itemDamages = itemDamages;
+    this.itemNames = itemNames;
+    this.neighborOffsets = neighborOffsets;
+    this.neighborIds = neighborIds;
+    this.petTour = petTour;
+  }
+
+  /**
+   * Getter for the number of rows of the world.
+   * @return the number of rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Getter for the number of columns of the world.
+   * @return the number of columns
+   */
+  public int getCols() {
+    return this.cols;
+  }
+
+  /**
+   * Getter for the name of the world.
+   * @return the name of the world
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Getter for the initial health of the target.
+   * @return the health of the target
+   */
+  public int getTargetHealth() {
+    return this.targetHealth;
+  }
+
+  /**
+   * Getter for the name of the target.
+   * @return the name of the target
+   */
+  public String getTargetName() {
+    return this.targetName;
+  }
+
+  /**
+   * Getter for the name of the pet.
+   * @return the name of the pet
+   */
+  public String getPetName() {
+    return this.petName;
+  }
+
+  /**
+   * Getter for the number of spaces.
+   * @return the number of spaces
+   */
+  public int getSpaceCount() {
+    return this.spaceNames.length;
+  }
+
+  /**
+   * Getter for the number of items.
+   * @return the number of items
+   */
+  public int getItemCount() {
+    return this.itemNames.length;
+  }
+
+  /**
+   * Getter for the upper left row of a space.
+   * @param spaceId the id of the space
+   * @return the upper left row
+   */
+  public int getUpLeftRow(int spaceId) {
+    return this.spaceCoords[spaceId * 4];
+  }
+
+  /**
+   * Getter for the upper left column of a space.
+   * @param spaceId the id of the space
+   * @return the upper left column
+   */
+  public int getUpLeftCol(int spaceId) {
+    return this.spaceCoords[spaceId * 4 + 1];
+  }
+
+  /**
+   * Getter for the lower right row of a space.
+   * @param spaceId the id of the space
+   * @return the lower right row
+   */
+  public int getLowRightRow(int spaceId) {
+    return this.spaceCoords[spaceId * 4 + 2];
+  }
+
+  /**
+   * Getter for the lower right column of a space.
+   * @param spaceId the id of the space
+   * @return the lower right column
+   */
+  public int getLowRightCol(int spaceId) {
+    return this.spaceCoords[spaceId * 4 + 3];
+  }
+
+  /**
+   * Getter for the name of a space as written in the specification.
+   * @param spaceId the id of the space
+   * @return the name of the space
+   */
+  public String getSpaceName(int spaceId) {
+    return this.spaceNames[spaceId];
+  }
+
+  /**
+   * Getter for the id of the space an item starts in.
+   * @param itemId the id of the item
+   * @return the id of the space
+   */
+  public int getItemSpaceId(int itemId) {
+    return this.itemSpaceIds[itemId];
+  }
+
+  /**
+   * Getter for the damage point of an item.
+   * @param itemId the id of the item
+   * @return the damage point
+   */
+  public int getItemDamage(int itemId) {
+    return this.itemDamages[itemId];
+  }
+
+  /**
+   * Getter for the name of an item as written in the specification.
+   * @param itemId the id of the item
+   * @return the name of the item
+   */
+  public String getItemName(int itemId) {
+    return this.itemNames[itemId];
+  }
+
+  /**
+   * Check if this specification comes from a compiled world file, in which case
+   * its names are validated and it has the neighbors and the pet tour.
+   * @return true if the specification is compiled
+   */
+  boolean isCompiled() {
+    return this.neighborOffsets != null;
+  }
+
+  /**
+   * Getter for the number of neighbors of a space in a compiled specification.
+   * @param spaceId the id of the space
+   * @return the number of neighbors
+   */
+  int getNeighborCount(int spaceId) {
+    return this.neighborOffsets[spaceId + 1] - this.neighborOffsets[spaceId];
+  }
+
+  /**
+   * Getter for a neighbor of a space in a compiled specification.
+   * @param spaceId the id of the space
+   * @param index the index of the neighbor, neighbors are in ascending id order
+   * @return the id of the neighbor
+   */
+  int getNeighbor(int spaceId, int index) {
+    return this.neighborIds[this.neighborOffsets[spaceId] + index];
+  }
+
+  /**
+   * Getter for the neighbor table of a compiled specification.
+   * @return the neighbor table
+   */
+  SpaceAdjacency getAdjacency() {
+    return new SpaceAdjacency(this.neighborOffsets, this.neighborIds);
+  }
+
+  /**
+   * Getter for the length of the pet tour in a compiled specification.
+   * @return the number of stops in the tour
+   */
+  int getPetTourLength() {
+    return this.petTour.length;
+  }
+
+  /**
+   * Getter for a stop of the pet tour in a compiled specification.
+   * @param index the index of the stop
+   * @return the id of the space at this stop
+   */
+  int getPetTourStop(int index) {
+    return this.petTour[index];
+  }
+}
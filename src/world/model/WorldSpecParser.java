@@ -0,0 +1,372 @@
+package world.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parser for the text world specification.
+ * It walks the characters once and reads numbers and names straight into the
+ * primitive arrays of a {@link WorldSpec}, without regular expressions or a token
+ * object per field. Errors are reported with the line and column they happen at.
+ *
+ * <p>The specification format is:
+ * <pre>
+ * rows cols world name
+ * targetHealth target name
+ * pet name
+ * totalSpaces
+ * upLeftRow upLeftCol lowRightRow lowRightCol space name   (once per space)
+ * totalItems
+ * spaceId damagePoint item name                            (once per item)
+ * </pre>
+ */
+public final class WorldSpecParser {
+  private final CharSequence text;
+  private final int length;
+  private int pos;
+
+  /**
+   * Construct a parser over the characters of a specification.
+   * @param text the specification
+   * @throws IllegalArgumentException if text is null
+   */
+  public WorldSpecParser(CharSequence text) throws IllegalArgumentException {
+    if (text == null) {
+      throw new IllegalArgumentException("World specification cannot be null");
+    }
+    this.text = text;
+    this.length = text.length();
+    this.pos = 0;
+  }
+
+  /**
+   * Create a parser by draining a readable source into a char buffer.
+   * The source is closed after it has been read, like the scanner used to do.
+   * @param file the readable world specification
+   * @return the parser over the content of the file
+   * @throws IllegalArgumentException if file is null or cannot be read
+   */
+  public static WorldSpecParser fromReadable(Readable file) throws IllegalArgumentException {
+    return new WorldSpecParser(readAll(file));
+  }
+
+  /**
+   * Drain a readable source into a char buffer and close it.
+   * @param file the readable world specification
+   * @return the content of the file, ready to be read from the start
+   * @throws IllegalArgumentException if file is null or cannot be read
+   */
+  static CharBuffer readAll(Readable file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null.\n");
+    }
+    CharBuffer buffer = CharBuffer.allocate(8192);
+    try {
+      while (file.read(buffer) != -1) {
+        if (!buffer.hasRemaining()) {
+          CharBuffer bigger = CharBuffer.allocate(buffer.capacity() * 2);
+          buffer.flip();
+          bigger.put(buffer);
+          buffer = bigger;
+        }
+      }
+      if (file instanceof Closeable) {
+        ((Closeable) file).close();
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read the world specification");
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Create a parser over a memory mapped specification file.
+   * The bytes are read in place as single byte characters, which covers the
+   * alphanumeric names a specification is allowed to have.
+   * @param path the path to the specification file
+   * @return the parser over the mapped file
+   * @throws IllegalArgumentException if path is null or the file cannot be mapped
+   */
+  public static WorldSpecParser fromFile(Path path) throws IllegalArgumentException {
+    if (path == null) {
+      throw new IllegalArgumentException("File cannot be null.\n");
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return fromBytes(bytes);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read the world specification " + path);
+    }
+  }
+
+  /**
+   * Create a parser that reads the bytes of a specification in place as single byte
+   * characters.
+   * @param bytes the specification, from its position to its limit
+   * @return the parser over the bytes
+   */
+  static WorldSpecParser fromBytes(ByteBuffer bytes) {
+    return new WorldSpecParser(new ByteChars(bytes.slice()));
+  }
+
+  /**
+   * Parse the whole specification.
+   * @return the parsed world specification
+   * @throws IllegalArgumentException if the specification is not well formed.
+   *     The message contains the line and column of the problem.
+   */
+  public WorldSpec parse() throws IllegalArgumentException {
+    pos = 0;
+
+    // 1. world
+    int rows = readInt("number of rows");
+    int cols = readInt("number of columns");
+    String name = readRestOfLine().trim();
+
+    // 2. target
+    int targetHealth = readInt("target health");
+    String targetName = readName("target name");
+
+    // 3. pet
+    String petName = readLine().trim();
+    if ("".equals(petName)) {
+      throw error("Expected pet name");
+    }
+
+    // 4. spaces
+    int totalSpaces = readCount("number of spaces");
+    if (totalSpaces == 0) {
+      throw error("There should be at least 1 space");
+    }
+    int[] spaceCoords = new int[totalSpaces * 4];
+    String[] spaceNames = new String[totalSpaces];
+    for (int i = 0; i < totalSpaces; i++) {
+      spaceCoords[i * 4] = readInt("upper left row of space " + i);
+      spaceCoords[i * 4 + 1] = readInt("upper left column of space " + i);
+      spaceCoords[i * 4 + 2] = readInt("lower right row of space " + i);
+      spaceCoords[i * 4 + 3] = readInt("lower right column of space " + i);
+      spaceNames[i] = readName("name of space " + i);
+    }
+
+    // 5. items, read until the end of the file and compare with the stated number
+    int totalItems = readCount("number of items");
+    if (totalItems == 0) {
+      throw error("There should be at least 1 item");
+    }
+    int[] itemSpaceIds = new int[totalItems];
+    int[] itemDamages = new int[totalItems];
+    String[] itemNames = new String[totalItems];
+    int itemId = 0;
+    while (skipWhitespace()) {
+      if (itemId == totalItems) {
+        throw error(new StringBuilder("Actual total items ")
+            .append("stated and the given number does not match").toString());
+      }
+      itemSpaceIds[itemId] = readInt("room index of item " + itemId);
+      itemDamages[itemId] = readInt("damage point of item " + itemId);
+      itemNames[itemId] = readName("name of item " + itemId);
+      itemId++;
+    }
+    if (itemId != totalItems) {
+      throw error(new StringBuilder("Actual total items ")
+          .append("stated and the given number does not match").toString());
+    }
+
+    return new WorldSpec(rows, cols, name, targetHealth, targetName, petName,
+        spaceCoords, spaceNames, itemSpaceIds, itemDamages, itemNames);
+  }
+
+  /* ********************Helper Methods ****************************/
+
+  /**
+   * Skip spaces, tabs and line breaks.
+   * @return true if there are characters left after the whitespace
+   */
+  private boolean skipWhitespace() {
+    while (pos < length && isWhitespace(text.charAt(pos))) {
+      pos++;
+    }
+    return pos < length;
+  }
+
+  /**
+   * Read a whitespace separated integer, which may span over line breaks.
+   * @param what the description of the field for the error message
+   * @return the integer
+   * @throws IllegalArgumentException if there is no integer at the current position
+   */
+  private int readInt(String what) throws IllegalArgumentException {
+    if (!skipWhitespace()) {
+      throw error("Expected " + what + " but reached the end of the specification");
+    }
+    int start = pos;
+    boolean negative = false;
+    char c = text.charAt(pos);
+    if (c == '-' || c == '+') {
+      negative = c == '-';
+      pos++;
+    }
+    long value = 0;
+    int digits = 0;
+    while (pos < length) {
+      c = text.charAt(pos);
+      if (c < '0' || c > '9') {
+        break;
+      }
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE) {
+        pos = start;
+        throw error("Number is too large for " + what);
+      }
+      pos++;
+      digits++;
+    }
+    if (digits == 0 || (pos < length && !isWhitespace(text.charAt(pos)))) {
+      pos = start;
+      throw error("Expected " + what + " to be an integer");
+    }
+    return (int) (negative ? -value : value);
+  }
+
+  /**
+   * Read a non negative count that the rest of the specification has to fit.
+   * @param what the description of the field for the error message
+   * @return the count
+   * @throws IllegalArgumentException if the count is negative or larger than the input
+   */
+  private int readCount(String what) throws IllegalArgumentException {
+    int start = pos;
+    int count = readInt(what);
+    if (count < 0 || count > length - pos) {
+      pos = start;
+      skipWhitespace();
+      throw error("Invalid " + what + ": " + count);
+    }
+    return count;
+  }
+
+  /**
+   * Read the name at the end of the current line.
+   * @param what the description of the field for the error message
+   * @return the name
+   * @throws IllegalArgumentException if the name is empty
+   */
+  private String readName(String what) throws IllegalArgumentException {
+    String name = readRestOfLine().trim();
+    if ("".equals(name)) {
+      throw error("Expected " + what);
+    }
+    return name;
+  }
+
+  /**
+   * Read the rest of the current line, skipping the blanks in front of it.
+   * @return the rest of the line without its line break
+   */
+  private String readRestOfLine() {
+    while (pos < length && (text.charAt(pos) == ' ' || text.charAt(pos) == '\t')) {
+      pos++;
+    }
+    return readLine();
+  }
+
+  /**
+   * Read from the current position to the end of the line and move past the line break.
+   * @return the line without its line break
+   */
+  private String readLine() {
+    int start = pos;
+    while (pos < length && text.charAt(pos) != '\n') {
+      pos++;
+    }
+    int end = pos;
+    if (end > start && text.charAt(end - 1) == '\r') {
+      end--;
+    }
+    if (pos < length) {
+      pos++; // line break
+    }
+    return text.subSequence(start, end).toString();
+  }
+
+  /**
+   * Check if a character separates tokens.
+   * @param c the character to check
+   * @return true if it's a whitespace character
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+  }
+
+  /**
+   * Create an exception that points at the current position.
+   * The line and column are only worked out when there is an error.
+   * @param message the problem
+   * @return the exception to throw
+   */
+  private IllegalArgumentException error(String message) {
+    int line = 1;
+    int column = 1;
+    int end = Math.min(pos, length);
+    for (int i = 0; i < end; i++) {
+      if (text.charAt(i) == '\n') {
+        line++;
+        column = 1;
+      } else {
+        column++;
+      }
+    }
+    return new IllegalArgumentException(new StringBuilder("Line ").append(line)
+        .append(", column ").append(column).append(": ").append(message).toString());
+  }
+
+  /**
+   * A read only view of bytes as characters, so a mapped file can be parsed in place.
+   */
+  private static final class ByteChars implements CharSequence {
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    private ByteChars(ByteBuffer bytes) {
+      this(bytes, 0, bytes.limit());
+    }
+
+    private ByteChars(ByteBuffer bytes, int offset, int length) {
+      this.bytes = bytes;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) (bytes.get(offset + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new ByteChars(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      char[] chars = new char[length];
+      for (int i = 0; i < length; i++) {
+        chars[i] = charAt(i);
+      }
+      return new String(chars);
+    }
+  }
+}
@@ -0,0 +1,666 @@
+package world.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import world.model.WorldLoadReport.Phase;
+import world.model.WorldLoadReport.Stopwatch;
+
+/**
+ * The part of a world that does not change while a game is played: the rooms and
+ * their coordinates, which rooms are neighbors, the items and where they start, and
+ * the tour the pet takes from the first room.
+ * A topology is immutable, apart from handing out the report of how it was built,
+ * so any number of games can share one. Everything a game changes, such as who is in
+ * which room and who holds which item, is kept in the {@link GameState} of that game.
+ *
+ * <p>Once the spaces and items of a text world are validated, the neighbor table and
+ * the pet tour are worked out on the common {@link java.util.concurrent.ForkJoinPool}
+ * while the caller goes on with work that does not need them, such as setting up a
+ * game and drawing its map, and they are waited for the first time they are used,
+ * for example when a player or the pet first moves.
+ */
+public final class WorldTopology {
+  private final String name;
+  private final RowCol size;
+  private final String targetName;
+  private final int targetHealth;
+  private final String petName;
+  private final String[] spaceNames;
+  private final RowCol[] upLefts;
+  private final RowCol[] lowRights;
+  private final ForkJoinTask<SpaceAdjacency> adjacency;
+  private final List<Item> items;
+  private final int[] itemSpaceIds;
+  private final Map<String, Integer> spaceIdsByName;
+  private final Map<String, Integer> itemIdsByLabel;
+  private final ForkJoinTask<int[]> petTour;
+  private final AtomicReference<WorldLoadReport> buildReport;
+  private volatile DistanceOracle distances;
+  private volatile PetTourCache petTours;
+
+  /**
+   * Constructs a topology by validating a world specification.
+   * @param spec the world specification
+   * @param report the report to record the phases of building the topology in
+   * @param previous the topology spec is an edit of, or null
+   * @throws IllegalArgumentException if the specification is not a valid world
+   */
+  private WorldTopology(WorldSpec spec, WorldLoadReport report, WorldTopology previous)
+      throws IllegalArgumentException {
+    this.buildReport = new AtomicReference<>(report);
+    Stopwatch validation = WorldLoadReport.start();
+
+    // 1. Get world, target and pet
+    this.name = spec.getName();
+    this.size = new RowCol(spec.getRows(), spec.getCols());
+    this.targetName = spec.getTargetName();
+    this.targetHealth = spec.getTargetHealth();
+    this.petName = spec.getPetName();
+    if (targetName == null || "".equals(targetName)) {
+      throw new IllegalArgumentException("Name of the target character cannot be empty");
+    } else if (targetHealth <= 0) {
+      throw new IllegalArgumentException(
+              new StringBuilder("The initial health of the target ")
+                      .append("character cannot be less than 1")
+                      .toString());
+    } else if (petName == null || "".equals(petName)) {
+      throw new IllegalArgumentException("name and space cannot be empty when initializing a pet");
+    }
+
+    // 2. Get space
+    int totalSpaces = spec.getSpaceCount();
+    this.spaceNames = new String[totalSpaces];
+    this.upLefts = new RowCol[totalSpaces];
+    this.lowRights = new RowCol[totalSpaces];
+    Set<String> usedNames = new HashSet<>();
+    Set<List<RowCol>> usedCoords = new HashSet<>();
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      addSpace(spec, spaceId, usedNames, usedCoords);
+    }
+
+    // 3. Get item
+    List<Item> itemList = new ArrayList<>(spec.getItemCount());
+    this.itemSpaceIds = new int[spec.getItemCount()];
+    for (int itemId = 0; itemId < spec.getItemCount(); itemId++) {
+      itemList.add(createItem(spec, itemId, totalSpaces));
+      itemSpaceIds[itemId] = spec.getItemSpaceId(itemId);
+    }
+    this.items = Collections.unmodifiableList(itemList);
+
+    // 4. index the spaces by name and the items by the label they are listed with
+    this.spaceIdsByName = new HashMap<>(totalSpaces * 2);
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      spaceIdsByName.put(spaceNames[spaceId], spaceId);
+    }
+    this.itemIdsByLabel = new HashMap<>(itemList.size() * 2 + 2);
+    itemIdsByLabel.put(DefaultPlayer.EYE_POKE_LABEL, -1);
+    for (Item item : itemList) {
+      itemIdsByLabel.put(itemLabel(item), item.getItemId());
+    }
+
+    // 5. a compiled world already has its neighbors and pet tour, a text world has
+    // them worked out in the background
+    if (spec.isCompiled()) {
+      // the table checks its neighbors are its spaces in ascending order
+      SpaceAdjacency compiled = spec.getAdjacency();
+      if (compiled.getSpaceCount() != totalSpaces) {
+        throw new IllegalArgumentException("Neighbor table does not match the spaces");
+      }
+      int[] tour = new int[spec.getPetTourLength()];
+      if (tour.length == 0) {
+        throw new IllegalArgumentException("Compiled pet tour is empty");
+      }
+      for (int i = 0; i < tour.length; i++) {
+        tour[i] = spec.getPetTourStop(i);
+        validateSpaceId(tour[i], totalSpaces);
+        // going on to a new space and going back the way it came are both to a neighbor
+        if (i > 0 && !compiled.isNeighbor(tour[i - 1], tour[i])) {
+          throw new IllegalArgumentException(
+              "Compiled pet tour goes between spaces that are not neighbors");
+        }
+      }
+      if (tour[0] != 0) {
+        throw new IllegalArgumentException("Compiled pet tour does not start in space 0");
+      }
+      this.adjacency = completedTask(compiled);
+      this.petTour = completedTask(tour);
+      validation.stop(report, Phase.VALIDATE);
+    } else {
+      validation.stop(report, Phase.VALIDATE);
+      boolean[] changed = previous == null ? null : changedSpaces(previous);
+      this.adjacency = ForkJoinTask.adapt(() -> {
+        Stopwatch sweep = WorldLoadReport.start();
+        SpaceAdjacency table = changed == null ? SpaceAdjacency.fromSpec(spec)
+            : SpaceAdjacency.update(previous.getAdjacency(), spec, changed);
+        sweep.stop(report, Phase.ADJACENCY);
+        return table;
+      }).fork();
+      this.petTour = ForkJoinTask.adapt(() -> {
+        SpaceAdjacency table = getAdjacency();
+        Stopwatch search = WorldLoadReport.start();
+        int[] tour = new PetTourBuilder(table).build(0);
+        search.stop(report, Phase.PET_TOUR);
+        return tour;
+      }).fork();
+    }
+  }
+
+  /**
+   * Validate a world specification and build its topology.
+   * @param spec the world specification
+   * @return the topology of the world
+   * @throws IllegalArgumentException if spec is null or it is not a valid world
+   */
+  public static WorldTopology fromSpec(WorldSpec spec) throws IllegalArgumentException {
+    return fromSpec(spec, new WorldLoadReport());
+  }
+
+  /**
+   * Validate a world specification and build its topology, recording the phases of
+   * the build in a report.
+   * @param spec the world specification
+   * @param report the report, which may already have the parsing of spec
+   * @return the topology of the world
+   * @throws IllegalArgumentException if spec is null or it is not a valid world
+   */
+  static WorldTopology fromSpec(WorldSpec spec, WorldLoadReport report)
+      throws IllegalArgumentException {
+    return fromSpec(spec, report, null);
+  }
+
+  /**
+   * Validate an edited world specification and build its topology, keeping the
+   * neighbors of the spaces that were not edited from the topology before the edit.
+   * @param spec the world specification
+   * @param report the report, which may already have the parsing of spec
+   * @param previous the topology before the edit, or null to build everything
+   * @return the topology of the world
+   * @throws IllegalArgumentException if spec is null or it is not a valid world
+   */
+  static WorldTopology fromSpec(WorldSpec spec, WorldLoadReport report,
+      WorldTopology previous) throws IllegalArgumentException {
+    if (spec == null) {
+      throw new IllegalArgumentException("World specification cannot be null.\n");
+    }
+    return new WorldTopology(spec, report, previous);
+  }
+
+  /**
+   * Parse a text world specification and build its topology.
+   * @param file the readable text world specification
+   * @return the topology of the world
+   * @throws IllegalArgumentException if file is null or it is not a valid world
+   */
+  public static WorldTopology fromReadable(Readable file) throws IllegalArgumentException {
+    WorldLoadReport report = new WorldLoadReport();
+    Stopwatch parsing = WorldLoadReport.start();
+    WorldSpec spec = WorldSpecParser.fromReadable(file).parse();
+    parsing.stop(report, Phase.PARSE);
+    return fromSpec(spec, report);
+  }
+
+  /**
+   * Getter for the name of the world.
+   * @return the name of the world
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Getter for the number of rows and columns of the world.
+   * @return the size of the world
+   */
+  public RowCol getSize() {
+    return new RowCol(size.getRow(), size.getCol());
+  }
+
+  /**
+   * Getter for the number of spaces.
+   * @return the number of spaces
+   */
+  public int getSpaceCount() {
+    return this.spaceNames.length;
+  }
+
+  /**
+   * Getter for the number of items.
+   * @return the number of items
+   */
+  public int getItemCount() {
+    return this.items.size();
+  }
+
+  /**
+   * Getter for the distances between the spaces. They are worked out the first time
+   * they are asked for and kept with the topology, so all the games on it share them.
+   * @return the distances between the spaces
+   */
+  public DistanceOracle getDistances() {
+    DistanceOracle oracle = this.distances;
+    if (oracle == null) {
+      synchronized (this) {
+        oracle = this.distances;
+        if (oracle == null) {
+          oracle = new DistanceOracle(getAdjacency());
+          this.distances = oracle;
+        }
+      }
+    }
+    return oracle;
+  }
+
+  /**
+   * Getter for the name of the target.
+   * @return the name of the target
+   */
+  String getTargetName() {
+    return this.targetName;
+  }
+
+  /**
+   * Getter for the initial health of the target.
+   * @return the health of the target
+   */
+  int getTargetHealth() {
+    return this.targetHealth;
+  }
+
+  /**
+   * Getter for the name of the pet.
+   * @return the name of the pet
+   */
+  String getPetName() {
+    return this.petName;
+  }
+
+  /**
+   * Getter for the name of a space.
+   * @param spaceId the id of the space
+   * @return the name of the space
+   */
+  String getSpaceName(int spaceId) {
+    return this.spaceNames[spaceId];
+  }
+
+  /**
+   * Getter for the names of all the spaces in id order.
+   * @return the names of the spaces
+   */
+  List<String> getSpaceNames() {
+    return Collections.unmodifiableList(Arrays.asList(spaceNames));
+  }
+
+  /**
+   * Getter for the id of a space from its name.
+   * @param spaceName the name of the space
+   * @return the id of the space, or -1 if no space has the name
+   */
+  int getSpaceId(String spaceName) {
+    Integer spaceId = spaceIdsByName.get(spaceName);
+    return spaceId == null ? -1 : spaceId;
+  }
+
+  /**
+   * Getter for the id of an item from the label it is listed with, which is its id
+   * and name the way {@link Space#getItemsAsString()} lists them. The poke in the eye
+   * a player can always kill with is listed as an item with id -1.
+   * @param label the label of the item
+   * @return the id of the item, or null if no item has the label
+   */
+  Integer getItemId(String label) {
+    return itemIdsByLabel.get(label);
+  }
+
+  /**
+   * Util for the label an item is listed with.
+   * @param item the item
+   * @return the id and name of the item
+   */
+  private static String itemLabel(Item item) {
+    return new StringBuilder().append(item.getItemId()).append(".").append(item.getName())
+        .toString();
+  }
+
+  /**
+   * Getter for the upper left coordinates of a space.
+   * @param spaceId the id of the space
+   * @return the upper left coordinates
+   */
+  RowCol getUpLeft(int spaceId) {
+    return this.upLefts[spaceId];
+  }
+
+  /**
+   * Getter for the lower right coordinates of a space.
+   * @param spaceId the id of the space
+   * @return the lower right coordinates
+   */
+  RowCol getLowRight(int spaceId) {
+    return this.lowRights[spaceId];
+  }
+
+  /**
+   * Getter for the neighbor table of the spaces, waiting for it if it is still
+   * being worked out.
+   * @return the neighbor table
+   */
+  SpaceAdjacency getAdjacency() {
+    return this.adjacency.join();
+  }
+
+  /**
+   * Getter for the items of the world. Items do not change so games share them.
+   * @return the items in id order
+   */
+  List<Item> getItems() {
+    return this.items;
+  }
+
+  /**
+   * Getter for the id of the space an item starts in.
+   * @param itemId the id of the item
+   * @return the id of the space
+   */
+  int getItemSpaceId(int itemId) {
+    return this.itemSpaceIds[itemId];
+  }
+
+  /**
+   * Getter for the tour the pet takes when it starts in the first space, waiting for
+   * it if it is still being worked out. The tour is shared, so it must not be changed.
+   * @return the space ids the pet visits
+   */
+  int[] getPetTour() {
+    return petTour.join();
+  }
+
+  /**
+   * Take the report of how this topology was built, without waiting for it. The
+   * neighbor table and the pet tour record their phases in it when they are worked
+   * out, so wait for them with {@link #getAdjacency()} and {@link #getPetTour()}
+   * before reading it. Only the first game on the topology gets the report, since the
+   * games after it do not build anything.
+   * @return the report, or null if it has already been taken
+   */
+  WorldLoadReport takeBuildReport() {
+    return buildReport.getAndSet(null);
+  }
+
+  /**
+   * Create the spaces of a new game. The spaces have the starting items, and their
+   * neighbor lists are read only views over the neighbor table of this topology
+   * instead of copies of it, so creating them does not wait for the table. The spaces
+   * share one {@link SpaceOccupancy} that they keep up to date as players and the pet
+   * move.
+   * @return the spaces in id order
+   */
+  public List<Space> createSpaces() {
+    List<Space> spaces = new ArrayList<>(spaceNames.length);
+    SpaceOccupancy occupancy = new SpaceOccupancy(spaceNames.length, this::getAdjacency);
+    for (int spaceId = 0; spaceId < spaceNames.length; spaceId++) {
+      final int id = spaceId;
+      List<Space> neighbors = new AbstractList<Space>() {
+        @Override
+        public Space get(int index) {
+          return spaces.get(getAdjacency().getNeighbor(id, index));
+        }
+
+        @Override
+        public int size() {
+          return getAdjacency().getNeighborCount(id);
+        }
+      };
+      spaces.add(new DefaultSpace(spaceId, spaceNames[spaceId], upLefts[spaceId],
+          lowRights[spaceId], neighbors, this::getAdjacency, occupancy, items));
+    }
+
+    // add the items to the space they start in
+    for (Item item : items) {
+      spaces.get(itemSpaceIds[item.getItemId()]).addItem(item);
+    }
+    return spaces;
+  }
+
+  /**
+   * Getter for the tour of the pet from a space: a depth first search that goes back
+   * the way it came when a space has no unvisited neighbor, and that ends when
+   * all the spaces that can be reached have been visited. The tours are kept with the
+   * topology, so all the games on it share them and they must not be changed.
+   * @param startId the id of the space the pet is in
+   * @return the space ids the pet visits, starting with startId
+   * @throws IllegalArgumentException if startId is not a space of the world
+   */
+  int[] getPetTour(int startId) throws IllegalArgumentException {
+    validateSpaceId(startId, spaceNames.length);
+    if (startId == 0) {
+      return getPetTour();
+    }
+    PetTourCache cache = this.petTours;
+    if (cache == null) {
+      synchronized (this) {
+        cache = this.petTours;
+        if (cache == null) {
+          cache = new PetTourCache(getAdjacency(), PetTourCache.MAX_STOPS);
+          this.petTours = cache;
+        }
+      }
+    }
+    return cache.get(startId);
+  }
+
+  /**
+   * Build the specification of this topology for a compiled world file.
+   * The names are the validated ones, and the neighbor table and the pet tour
+   * are included so they do not have to be worked out again.
+   * @return the compiled world specification
+   */
+  WorldSpec toCompiledSpec() {
+    SpaceAdjacency adjacency = getAdjacency();
+    int totalSpaces = spaceNames.length;
+    int[] spaceCoords = new int[totalSpaces * 4];
+    int[] neighborOffsets = new int[totalSpaces + 1];
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      spaceCoords[spaceId * 4] = upLefts[spaceId].getRow();
+      spaceCoords[spaceId * 4 + 1] = upLefts[spaceId].getCol();
+      spaceCoords[spaceId * 4 + 2] = lowRights[spaceId].getRow();
+      spaceCoords[spaceId * 4 + 3] = lowRights[spaceId].getCol();
+      neighborOffsets[spaceId + 1] = neighborOffsets[spaceId]
+          + adjacency.getNeighborCount(spaceId);
+    }
+    int[] neighborIds = new int[neighborOffsets[totalSpaces]];
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      for (int i = 0; i < adjacency.getNeighborCount(spaceId); i++) {
+        neighborIds[neighborOffsets[spaceId] + i] = adjacency.getNeighbor(spaceId, i);
+      }
+    }
+
+    int[] itemDamages = new int[items.size()];
+    String[] itemNames = new String[items.size()];
+    for (Item item : items) {
+      itemDamages[item.getItemId()] = item.getDamagePoint();
+      itemNames[item.getItemId()] = item.getName();
+    }
+
+    return new WorldSpec(size.getRow(), size.getCol(), name, targetHealth, targetName,
+        petName, spaceCoords, spaceNames.clone(), itemSpaceIds.clone(), itemDamages,
+        itemNames, neighborOffsets, neighborIds, petTour.join().clone());
+  }
+
+  /**
+   * Validate a space from the parsed specification and store its name and coordinates.
+   *
+   * @param spec       the parsed world specification
+   * @param spaceId    the id of the space
+   * @param usedNames  the names of the spaces added so far
+   * @param usedCoords the coordinates of the spaces added so far
+   * @throws IllegalArgumentException if the space name or coordinates are duplicates,
+   *                                  or the coordinates are not a valid rectangle
+   */
+  private void addSpace(WorldSpec spec, int spaceId, Set<String> usedNames,
+      Set<List<RowCol>> usedCoords) throws IllegalArgumentException {
+    // 1. Initialize coordinates and name, names of a compiled world are already
+    // capitalized
+    RowCol upLeft = new RowCol(spec.getUpLeftRow(spaceId), spec.getUpLeftCol(spaceId));
+    RowCol lowRight = new RowCol(spec.getLowRightRow(spaceId), spec.getLowRightCol(spaceId));
+    String spaceName = spec.isCompiled() ? spec.getSpaceName(spaceId)
+        : capitalizeName(spec.getSpaceName(spaceId));
+
+    // 2. Check name uniqueness
+    if (!usedNames.add(spaceName)) {
+      throw new IllegalArgumentException("There are duplicate space names");
+    }
+
+    // 3. Check for existing duplicate rowCol
+    if (!usedCoords.add(Arrays.asList(upLeft, lowRight))) {
+      throw new IllegalArgumentException(
+              new StringBuilder("Duplicate coordinates")
+                      .append(" for when adding space to list")
+                      .toString());
+    }
+
+    // 4. Check the rectangle the same way a space does
+    if ((upLeft.getRow() >= lowRight.getRow()) || (upLeft.getCol() >= lowRight.getCol())) {
+      throw new IllegalArgumentException(
+              new StringBuilder("Upper left row or column should be strictly")
+                      .append("smaller than lower right's row or column.")
+                      .toString());
+    }
+
+    spaceNames[spaceId] = spaceName;
+    upLefts[spaceId] = upLeft;
+    lowRights[spaceId] = lowRight;
+  }
+
+  /**
+   * Create an item from the parsed specification.
+   *
+   * @param spec       the parsed world specification
+   * @param itemId     the id of the item
+   * @param totalSpace the size of the space in world
+   * @return the item
+   * @throws IllegalArgumentException if the room of the item does not exist or its
+   *                                  name is not valid
+   */
+  private Item createItem(WorldSpec spec, int itemId, int totalSpace)
+      throws IllegalArgumentException {
+    // 1. Get fields for items
+    int spaceId = spec.getItemSpaceId(itemId);
+    if (spaceId < 0 || spaceId >= totalSpace) {
+      throw new IllegalArgumentException(
+              new StringBuilder("Room index of the item should not be negative ")
+                      .append("and be less than the total number of space")
+                      .toString());
+    }
+
+    // 2. Check name validity, names of a compiled world are already validated
+    String itemName = spec.getItemName(itemId);
+    if (!spec.isCompiled()) {
+      itemName = capitalizeName(itemName);
+      isAlphaNumeric(itemName);
+    }
+
+    // 3. Instantiate item object
+    return new DefaultItem(itemName, itemId, spec.getItemDamage(itemId));
+  }
+
+  /**
+   * This helper method capitalizes the names.
+   * @param name to be changed.
+   * @return captilized string.
+   * @throws IllegalArgumentException if there is problem with the name string.
+   */
+  private static String capitalizeName(String name) throws IllegalArgumentException {
+    if (name == null || "".equals(name)) {
+      throw new IllegalArgumentException("name arguments cannot be empty");
+    }
+    StringBuffer capitalized = new StringBuffer();
+
+    String[] fullName = name.split(" ");
+    for (String word : fullName) {
+      char[] trimmedWord = word.trim().toCharArray();
+      trimmedWord[0] = Character.toUpperCase(trimmedWord[0]);
+      word = new String(trimmedWord);
+      capitalized.append(word).append(" ");
+
+    }
+    return capitalized.toString().trim();
+  }
+
+  /**
+   * Check if a given name (world, space, or item) is alphanumeric only or
+   * contains apostrophe.
+   *
+   * @param name the name to be checked if it's valid
+   */
+  private static boolean isAlphaNumeric(String name) throws IllegalArgumentException {
+    // 1. Check for alphanumeric character's name
+    if (name == null || !(name.matches("^[a-zA-Z0-9' ]*$"))) {
+      throw new IllegalArgumentException(
+              new StringBuilder("Target's name should contain")
+                      .append("alphanumeric characters and apostrophe only.")
+                      .toString());
+    }
+    return true;
+  }
+
+  /**
+   * Find the spaces that are new or were moved since a previous topology. When most
+   * of them were, finding all the neighbors again is quicker, so none are returned.
+   * @param previous the topology before the edit
+   * @return for each space, true if it is new or its coordinates changed, or null if
+   *         more than a quarter of the spaces changed
+   */
+  private boolean[] changedSpaces(WorldTopology previous) {
+    boolean[] changed = new boolean[spaceNames.length];
+    int changedCount = 0;
+    for (int spaceId = 0; spaceId < spaceNames.length; spaceId++) {
+      changed[spaceId] = spaceId >= previous.getSpaceCount()
+          || !upLefts[spaceId].equals(previous.getUpLeft(spaceId))
+          || !lowRights[spaceId].equals(previous.getLowRight(spaceId));
+      if (changed[spaceId]) {
+        changedCount++;
+      }
+    }
+    return changedCount > spaceNames.length / 4 ? null : changed;
+  }
+
+  /**
+   * Wrap a value that is already known in a task, so it is read the same way as the
+   * ones worked out in the background.
+   * @param value the value
+   * @return a task that has completed with the value
+   */
+  private static <T> ForkJoinTask<T> completedTask(T value) {
+    ForkJoinTask<T> task = ForkJoinTask.adapt(() -> value);
+    task.invoke();
+    return task;
+  }
+
+  /**
+   * Util for validating spaceId argument.
+   *
+   * @param spaceId the spaceId to be validated
+   * @param totalSpace the number of spaces
+   * @throws IllegalArgumentException if spaceId is greater than the size of
+   *                                  spaces or if it's negative
+   */
+  private static void validateSpaceId(int spaceId, int totalSpace)
+      throws IllegalArgumentException {
+    if (spaceId < 0 || spaceId >= totalSpace) {
+      throw new IllegalArgumentException(
+              new StringBuilder("Space index entered cannot be ")
+                      .append("negative or greater than total space size")
+                      .toString());
+    }
+  }
+}
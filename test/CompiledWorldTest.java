@@ -0,0 +1,248 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.CompiledWorldLoader;
+import world.model.DefaultWorld;
+import world.model.World;
+import world.model.WorldCompiler;
+import world.model.WorldTopology;
+
+/**
+ * Test class for compiling a world to a binary file and loading it back.
+ */
+public class CompiledWorldTest {
+  private String disnu;
+
+  /**
+   * Instantiate the specification used by the tests.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+  }
+
+  @Test
+  public void testCompiledWorldMatchesTextWorld() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      WorldCompiler.compile(new StringReader(disnu), file);
+      World compiled = new DefaultWorld(CompiledWorldLoader.load(file),
+          new MockRandomIntGenerator(2), 22, true);
+      World text = new DefaultWorld(new StringReader(disnu),
+          new MockRandomIntGenerator(2), 22, true);
+
+      assertEquals(text.toString(), compiled.toString());
+      for (int i = 0; i < 4; i++) {
+        assertEquals(text.getSpaceInfo(i), compiled.getSpaceInfo(i));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testCompiledWorldPetTour() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      WorldCompiler.compile(new StringReader(disnu), file);
+      World compiled = new DefaultWorld(CompiledWorldLoader.load(file),
+          new MockRandomIntGenerator(2), 22, true);
+      World text = new DefaultWorld(new StringReader(disnu),
+          new MockRandomIntGenerator(2), 22, true);
+      compiled.addHumanPlayer("sherly", 0);
+      text.addHumanPlayer("sherly", 0);
+      compiled.startTheGame();
+      text.startTheGame();
+
+      for (int turn = 0; turn < 6; turn++) {
+        compiled.makeHumanLook();
+        text.makeHumanLook();
+        for (int i = 0; i < 4; i++) {
+          assertEquals(text.getSpaceInfo(i), compiled.getSpaceInfo(i));
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadTextFileAsCompiled() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      Files.write(file, disnu.getBytes("US-ASCII"));
+      CompiledWorldLoader.load(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompileInvalidWorld() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      WorldCompiler.compile(new StringReader(disnu.replace(" 0  0  2  2 Zombie VR",
+          " 3  1  5  2 Zombie VR")), file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Compile the test world and change the pet tour at the end of the file.
+   * @param file the file to compile to
+   * @param stops the stops of the changed tour
+   * @throws IOException if the file cannot be read or written
+   */
+  protected void corruptPetTourHelper(Path file, int... stops) throws IOException {
+    WorldCompiler.compile(new StringReader(disnu), file);
+    byte[] bytes = Files.readAllBytes(file);
+
+    // the tour of the test world has 6 stops, after its length
+    ByteBuffer tour = ByteBuffer.allocate((stops.length + 1) * 4);
+    tour.putInt(stops.length);
+    for (int stop : stops) {
+      tour.putInt(stop);
+    }
+    byte[] corrupt = Arrays.copyOf(bytes, bytes.length - 7 * 4 + tour.capacity());
+    System.arraycopy(tour.array(), 0, corrupt, bytes.length - 7 * 4, tour.capacity());
+    Files.write(file, corrupt);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyPetTour() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      corruptPetTourHelper(file);
+      WorldTopology.fromSpec(CompiledWorldLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPetTourStopNotInWorld() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      corruptPetTourHelper(file, 0, 2, 7, 2, 0, 3);
+      WorldTopology.fromSpec(CompiledWorldLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testValidPetTourLoads() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      corruptPetTourHelper(file, 0, 2, 1, 2, 0, 3);
+      assertEquals(4, WorldTopology.fromSpec(CompiledWorldLoader.load(file)).getSpaceCount());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Change the first run of bytes in a compiled file that matches some bytes.
+   * @param file the compiled file
+   * @param from the bytes to change
+   * @param to the bytes to change them to, the same length as from
+   * @throws IOException if the file cannot be read or written
+   */
+  protected void replaceBytesHelper(Path file, byte[] from, byte[] to) throws IOException {
+    byte[] bytes = Files.readAllBytes(file);
+    for (int start = 0; start + from.length <= bytes.length; start++) {
+      if (Arrays.equals(from, Arrays.copyOfRange(bytes, start, start + from.length))) {
+        System.arraycopy(to, 0, bytes, start, to.length);
+        Files.write(file, bytes);
+        return;
+      }
+    }
+    throw new IllegalStateException("The compiled file does not have the bytes to change");
+  }
+
+  /**
+   * Get the bytes a compiled file stores some ints as.
+   * @param values the ints
+   * @return the bytes of the ints
+   */
+  protected byte[] intsHelper(int... values) {
+    ByteBuffer bytes = ByteBuffer.allocate(values.length * 4);
+    for (int value : values) {
+      bytes.putInt(value);
+    }
+    return bytes.array();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompiledDuplicateSpaceNames() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      WorldCompiler.compile(new StringReader(disnu.replace("Zombie VR", "Archery Rangx")),
+          file);
+      replaceBytesHelper(file, "Archery Rangx".getBytes("US-ASCII"),
+          "Archery Range".getBytes("US-ASCII"));
+      WorldTopology.fromSpec(CompiledWorldLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompiledDuplicateSpaceCoordinates() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      WorldCompiler.compile(new StringReader(disnu), file);
+      // Zombie VR takes the coordinates of Archery Range
+      replaceBytesHelper(file, intsHelper(0, 0, 2, 2), intsHelper(3, 1, 5, 2));
+      WorldTopology.fromSpec(CompiledWorldLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPetTourSkipsNeighbors() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      // West Village H and Cabot Testing Center are not neighbors
+      corruptPetTourHelper(file, 0, 2, 1, 3, 0, 3);
+      WorldTopology.fromSpec(CompiledWorldLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNeighborsOutOfOrder() throws IOException {
+    Path file = Files.createTempFile("disnu", ".dlw");
+    try {
+      WorldCompiler.compile(new StringReader(disnu), file);
+      // the neighbors of Archery Range, Zombie VR and Cabot Testing Center, come right
+      // after the last of the neighbor offsets
+      replaceBytesHelper(file, intsHelper(6, 2, 3), intsHelper(6, 3, 2));
+      WorldTopology.fromSpec(CompiledWorldLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -42,8 +42,8 @@ public class CpuTest {
    * CPU object.
    * @return the CPU object
    */
-  protected Cpu cpuHelper(RandomIntGenerator ranGen, Space space)  {
-    return new DefaultCpu(ranGen, space);
+  protected Cpu cpuHelper(int playerId, RandomIntGenerator ranGen, Space space)  {
+    return new DefaultCpu(playerId, ranGen, space);
   }
   
   /**
@@ -87,12 +87,13 @@ public class CpuTest {
   /**
    * This method is providing short-hand way of creating instances of a new
    * Player object.
+   * @param playerId the id of the player
    * @param name the name of the item.
    * @param spaceName the name of the space it chose
    * @return the Player object
    */
-  protected Player playerHelper(String name, Space space, int maxItem) {
-    return new DefaultPlayer(name, space, maxItem);
+  protected Player playerHelper(int playerId, String name, Space space, int maxItem) {
+    return new DefaultPlayer(playerId, name, space, maxItem);
   }
   
   /**
@@ -163,7 +164,7 @@ public class CpuTest {
   @Test
   public void testConstructor() {
     // initialize controller, player starts in archery
-    cpu = cpuHelper(ranGen, archery); 
+    cpu = cpuHelper(1, ranGen, archery); 
 
     // 1. valid controller
     StringBuilder s = new StringBuilder();
@@ -181,9 +182,9 @@ public class CpuTest {
         0, 1, 2, 3, 4,  // name is abcde
         0, // Action1: move to neighbor 
         0); // Argument1: neighbor set index ( neighbor in the set
-    cpu = cpuHelper(ranGen, archery);
+    cpu = cpuHelper(1, ranGen, archery);
     
-    playerHelper("sherly", archery, 2); // add other player so it won't kill
+    playerHelper(0, "sherly", archery, 2); // add other player so it won't kill
     String actual = cpu.takeCpuTurnCommand(target, cat, westVillage); // move to first neighbour
     String expected = "CPU_abcde have moved to Zombie VR";
     assertEquals(expected, actual);
@@ -191,8 +192,8 @@ public class CpuTest {
   
   @Test
   public void testMoveSecondNeighborCommand() {
-    cpu = cpuHelper(ranGen, archery); 
-    playerHelper("sherly", archery, 2);  // add other player so it won't kill
+    cpu = cpuHelper(1, ranGen, archery); 
+    playerHelper(0, "sherly", archery, 2);  // add other player so it won't kill
     String actual = cpu.takeCpuTurnCommand(target, cat, westVillage); // move to second neighbour
     
     String expected = "CPU_abcde have moved to Cabot Testing";
@@ -207,8 +208,8 @@ public class CpuTest {
         0, 1, 2, 3, 4,  // name is abcde
         1 // Action1: LookAround
         ); 
-    cpu = cpuHelper(ranGen, archery);
-    playerHelper("sherly", archery, 2); // add other player so it won't kill
+    cpu = cpuHelper(1, ranGen, archery);
+    playerHelper(0, "sherly", archery, 2); // add other player so it won't kill
     String actual = cpu.takeCpuTurnCommand(target, cat, westVillage); //pickup second item
     String expected = "CPU_abcde have looked around.";
     assertEquals(expected, actual);
@@ -219,7 +220,7 @@ public class CpuTest {
   public void testMovePetCommand() {
     
     // 1. add player so it wont kill
-    playerHelper("Sherly", cabotTesting, 4);
+    playerHelper(0, "Sherly", cabotTesting, 4);
     
     // 2. make cou pick item and move to archery.
     ranGen = randomIntGenHelper(
@@ -227,7 +228,7 @@ public class CpuTest {
         0, 1, 2, 3, 4,  // name is abcde
         2 // Action1: Move pet
         ); 
-    cpu = cpuHelper(ranGen, zombie);
+    cpu = cpuHelper(1, ranGen, zombie);
     
     // 3. cpu move pet
     String actual = cpu.takeCpuTurnCommand(target, cat, westVillage);
@@ -246,8 +247,8 @@ public class CpuTest {
         0,  // Argument1: pick first item in the set
         3,  // Action2: Pick item
         0); // Argument2: pick first item in the set
-    cpu = cpuHelper(ranGen, archery);
-    playerHelper("sherly", archery, 2); // add other player so it won't kill
+    cpu = cpuHelper(1, ranGen, archery);
+    playerHelper(0, "sherly", archery, 2); // add other player so it won't kill
     cpu.takeCpuTurnCommand(target, cat, westVillage); //pickup first item
     String actual = cpu.toString();
     String expected = "This controller is controlling: CPU_abcde, max item: 7\n"
@@ -259,8 +260,8 @@ public class CpuTest {
     cpu.takeCpuTurnCommand(target, cat, westVillage); //pickup second
     actual = cpu.toString();
     expected = "This controller is controlling: CPU_abcde, max item: 7\n"
-        + "               > Plastic Bow 4\n"
         + "               > Suction Cup Arrow 12\n"
+        + "               > Plastic Bow 4\n"
         + "";
     assertEquals(expected, actual);
   }
@@ -272,8 +273,8 @@ public class CpuTest {
         0, 1, 2, 3, 4,  // name is abcde
         3, // Action1: Pick item
         0); // Argument1: pick first item in the set
-    cpu = cpuHelper(ranGen, cabotTesting);
-    playerHelper("sherly", archery, 2); // add other player so it won't kill
+    cpu = cpuHelper(1, ranGen, cabotTesting);
+    playerHelper(0, "sherly", archery, 2); // add other player so it won't kill
     cpu.takeCpuTurnCommand(target, cat, westVillage); //pickup first item
   }
   
@@ -286,8 +287,8 @@ public class CpuTest {
         0, // Argument1: pick first item in the set
         3, // Action2: Pick item
         0); // Argument2: pick first item in the set
-    cpu = cpuHelper(ranGen, archery);
-    playerHelper("sherly", archery, 2); // add other player so it won't kill
+    cpu = cpuHelper(1, ranGen, archery);
+    playerHelper(0, "sherly", archery, 2); // add other player so it won't kill
     cpu.takeCpuTurnCommand(target, cat, westVillage);
     String actual = cpu.takeCpuTurnCommand(target, cat, westVillage); //pickup second item
     String expected = "CPU_abcde have failed to pick up item"
@@ -299,7 +300,7 @@ public class CpuTest {
   @Test
   public void killSuccessEyePokeCommand() {
     // dont put any player, dont pick up item
-    cpu = cpuHelper(ranGen, archery);
+    cpu = cpuHelper(1, ranGen, archery);
     String actual = cpu.takeCpuTurnCommand(target, cat, westVillage);
     String expected = "CPU_abcde have successfuly hurt Dr Lucky with eye poke. "
         + "Dr Lucky's health is now 2\n"
@@ -318,7 +319,7 @@ public class CpuTest {
         0,  // Argument2: pick first item in the set
         0, 0);  // Action3: move to first neighbor
     // dont put any player
-    cpu = cpuHelper(ranGen, zombie);
+    cpu = cpuHelper(1, ranGen, zombie);
     
     target = targetHelper("Dr Lucky", 20, 4); // target's health
     cpu.takeCpuTurnCommand(target, cat, westVillage); // pick up item
@@ -335,7 +336,7 @@ public class CpuTest {
   public void testKillFailed() {
     
     // 1. add player and pet in cabot (it will witness the murder)
-    Player sherly = playerHelper("Sherly", cabotTesting, 4);
+    Player sherly = playerHelper(0, "Sherly", cabotTesting, 4);
     sherly.movePet(cat, cabotTesting);
     
     // 2. make cou pick item and move to archery.
@@ -347,7 +348,7 @@ public class CpuTest {
         3, // Action2: Pick item
         0,  // Argument2: pick first item in the set
         0, 0);  // Action3: move to first neighbor
-    cpu = cpuHelper(ranGen, zombie);
+    cpu = cpuHelper(1, ranGen, zombie);
     target = targetHelper("Dr Lucky", 20, 4); // target's health
     cpu.takeCpuTurnCommand(target, cat, westVillage); // pick up item
     cpu.takeCpuTurnCommand(target, cat, westVillage); // pick up item
@@ -363,36 +364,36 @@ public class CpuTest {
   
   @Test(expected = IllegalArgumentException.class)
   public void testNullSpace() {
-    cpuHelper(randomIntGenHelper(1, 2), null);
+    cpuHelper(1, randomIntGenHelper(1, 2), null);
   }
   
   @Test(expected = IllegalArgumentException.class)
   public void testNullRandomGenerator() {
-    cpuHelper(null, archery);
+    cpuHelper(1, null, archery);
   }
 
   @Test
   public void testEquals() {
-    cpu = cpuHelper(ranGen, archery); 
-    // 1.Same name different space symmetry
-    assertTrue(cpu.equals(cpuHelper(randomIntGenHelper(7, 0, 1, 2, 3, 4), zombie)));
-    assertTrue(cpuHelper(randomIntGenHelper(7, 0, 1, 2, 3, 4), cabotTesting).equals(cpu));
+    cpu = cpuHelper(1, ranGen, archery); 
+    // 1.Same id different space symmetry
+    assertTrue(cpu.equals(cpuHelper(1, randomIntGenHelper(7, 0, 1, 2, 3, 4), zombie)));
+    assertTrue(cpuHelper(1, randomIntGenHelper(7, 0, 1, 2, 3, 4), cabotTesting).equals(cpu));
     
-    // 2. different name
-    assertFalse(cpu.equals(cpuHelper(randomIntGenHelper(7, 0, 1, 2, 3, 7), archery)));
+    // 2. different id
+    assertFalse(cpu.equals(cpuHelper(2, randomIntGenHelper(7, 0, 1, 2, 3, 7), archery)));
   }
   
   @Test
   public void testHashCode() {
-    cpu = cpuHelper(ranGen, archery); 
+    cpu = cpuHelper(1, ranGen, archery); 
     // 1.Same player - test new object vs previously created object 
     // different space. cannot add to the same space
     assertTrue(cpu.hashCode() 
-        == (cpuHelper(randomIntGenHelper(7, 0, 1, 2, 3, 4), zombie).hashCode()));
+        == (cpuHelper(1, randomIntGenHelper(7, 0, 1, 2, 3, 4), zombie).hashCode()));
     
-    // 2. different name
+    // 2. different id
     assertFalse(cpu.hashCode() 
-        == cpuHelper(randomIntGenHelper(7, 0, 1, 2, 3, 7), archery).hashCode());
+        == cpuHelper(2, randomIntGenHelper(7, 0, 1, 2, 3, 7), archery).hashCode());
   }
 
 }
@@ -0,0 +1,110 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DistanceOracle;
+import world.model.WorldTopology;
+
+/**
+ * Test class for the distances between the spaces of a world.
+ */
+public class DistanceOracleTest {
+  private String disnu;
+
+  /**
+   * Instantiate the specification used by the tests. Its spaces are in a line:
+   * West Village H, Zombie VR, Archery Range and Cabot Testing Center.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+  }
+
+  /**
+   * Create the specification of a world that is one row of spaces.
+   * @param totalSpaces the number of spaces
+   * @return the specification
+   */
+  protected String rowHelper(int totalSpaces) {
+    StringBuilder spec = new StringBuilder();
+    spec.append("2 ").append(totalSpaces * 2).append(" Row\n50 Prof Jump\nFortune the Cat\n")
+        .append(totalSpaces).append("\n");
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      spec.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    return spec.append("1\n0 3 Bow\n").toString();
+  }
+
+  @Test
+  public void testDistance() {
+    DistanceOracle distances = WorldTopology.fromReadable(new StringReader(disnu))
+        .getDistances();
+    assertTrue(distances.isExact());
+    assertEquals(0, distances.distance(1, 1));
+    assertEquals(1, distances.distance(1, 2));
+    assertEquals(2, distances.distance(1, 0));
+    assertEquals(3, distances.distance(1, 3));
+    assertEquals(3, distances.distance(3, 1));
+  }
+
+  @Test
+  public void testNextHop() {
+    DistanceOracle distances = WorldTopology.fromReadable(new StringReader(disnu))
+        .getDistances();
+    assertEquals(1, distances.nextHop(1, 1));
+    assertEquals(2, distances.nextHop(1, 3));
+    assertEquals(0, distances.nextHop(3, 1));
+    assertEquals(0, distances.nextHop(2, 0));
+  }
+
+  @Test
+  public void testUnreachable() {
+    String island = disnu.replace(" 4\n 3  1", " 5\n 3  1")
+        .replace(" 4\n 0 3", " 12 12 13 13 Island\n 4\n 0 3");
+    DistanceOracle distances = WorldTopology.fromReadable(new StringReader(island))
+        .getDistances();
+    assertEquals(-1, distances.distance(0, 4));
+    assertEquals(-1, distances.nextHop(4, 0));
+    assertEquals(0, distances.distance(4, 4));
+  }
+
+  @Test
+  public void testKeptWithTopology() {
+    WorldTopology topology = WorldTopology.fromReadable(new StringReader(disnu));
+    assertSame(topology.getDistances(), topology.getDistances());
+  }
+
+  @Test
+  public void testLandmarkEstimates() {
+    DistanceOracle distances = WorldTopology.fromReadable(new StringReader(rowHelper(2100)))
+        .getDistances();
+    assertFalse(distances.isExact());
+    assertEquals(1, distances.distance(5, 6));
+    assertEquals(2099, distances.distance(0, 2099));
+    assertTrue(distances.distance(10, 500) >= 490);
+    assertEquals(11, distances.nextHop(10, 500));
+    assertEquals(9, distances.nextHop(10, 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSpace() {
+    WorldTopology.fromReadable(new StringReader(disnu)).getDistances().distance(0, 4);
+  }
+}
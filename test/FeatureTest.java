@@ -428,9 +428,7 @@ public class FeatureTest {
         + "isCpuCall :: false.\n"
         + "M-VALID-ALL getResult() called.\n"
         + "V-VALID-ALL askUserChoosePetSpace called spaceNames :: some space name.\n"
-        + "M-VALID-ALL getResult() called.\n"
-        + "M-VALID-ALL getResult() called.\n"
-        + "M-VALID-ALL getResult() called.\n"
+        + "M-VALID-ALL getSpaceIdByName() called name is: some space name.\n"
         + "M-VALID-ALL makeHumanMovePet() called space index is: 1.\n"
         + "M-VALID-ALL getResult() called.\n"
         + "V-VALID-ALL updateMapStatusAndActionResultPanel() called. Result is RESULT-VALID.\n"
@@ -452,9 +450,7 @@ public class FeatureTest {
         + "isCpuCall :: false.\n"
         + "M-INVALID-movepet getResult() called.\n"
         + "V-VALID-ALL askUserChoosePetSpace called spaceNames :: some space name.\n"
-        + "M-INVALID-movepet getResult() called.\n"
-        + "M-INVALID-movepet getResult() called.\n"
-        + "M-INVALID-movepet getResult() called.\n"
+        + "M-INVALID-movepet getSpaceIdByName() called name is: some space name.\n"
         + "M-INVALID-movepet makeHumanMovePet() called item index is: 0.\n"
         + "V-VALID-ALL showErrorDialogue called msg ::  makeHumanMovePet() exception.\n"
         + "V-VALID-ALL resetFocus called.\n"
@@ -497,6 +493,7 @@ public class FeatureTest {
         + "M-VALID-ALL currentSpaceShouldHaveItems() called.\n"
         + "M-VALID-ALL getResult() called.\n"
         + "V-VALID-ALL askUserChooseItem called.\n"
+        + "M-VALID-ALL getItemIdByLabel() called label is: 1.item.\n"
         + "M-VALID-ALL makeHumanPickItem() called itemId is: 1.\n"
         + "M-VALID-ALL getResult() called.\n"
         + "V-VALID-ALL updateMapStatusAndActionResultPanel() called. Result is RESULT-VALID.\n"
@@ -519,6 +516,7 @@ public class FeatureTest {
         + "M-INVALID-pick currentSpaceShouldHaveItems() called.\n"
         + "M-INVALID-pick getResult() called.\n"
         + "V-VALID-ALL askUserChooseItem called.\n"
+        + "M-INVALID-pick getItemIdByLabel() called label is: 1.item.\n"
         + "M-INVALID-pick makeHumanMovePoint() calleditem index is 1.\n"
         + "V-VALID-ALL showErrorDialogue called msg :: makeHumanMovePoint() exception.\n"
         + "V-VALID-ALL resetFocus called.\n";
@@ -560,6 +558,7 @@ public class FeatureTest {
         + "isCpuCall :: false.\n"
         + "M-VALID-ALL getResult() called.\n"
         + "V-VALID-ALL askUserChooseItem called.\n"
+        + "M-VALID-ALL getItemIdByLabel() called label is: 1.item.\n"
         + "M-VALID-ALL makeHumanKill() called item index is: 1.\n"
         + "M-VALID-ALL getResult() called.\n"
         + "V-VALID-ALL updateMapStatusAndActionResultPanel() called. Result is RESULT-VALID.\n"
@@ -581,6 +580,7 @@ public class FeatureTest {
         + "isCpuCall :: false.\n"
         + "M-INVALID-kill getResult() called.\n"
         + "V-VALID-ALL askUserChooseItem called.\n"
+        + "M-INVALID-kill getItemIdByLabel() called label is: 1.item.\n"
         + "M-INVALID-kill makeHumanKill() called item index is: 1.\n"
         + "V-VALID-ALL showErrorDialogue called msg :: makeHumanKill() exception.\n"
         + "V-VALID-ALL resetFocus called.\n";
@@ -0,0 +1,146 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DefaultWorld;
+import world.model.TopologyDiff;
+import world.model.World;
+
+/**
+ * Test class for reloading an edited version of the world.
+ */
+public class HotReloadTest {
+  private String disnu;
+  private String edited;
+  private World world;
+
+  /**
+   * Instantiate the world and the edited specification used by the tests.
+   * West Village H is moved next to Archery Range and Cabot Testing Center,
+   * Zombie VR is renamed and the Bow does more damage.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+    edited = disnu.replace(" 0  3  2  4 West Village H", " 3  3  5  4 West Village H")
+        .replace("Zombie VR", "Zombie Arcade")
+        .replace(" 0 10 Bow", " 0 12 Bow");
+    world = new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2), 22, false);
+  }
+
+  /**
+   * Check that two images have the same pixels.
+   * @param expected the expected image
+   * @param actual the actual image
+   */
+  protected void assertSameImage(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  /**
+   * Check that a world is the same as a world loaded from scratch.
+   * @param spec the specification both worlds are of
+   * @param reloaded the world that was reloaded
+   */
+  protected void assertSameAsLoaded(String spec, World reloaded) {
+    World loaded = new DefaultWorld(new StringReader(spec), new MockRandomIntGenerator(2),
+        22, false);
+    assertEquals(loaded.toString(), reloaded.toString());
+    for (int i = 0; i < loaded.getResult().getSpaceNames().size(); i++) {
+      assertEquals(loaded.getSpaceInfo(i), reloaded.getSpaceInfo(i));
+    }
+    assertSameImage(loaded.getResult().getBufferedImage(),
+        reloaded.getResult().getBufferedImage());
+  }
+
+  @Test
+  public void testDiff() {
+    TopologyDiff diff = world.hotReload(new StringReader(edited));
+    assertFalse(diff.isEmpty());
+    assertFalse(diff.isWorldChanged());
+    assertArrayEquals(new int[] {1, 2}, diff.getChangedSpaceIds());
+    assertArrayEquals(new int[] {1}, diff.getChangedItemIds());
+    assertEquals(2, diff.getAddedEdges());
+    assertEquals(1, diff.getRemovedEdges());
+    assertTrue(world.getResult().getActionResult().contains(diff.toString()));
+  }
+
+  @Test
+  public void testNothingChanged() {
+    TopologyDiff diff = world.hotReload(new StringReader(disnu));
+    assertTrue(diff.isEmpty());
+    assertEquals(0, diff.getAddedEdges() + diff.getRemovedEdges());
+  }
+
+  @Test
+  public void testSameAsLoaded() {
+    world.getResult().getBufferedImage();
+    world.hotReload(new StringReader(edited));
+    assertSameAsLoaded(edited, world);
+  }
+
+  @Test
+  public void testEditedTwice() {
+    world.getResult().getBufferedImage();
+    world.hotReload(new StringReader(edited));
+    world.getResult().getBufferedImage();
+    world.hotReload(new StringReader(disnu));
+    assertSameAsLoaded(disnu, world);
+  }
+
+  @Test
+  public void testSpaceAddedAndRemoved() {
+    String added = disnu.replace(" 4\n 3  1", " 5\n 3  1")
+        .replace(" 4\n 0 3", " 11  5 12  7 Food Court\n 4\n 0 3");
+    world.getResult().getBufferedImage();
+    TopologyDiff diff = world.hotReload(new StringReader(added));
+    assertArrayEquals(new int[] {4}, diff.getChangedSpaceIds());
+    assertSameAsLoaded(added, world);
+
+    diff = world.hotReload(new StringReader(disnu));
+    assertArrayEquals(new int[] {4}, diff.getChangedSpaceIds());
+    assertSameAsLoaded(disnu, world);
+  }
+
+  @Test
+  public void testWorldResized() {
+    String resized = edited.replace("15 16 Northeastern", "20 20 Northeastern");
+    world.getResult().getBufferedImage();
+    TopologyDiff diff = world.hotReload(new StringReader(resized));
+    assertTrue(diff.isWorldChanged());
+    assertSameAsLoaded(resized, world);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFile() {
+    world.hotReload(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidEdit() {
+    world.hotReload(new StringReader(disnu.replace("Zombie VR", "West Village H")));
+  }
+}
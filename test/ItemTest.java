@@ -82,13 +82,13 @@ public class ItemTest {
     assertTrue((itemHelper("Broom", 1, 21).hashCode() == broom021.hashCode()));
     assertTrue((itemHelper("Stinky Tofu", 2, 1).hashCode() == stinkyTofu201.hashCode()));
     
-    // 2. test different room index
-    assertTrue(itemHelper("Broom", 2, 21).hashCode() == broom021.hashCode());
-    assertTrue((itemHelper("Stinky Tofu", 2, 1).hashCode() == stinkyTofu201.hashCode()));
+    // 2. test different name and damage point
+    assertTrue(itemHelper("Mop", 1, 22).hashCode() == broom021.hashCode());
+    assertTrue((itemHelper("Stinky Tofu", 2, 2).hashCode() == stinkyTofu201.hashCode()));
     
-    // 3. test different damage point
-    assertFalse((itemHelper("Broom", 1, 22).hashCode() == broom021.hashCode()));
-    assertFalse((itemHelper("Stinky Tofu", 2, 2).hashCode() == stinkyTofu201.hashCode()));
+    // 3. test different id
+    assertFalse((itemHelper("Broom", 2, 21).hashCode() == broom021.hashCode()));
+    assertFalse((itemHelper("Stinky Tofu", 1, 1).hashCode() == stinkyTofu201.hashCode()));
   }
 
   @Test
@@ -97,11 +97,11 @@ public class ItemTest {
     assertTrue(itemHelper("Broom", 1, 21).equals(broom021));
     assertTrue(broom021.equals(itemHelper("Broom", 1, 21)));
     
-    // 2. test different room index
-    assertTrue((itemHelper("Broom", 2, 21).equals(broom021)));
+    // 2. test different name and damage point
+    assertTrue((itemHelper("Mop", 1, 22).equals(broom021)));
     
-    // 3. test different damage point
-    assertFalse((itemHelper("Broom", 3, 22).equals(broom021)));
+    // 3. test different id
+    assertFalse((itemHelper("Broom", 2, 21).equals(broom021)));
   }
 
 }
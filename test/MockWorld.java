@@ -1,6 +1,9 @@
 import java.awt.Point;
+import java.awt.image.BufferedImage;
 import world.model.Result;
+import world.model.TopologyDiff;
 import world.model.World;
+import world.model.WorldLoadReport;
 
 /**
  * A mock model class to test the controller is calling the 
@@ -126,6 +129,22 @@ public abstract class MockWorld implements World {
     return mockResult;
   }
 
+  @Override
+  public TopologyDiff hotReload(Readable file) {
+    gameLog.append(this.uuid)
+            .append(" hotReload() called")
+            .append(".\n");
+    return null;
+  }
+
+  @Override
+  public WorldLoadReport getLoadReport() {
+    gameLog.append(this.uuid)
+            .append(" getLoadReport() called")
+            .append(".\n");
+    return new WorldLoadReport();
+  }
+
   @Override
   public boolean isCurrentPointHumanPlayer(Point point) {
     gameLog.append(this.uuid)
@@ -184,6 +203,54 @@ public abstract class MockWorld implements World {
     return gameLog.toString();
   }
 
+  @Override
+  public int getSpaceIdByName(String name) {
+    gameLog.append(this.uuid)
+            .append(" getSpaceIdByName() called")
+            .append(" name is: ")
+            .append(name)
+            .append(".\n");
+    return 0;
+  }
+
+  @Override
+  public int getItemIdByLabel(String label) {
+    gameLog.append(this.uuid)
+            .append(" getItemIdByLabel() called")
+            .append(" label is: ")
+            .append(label)
+            .append(".\n");
+    return 1;
+  }
+
+  @Override
+  public int predictTargetSpaceId(int turns) {
+    gameLog.append(this.uuid)
+            .append(" predictTargetSpaceId() called")
+            .append(" turns is: ")
+            .append(turns)
+            .append(".\n");
+    return 0;
+  }
+
+  @Override
+  public int predictPetSpaceId(int turns) {
+    gameLog.append(this.uuid)
+            .append(" predictPetSpaceId() called")
+            .append(" turns is: ")
+            .append(turns)
+            .append(".\n");
+    return 0;
+  }
+
+  @Override
+  public BufferedImage getTargetRouteOverlay() {
+    gameLog.append(this.uuid)
+            .append(" getTargetRouteOverlay() called")
+            .append(".\n");
+    return null;
+  }
+
   @Override
   public boolean isCurrentTurnCpu() {
     gameLog.append(this.uuid)
@@ -54,11 +54,12 @@ public class ModelTest {
   /**
    * This method is providing short-hand way of creating instances of a new
    * Player object.
+   * @param playerId the id of the player
    * @param name the name of the item.
    * @return the Player object
    */
-  protected Player playerHelper(String name, Space spaceObject, int maxItem) {
-    return new DefaultPlayer(name, spaceObject, maxItem);
+  protected Player playerHelper(int playerId, String name, Space spaceObject, int maxItem) {
+    return new DefaultPlayer(playerId, name, spaceObject, maxItem);
   }
   
   /**
@@ -667,6 +668,80 @@ public class ModelTest {
 
   }
 
+  @Test
+  public void testNeighborsAlongLongWall() {
+    // the hall and the attic are wider than the den and the study on both sides
+    Readable in = new StringReader("9 11 Long Hall House\n"
+        + "10 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 0  0  2 10 Hall\n"
+        + " 3  0  5  2 Den\n"
+        + " 3  4  5  6 Study\n"
+        + " 6  0  8 10 Attic\n"
+        + " 1\n"
+        + " 3 5 Rope\n");
+    World world = worldHelper(in, randomIntGenHelper(1), 5, false);
+
+    String expected = "Attic-3\n"
+        + "\n"
+        + "=================\n"
+        + "ROOM INFORMATION\n"
+        + "=================\n"
+        + "\n"
+        + "ITEM\n"
+        + "---------------\n"
+        + "           1. Rope 5\n"
+        + "\n"
+        + "PLAYERS\n"
+        + "---------------\n"
+        + "\n"
+        + "PET\n"
+        + "---------------\n"
+        + "\n"
+        + "NEIGHBORS\n"
+        + "---------------\n"
+        + "\n"
+        + ">>> Den-1 <<<\n"
+        + "\n"
+        + ">>> Study-2 <<<\n"
+        + "\n"
+        + "";
+    assertEquals(expected, world.getSpaceInfo(3));
+
+    // the den and the study are not neighbors, there is a column between them
+    expected = "Den-1\n"
+        + "\n"
+        + "=================\n"
+        + "ROOM INFORMATION\n"
+        + "=================\n"
+        + "\n"
+        + "ITEM\n"
+        + "---------------\n"
+        + "\n"
+        + "PLAYERS\n"
+        + "---------------\n"
+        + "\n"
+        + "PET\n"
+        + "---------------\n"
+        + "\n"
+        + "NEIGHBORS\n"
+        + "---------------\n"
+        + "\n"
+        + ">>> Hall-0 <<<\n"
+        + "\n"
+        + "           Pet:\n"
+        + "           Fortune the Cat\n"
+        + "\n"
+        + "\n"
+        + ">>> Attic-3 <<<\n"
+        + "           Item:\n"
+        + "           1. Rope 5\n"
+        + "\n"
+        + "";
+    assertEquals(expected, world.getSpaceInfo(1));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testDuplicateCoordinates() {
     in = new StringReader("500 500 Northeastern X Disney Land\n"
@@ -683,6 +758,35 @@ public class ModelTest {
     worldHelper(in, ranGen, 5, false);
   }
   
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateSpaceNames() {
+    in = new StringReader("15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 3\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 archery range\n"
+        + " 1\n"
+        + " 0 3 Suction Cup Arrows\n");
+    
+    worldHelper(in, ranGen, 5, false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeItemSpace() {
+    in = new StringReader("15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 2\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 1\n"
+        + " -1 3 Suction Cup Arrows\n");
+    
+    worldHelper(in, ranGen, 5, false);
+  }
+  
   // 1. Add Human Player Test
   @Test
   public void testAdd1HumanPlayerToList() {
@@ -1285,8 +1389,8 @@ public class ModelTest {
         + "PLAYER\n"
         + "---------------\n"
         + "           1. Sherly, max item: 2\n"
-        + "               > Bow 10\n"
         + "               > Suction Cup Arrows 3\n"
+        + "               > Bow 10\n"
         + "\n"
         + "\n"
         + "PET\n"
@@ -1308,8 +1412,8 @@ public class ModelTest {
     // check player description 
     actual = worldDisnu.getResult().getPlayerDescription();
     expected = "Sherly, max item: 2\n"
-        + "               > Bow 10\n"
         + "               > Suction Cup Arrows 3\n"
+        + "               > Bow 10\n"
         + "";
     assertEquals(expected, actual);
   }
@@ -1373,8 +1477,8 @@ public class ModelTest {
     // check player description 
     actual = worldDisnu.getResult().getPlayerDescription();
     expected = "Sherly, max item: 2\n"
-        + "               > Deadline Extension 10\n"
         + "               > Suction Cup Arrows 3\n"
+        + "               > Deadline Extension 10\n"
         + "";
     assertEquals(expected, actual);
     
@@ -0,0 +1,228 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.BfsFrontierPetMovement;
+import world.model.DefaultWorld;
+import world.model.DfsTourPetMovement;
+import world.model.EulerTourPetMovement;
+import world.model.PetMovementStrategy;
+import world.model.RandomWalkPetMovement;
+import world.model.StationaryPetMovement;
+import world.model.World;
+import world.model.WorldTopology;
+
+/**
+ * Test class for the ways the pet moves on its own.
+ */
+public class PetMovementStrategyTest {
+  private WorldTopology topology;
+
+  /**
+   * Instantiate the topology used by the tests. Archery Range neighbors Zombie VR and
+   * Cabot Testing Center, and Zombie VR also neighbors West Village H.
+   */
+  @Before
+  public void setUp() {
+    String disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+    topology = WorldTopology.fromReadable(new StringReader(disnu));
+  }
+
+  /**
+   * Helper for the spaces a pet moves to.
+   * @param movement the pet movement
+   * @param spaceId the space the pet starts in
+   * @param turns the number of turns
+   * @return the spaces the pet moves to, one for each turn
+   */
+  protected int[] movesHelper(PetMovementStrategy movement, int spaceId, int turns) {
+    movement.start(topology, spaceId);
+    int[] moves = new int[turns];
+    for (int i = 0; i < turns; i++) {
+      moves[i] = movement.nextSpaceId();
+    }
+    return moves;
+  }
+
+  /**
+   * Helper for checking every move of a pet is to a neighbor.
+   * @param spaceId the space the pet starts in
+   * @param moves the spaces the pet moves to
+   */
+  protected void assertNeighborMoves(int spaceId, int[] moves) {
+    for (int move : moves) {
+      assertEquals(1, topology.getDistances().distance(spaceId, move));
+      spaceId = move;
+    }
+  }
+
+  @Test
+  public void testStationary() {
+    assertEquals("[1, 1, 1]",
+        Arrays.toString(movesHelper(new StationaryPetMovement(), 1, 3)));
+  }
+
+  @Test
+  public void testDfsTour() {
+    // the tour ends at Cabot Testing Center and jumps back to the start
+    assertEquals("[2, 1, 2, 0, 3, 0, 2]",
+        Arrays.toString(movesHelper(new DfsTourPetMovement(), 0, 7)));
+  }
+
+  @Test
+  public void testEulerTour() {
+    int[] moves = movesHelper(new EulerTourPetMovement(), 0, 12);
+    assertEquals("[2, 1, 2, 0, 3, 0, 2, 1, 2, 0, 3, 0]", Arrays.toString(moves));
+    assertNeighborMoves(0, moves);
+  }
+
+  @Test
+  public void testBfsFrontier() {
+    assertEquals("[0, 1, 3, 2, 0, 1]",
+        Arrays.toString(movesHelper(new BfsFrontierPetMovement(), 2, 6)));
+  }
+
+  @Test
+  public void testRandomWalk() {
+    int[] moves = movesHelper(new RandomWalkPetMovement(7), 0, 50);
+    assertNeighborMoves(0, moves);
+
+    // the same seed walks the same way, every time the pet is started
+    PetMovementStrategy again = new RandomWalkPetMovement(7);
+    assertEquals(Arrays.toString(moves),
+        Arrays.toString(movesHelper(again, 0, 50)));
+    assertEquals(Arrays.toString(moves),
+        Arrays.toString(movesHelper(again, 0, 50)));
+  }
+
+  @Test
+  public void testWorldWithStrategy() {
+    World game = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22,
+        new BfsFrontierPetMovement());
+    game.addHumanPlayer("sherly", 0);
+    game.startTheGame();
+
+    // from Archery Range the pet goes to its neighbors first, then West Village H
+    int[] expected = {2, 3, 1, 0};
+    for (int spaceId : expected) {
+      game.makeHumanLook();
+      assertTrue(game.getSpaceInfo(spaceId).contains("Fortune the Cat"));
+    }
+    assertFalse(game.getSpaceInfo(1).contains("Fortune the Cat"));
+  }
+
+  @Test
+  public void testPredictSpaceId() {
+    PetMovementStrategy[] movements = {new StationaryPetMovement(), new DfsTourPetMovement(),
+        new EulerTourPetMovement(), new BfsFrontierPetMovement(), new RandomWalkPetMovement(7)};
+    for (PetMovementStrategy movement : movements) {
+      movement.start(topology, 2);
+      movement.nextSpaceId();
+      int[] predicted = new int[20];
+      for (int turns = 0; turns < predicted.length; turns++) {
+        predicted[turns] = movement.predictSpaceId(turns);
+      }
+
+      // predicting does not move the pet, and the pet then goes where it was predicted
+      assertEquals(predicted[0], movement.predictSpaceId(0));
+      for (int turns = 1; turns < predicted.length; turns++) {
+        assertEquals(predicted[turns], movement.nextSpaceId());
+      }
+    }
+  }
+
+  @Test
+  public void testWorldPredictions() {
+    World game = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22, true);
+    game.addHumanPlayer("sherly", 0);
+    game.startTheGame();
+    game.makeHumanMovePet(1);
+    int[] targets = new int[6];
+    int[] pets = new int[6];
+    for (int turns = 0; turns < 6; turns++) {
+      targets[turns] = game.predictTargetSpaceId(turns);
+      pets[turns] = game.predictPetSpaceId(turns);
+    }
+    assertEquals("[1, 2, 3, 0, 1, 2]", Arrays.toString(targets));
+    assertEquals("[2, 0, 3, 1, 2, 0]", Arrays.toString(pets));
+
+    // the pet and the target go where they were predicted to
+    for (int turns = 1; turns < 6; turns++) {
+      game.makeHumanLook();
+      assertEquals(targets[turns], game.predictTargetSpaceId(0));
+      assertTrue(game.getSpaceInfo(pets[turns]).contains("Fortune the Cat"));
+    }
+  }
+
+  @Test
+  public void testStartedWhenPetFirstMoves() {
+    int[] starts = new int[1];
+    PetMovementStrategy counted = new PetMovementStrategy() {
+      private final PetMovementStrategy movement = new DfsTourPetMovement();
+
+      @Override
+      public void start(WorldTopology topology, int spaceId) {
+        starts[0]++;
+        movement.start(topology, spaceId);
+      }
+
+      @Override
+      public int nextSpaceId() {
+        return movement.nextSpaceId();
+      }
+
+      @Override
+      public int predictSpaceId(int turns) {
+        return movement.predictSpaceId(turns);
+      }
+    };
+
+    // a new game does not wait for the pet tour
+    World game = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22, counted);
+    game.reset();
+    game.addHumanPlayer("sherly", 0);
+    game.startTheGame();
+    assertEquals(0, starts[0]);
+
+    // the pet starts when it first moves, and again after a player moves it
+    game.makeHumanLook();
+    game.makeHumanLook();
+    assertEquals(1, starts[0]);
+    assertTrue(game.getSpaceInfo(1).contains("Fortune the Cat"));
+    game.makeHumanMovePet(1);
+    assertEquals(2, starts[0]);
+    assertTrue(game.getSpaceInfo(2).contains("Fortune the Cat"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNotStarted() {
+    new DfsTourPetMovement().nextSpaceId();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidStart() {
+    new EulerTourPetMovement().start(topology, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullStrategy() {
+    new DefaultWorld(topology, new MockRandomIntGenerator(2), 22,
+        (PetMovementStrategy) null);
+  }
+}
@@ -2,6 +2,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringReader;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import world.model.DefaultItem;
@@ -16,6 +18,7 @@ import world.model.RandomIntGenerator;
 import world.model.RowCol;
 import world.model.Space;
 import world.model.TargetCharacter;
+import world.model.WorldTopology;
 
 /**
  * Test class for the Player class.
@@ -40,12 +43,13 @@ public class PlayerTest {
   /**
    * This method is providing short-hand way of creating instances of a new
    * Player object.
+   * @param playerId the id of the player
    * @param name the name of the item.
    * @param space the name of the space it chose
    * @return the Player object
    */
-  protected Player playerHelper(String name, Space space, int maxItem) {
-    return new DefaultPlayer(name, space, maxItem);
+  protected Player playerHelper(int playerId, String name, Space space, int maxItem) {
+    return new DefaultPlayer(playerId, name, space, maxItem);
   }
   
   /**
@@ -96,6 +100,55 @@ public class PlayerTest {
     return new DefaultPet(name, currentSpace);
   }
   
+  /**
+   * This method creates the spaces of a new game of a world built from a topology,
+   * which keep count of which neighbors have players and the pet. Archery Range
+   * neighbors Zombie VR and Cabot Testing Center, and Zombie VR also neighbors West
+   * Village H.
+   * @return the spaces in id order
+   */
+  protected List<Space> gameSpacesHelper() {
+    String disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 1\n"
+        + " 0 3 Suction Cup Arrows\n";
+    return WorldTopology.fromReadable(new StringReader(disnu)).createSpaces();
+  }
+
+  /**
+   * This method checks if a player can be seen, by having it poke a target in its
+   * space in the eye, which only works when no one sees it.
+   * @param player the player
+   * @return true if the player can be seen
+   */
+  protected boolean canBeSeenHelper(Player player) {
+    TargetCharacter here = new DefaultTargetCharc("Dr Lucky", 10,
+        new int[] {player.getCurrentSpace().getId()});
+    return !player.attemptToKill(here, -1);
+  }
+
+  /**
+   * This method checks what a player and the neighbors of its space see.
+   * @param player the player
+   * @param canBeSeen if the player can be seen
+   * @param thinksCannotBeSeen if the player thinks it cannot be seen
+   * @param neighborsWatching if players in a neighbor without the pet can see into its
+   *     space
+   */
+  protected void assertSeen(Player player, boolean canBeSeen, boolean thinksCannotBeSeen,
+      boolean neighborsWatching) {
+    assertEquals(canBeSeen, canBeSeenHelper(player));
+    assertEquals(thinksCannotBeSeen, player.thinksCannotBeSeen());
+    assertEquals(neighborsWatching,
+        player.getCurrentSpace().doNeighborsHavePlayersPetMode());
+  }
+
   /**
    * Instantiate space and players.
    * So that players can occupy a space with items
@@ -134,7 +187,7 @@ public class PlayerTest {
     
     target = targetHelper("Dr Lucky", 3, 4);
     maxItem = ranGen.getNextInt(0, 0); // will get the first number which is 5
-    sherly = playerHelper("Sherly", archery, maxItem);
+    sherly = playerHelper(0, "Sherly", archery, maxItem);
   } 
 
   @Test
@@ -146,7 +199,7 @@ public class PlayerTest {
     // 2. player with numeric character
     expected = "Sherly1213, max item: 4\n";
     
-    sherly = playerHelper("Sherly1213", archery, maxItem);
+    sherly = playerHelper(5, "Sherly1213", archery, maxItem);
     assertEquals(expected, sherly.toString());
     
     
@@ -156,17 +209,28 @@ public class PlayerTest {
   
   @Test(expected = IllegalArgumentException.class)
   public void testEmptyName() {
-    sherly = playerHelper("", archery, maxItem);
+    sherly = playerHelper(0, "", archery, maxItem);
   }
   
   @Test(expected = IllegalArgumentException.class)
   public void testNullName() {
-    sherly = playerHelper(null, archery, maxItem);
+    sherly = playerHelper(0, null, archery, maxItem);
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeId() {
+    sherly = playerHelper(-1, "Sherly", archery, maxItem);
+  }
+  
+  @Test
+  public void testGetId() {
+    assertEquals(0, sherly.getId());
+    assertEquals(3, playerHelper(3, "Mas", zombie, maxItem).getId());
   }
   
   @Test(expected = IllegalArgumentException.class)
   public void testNullSpace() {
-    sherly = playerHelper("Sherly", null, maxItem);
+    sherly = playerHelper(0, "Sherly", null, maxItem);
   }
   
   @Test
@@ -188,6 +252,20 @@ public class PlayerTest {
     assertEquals(expected, actual);
   } 
   
+  @Test
+  public void testGetItemMostDamageTie() {
+    archery.addItem(plant);
+    sherly.pickUpItem(plant);
+    sherly.pickUpItem(vrHeadset);
+
+    // same damage, lower id first
+    assertEquals(2, sherly.getItemIdWithMostDamage());
+
+    sherly.attemptToKill(target, 2);
+    assertEquals(3, sherly.getItemIdWithMostDamage());
+    assertEquals("-1.eye poke,3.plant,", sherly.getItemsAsString());
+  }
+
   @Test
   public void testGetItemMostDamageEmpty() {
     int expected = -1;
@@ -266,7 +344,7 @@ public class PlayerTest {
   @Test
   public void testAttemptToKillSuccessPetIsHere() {
     // add player to sherly's neighbor
-    playerHelper("Ai", zombie, 4);
+    playerHelper(1, "Ai", zombie, 4);
     
     // add pet to sherly's space (archery)
     petHelper("Fortune the Cat", archery);
@@ -297,7 +375,7 @@ public class PlayerTest {
   @Test
   public void testAttemptToKillFailSeenSameSpace() {
     // add player to sherly's space
-    playerHelper("Ai", archery, 4);
+    playerHelper(1, "Ai", archery, 4);
 
     sherly.pickUpItem(extension); // damage 10
     boolean actual = sherly.attemptToKill(target, extension.getItemId());
@@ -325,7 +403,7 @@ public class PlayerTest {
   @Test
   public void testAttemptToKillFailSeenOtherSpace() {
     // add player to sherly's neighbor
-    playerHelper("Ai", zombie, 4);
+    playerHelper(1, "Ai", zombie, 4);
     
     sherly.pickUpItem(extension); // damage 10
     boolean actual = sherly.attemptToKill(target, extension.getItemId());
@@ -351,7 +429,7 @@ public class PlayerTest {
   @Test
   public void testAttemptToKillFailSeenNeighborHasPet() {
     // add player and cat to sherly's neighbor
-    playerHelper("Ai", zombie, 4);
+    playerHelper(1, "Ai", zombie, 4);
     petHelper("Fortune the Cat", zombie);
     
     
@@ -426,7 +504,7 @@ public class PlayerTest {
   @Test
   public void testThinksCannotBeSeenSameSpace() {
     // add player same space
-    playerHelper("Ai", archery, 3);
+    playerHelper(1, "Ai", archery, 3);
     boolean expected = false;
     boolean actual = sherly.thinksCannotBeSeen();
     assertEquals(expected, actual);
@@ -436,7 +514,7 @@ public class PlayerTest {
   @Test
   public void testThinksCannotBeSeenOtherSpace() {
     // add player different space
-    playerHelper("Ai", zombie, 3);
+    playerHelper(1, "Ai", zombie, 3);
     boolean expected = false;
     boolean actual = sherly.thinksCannotBeSeen();
     assertEquals(expected, actual);
@@ -451,7 +529,7 @@ public class PlayerTest {
   
   @Test
   public void testThinksCannotBeSeenPetMode() {
-    playerHelper("Ai", zombie, 3);
+    playerHelper(1, "Ai", zombie, 3);
     petHelper("cat", zombie);
     boolean expected = true;
     boolean actual = sherly.thinksCannotBeSeen();
@@ -461,7 +539,7 @@ public class PlayerTest {
   // canSee player B
   @Test
   public void testCanSeePlayerbSameRoomNoPet() {
-    Player ai = playerHelper("Ai", archery, 3);
+    Player ai = playerHelper(1, "Ai", archery, 3);
     petHelper("cat", zombie);
     
     boolean expected = true;
@@ -471,7 +549,7 @@ public class PlayerTest {
   
   @Test
   public void testCanSeePlayerbSameRoomWithPet() {
-    Player ai = playerHelper("Ai", archery, 3);
+    Player ai = playerHelper(1, "Ai", archery, 3);
     petHelper("cat", archery);
     
     boolean expected = true;
@@ -481,7 +559,7 @@ public class PlayerTest {
   
   @Test
   public void testCanSeePlayerbNeighborNoCat() {
-    Player ai = playerHelper("Ai", cabotTesting, 3);
+    Player ai = playerHelper(1, "Ai", cabotTesting, 3);
     
     boolean expected = true;
     boolean actual = sherly.canSeePlayer(ai);
@@ -490,7 +568,7 @@ public class PlayerTest {
   
   @Test
   public void testCannotSeePlayerbPet() {
-    Player ai = playerHelper("Ai", zombie, 3);
+    Player ai = playerHelper(1, "Ai", zombie, 3);
     petHelper("cat", zombie);
     
     boolean expected = false;
@@ -500,7 +578,7 @@ public class PlayerTest {
   
   @Test
   public void testCannotSeePlayerbNotNeighbor() {
-    Player ai = playerHelper("Ai", westVillage, 3);
+    Player ai = playerHelper(1, "Ai", westVillage, 3);
     petHelper("cat", zombie);
     
     boolean expected = false;
@@ -550,8 +628,8 @@ public class PlayerTest {
     zombie.addItem(vrHeadset);
     cabotTesting.addItem(extension);
     
-    playerHelper("Ai", zombie, 4);
-    playerHelper("Fa", cabotTesting, 4);
+    playerHelper(1, "Ai", zombie, 4);
+    playerHelper(2, "Fa", cabotTesting, 4);
     
     String expected = "LOOKING AROUND FROM YOUR ROOM: Archery Range-0\n"
         + "\n"
@@ -598,8 +676,8 @@ public class PlayerTest {
     // sherly is in archery
     // add 2 more players to zombie and cabot
     // add pet to zombie. zombie should be invisible
-    playerHelper("Ai", zombie, 4);
-    playerHelper("Fa", cabotTesting, 4);
+    playerHelper(1, "Ai", zombie, 4);
+    playerHelper(2, "Fa", cabotTesting, 4);
     petHelper("Fortune the Cat", zombie);
     
     String expected = "LOOKING AROUND FROM YOUR ROOM: Archery Range-0\n"
@@ -611,9 +689,9 @@ public class PlayerTest {
         + "ITEM\n"
         + "---------------\n"
         + "           1. Suction Cup Arrow 12\n"
-        + "           2. Plastic Bow 4\n"
-        + "           3. Deadline Extension 10\n"
-        + "           4. VR Headset 2\n"
+        + "           2. Deadline Extension 10\n"
+        + "           3. VR Headset 2\n"
+        + "           4. Plastic Bow 4\n"
         + "\n"
         + "PLAYER\n"
         + "---------------\n"
@@ -639,9 +717,9 @@ public class PlayerTest {
     // sherly is in archery
     // add 2 more players to zombie and cabot
     // add pet to zombie. zombie should be invisible
-    playerHelper("Ai", zombie, 4);
-    playerHelper("Mas", zombie, 4);
-    playerHelper("Fa", cabotTesting, 4);
+    playerHelper(1, "Ai", zombie, 4);
+    playerHelper(3, "Mas", zombie, 4);
+    playerHelper(2, "Fa", cabotTesting, 4);
     petHelper("Fortune the Cat", zombie);
     
     String expected = "LOOKING AROUND FROM YOUR ROOM: Archery Range-0\n"
@@ -653,9 +731,9 @@ public class PlayerTest {
         + "ITEM\n"
         + "---------------\n"
         + "           1. Suction Cup Arrow 12\n"
-        + "           2. Plastic Bow 4\n"
-        + "           3. Deadline Extension 10\n"
-        + "           4. VR Headset 2\n"
+        + "           2. Deadline Extension 10\n"
+        + "           3. VR Headset 2\n"
+        + "           4. Plastic Bow 4\n"
         + "\n"
         + "PLAYER\n"
         + "---------------\n"
@@ -681,7 +759,7 @@ public class PlayerTest {
     // sherly is in archery
     // add 2 more players to zombie and cabot
     // add pet to zombie. zombie should be invisible
-    Player ai = playerHelper("Ai", zombie, 4);
+    Player ai = playerHelper(1, "Ai", zombie, 4);
     petHelper("Fortune the Cat", zombie);
     
     String expected = "LOOKING AROUND FROM YOUR ROOM: Zombie VR-2\n"
@@ -708,9 +786,9 @@ public class PlayerTest {
         + ">>> Archery Range-0 <<<\n"
         + "           Item:\n"
         + "           1. Suction Cup Arrow 12\n"
-        + "           2. Plastic Bow 4\n"
-        + "           3. Deadline Extension 10\n"
-        + "           4. VR Headset 2\n"
+        + "           2. Deadline Extension 10\n"
+        + "           3. VR Headset 2\n"
+        + "           4. Plastic Bow 4\n"
         + "\n"
         + "           Players:\n"
         + "           1. Sherly, max item: 4\n"
@@ -729,7 +807,7 @@ public class PlayerTest {
     // sherly is in archery
     // add 2 more players to zombie and cabot
     // add pet to zombie. zombie should be invisible
-    Player ai = playerHelper("Ai", westVillage, 4);
+    Player ai = playerHelper(1, "Ai", westVillage, 4);
     petHelper("Fortune the Cat", zombie);
     
     String expected = "LOOKING AROUND FROM YOUR ROOM: West Village-1\n"
@@ -762,8 +840,8 @@ public class PlayerTest {
     // add 2 more players to archery and cabot
     // add pet to archery
     // cabot and zombie should be visible
-    playerHelper("Ai", archery, 4);
-    playerHelper("Fa", cabotTesting, 4);
+    playerHelper(1, "Ai", archery, 4);
+    playerHelper(2, "Fa", cabotTesting, 4);
     petHelper("Fortune the Cat", archery);
     
     String expected = "LOOKING AROUND FROM YOUR ROOM: Archery Range-0\n"
@@ -775,9 +853,9 @@ public class PlayerTest {
         + "ITEM\n"
         + "---------------\n"
         + "           1. Suction Cup Arrow 12\n"
-        + "           2. Plastic Bow 4\n"
-        + "           3. Deadline Extension 10\n"
-        + "           4. VR Headset 2\n"
+        + "           2. Deadline Extension 10\n"
+        + "           3. VR Headset 2\n"
+        + "           4. Plastic Bow 4\n"
         + "\n"
         + "PLAYER\n"
         + "---------------\n"
@@ -822,8 +900,8 @@ public class PlayerTest {
     // 2. pick 2nd item
     sherly.pickUpItem(bow);
     expected = "Sherly, max item: 4\n"
-        + "               > Plastic Bow 4\n"
         + "               > Suction Cup Arrow 12\n"
+        + "               > Plastic Bow 4\n"
         + "";
     
     assertEquals(expected, sherly.toString());
@@ -833,10 +911,10 @@ public class PlayerTest {
     sherly.pickUpItem(vrHeadset);
     sherly.pickUpItem(plant);
     expected = "Sherly, max item: 4\n"
-        + "               > VR Headset 2\n"
+        + "               > Suction Cup Arrow 12\n"
         + "               > Deadline Extension 10\n"
+        + "               > VR Headset 2\n"
         + "               > Plastic Bow 4\n"
-        + "               > Suction Cup Arrow 12\n"
         + "";
     
     assertEquals(expected, sherly.toString());    
@@ -844,7 +922,7 @@ public class PlayerTest {
   
   @Test(expected = IllegalArgumentException.class)
   public void testPickUpNullItem() {
-    sherly = playerHelper("Sherly", archery, maxItem);
+    sherly = playerHelper(0, "Sherly", archery, maxItem);
     sherly.pickUpItem(null);
   }
   
@@ -869,37 +947,109 @@ public class PlayerTest {
   public void testPickUpItemInEmptyRoom() {
     archery =  spaceHelper(1, "Archery Range", new RowCol(10, 25),
         new RowCol(12, 30));
-    sherly = playerHelper("Sherly", archery, maxItem);
+    sherly = playerHelper(0, "Sherly", archery, maxItem);
     assertFalse(sherly.pickUpItem(arrow));
   }
   
   @Test
   public void testEquals() {
-    // 1.Same name - test new object vs previously created object and symmetry
-    assertTrue(sherly.equals(playerHelper("Sherly", zombie, maxItem)));
-    assertTrue(playerHelper("Sherly", cabotTesting, maxItem).equals(sherly));
+    // 1.Same id - test new object vs previously created object and symmetry
+    assertTrue(sherly.equals(playerHelper(0, "Sherly", zombie, maxItem)));
+    assertTrue(playerHelper(0, "Sherly", cabotTesting, maxItem).equals(sherly));
     
     // 2. Different space and symmetry
-    Player sherlyMoved = playerHelper("Sherly", westVillage, maxItem);
+    Player sherlyMoved = playerHelper(0, "Sherly", westVillage, maxItem);
     assertTrue(sherly.equals(sherlyMoved));
     assertTrue(sherlyMoved.equals(sherly));
     
-    // 3. different name
-    Player sherlyDiffName =  playerHelper("Sherl", zombie, maxItem);
+    // 3. different id
+    Player sherlyDiffName =  playerHelper(4, "Sherl", zombie, maxItem);
     assertFalse(sherlyDiffName.equals(sherly));
   }
   
   @Test
   public void testHashCode() {
-    // 1.Same name - test new object vs previously created object and symmetry
-    assertTrue(sherly.hashCode() == (playerHelper("Sherly", zombie, maxItem).hashCode()));
+    // 1.Same id - test new object vs previously created object and symmetry
+    assertTrue(sherly.hashCode() == (playerHelper(0, "Sherly", zombie, maxItem).hashCode()));
     
     // 2. Different space 
-    Player sherlyMoved = playerHelper("Sherly", cabotTesting, maxItem);
+    Player sherlyMoved = playerHelper(0, "Sherly", cabotTesting, maxItem);
     assertTrue(sherly.hashCode() == sherlyMoved.hashCode());
     
-    // 3. different name
-    Player sherlyDiffName =  playerHelper("Sherl", archery, maxItem);
+    // 3. different id
+    Player sherlyDiffName =  playerHelper(4, "Sherl", archery, maxItem);
     assertFalse(sherlyDiffName.hashCode() == sherly.hashCode());
   }
+
+  @Test
+  public void testSeenAsPlayersComeAndGo() {
+    List<Space> spaces = gameSpacesHelper();
+    Player first = playerHelper(0, "Sherly", spaces.get(0), 1);
+    assertSeen(first, false, true, false);
+    assertFalse(spaces.get(1).doNeighborsHavePlayersPetMode());
+    assertTrue(spaces.get(2).doNeighborsHavePlayersPetMode());
+    assertTrue(spaces.get(3).doNeighborsHavePlayersPetMode());
+
+    // a player next door sees in, and is seen
+    Player second = playerHelper(1, "Ai", spaces.get(2), 1);
+    assertSeen(first, true, false, true);
+    assertSeen(second, true, false, true);
+    assertTrue(spaces.get(1).doNeighborsHavePlayersPetMode());
+
+    // a second player in the same space
+    Player third = playerHelper(2, "Fa", spaces.get(0), 1);
+    assertSeen(first, true, false, true);
+
+    // the players leave one by one
+    spaces.get(2).removePlayer(second);
+    assertSeen(first, true, false, false);
+    assertFalse(spaces.get(1).doNeighborsHavePlayersPetMode());
+    spaces.get(0).removePlayer(third);
+    assertSeen(first, false, true, false);
+
+    // and all at once
+    spaces.get(2).addPlayer(second);
+    spaces.get(0).addPlayer(third);
+    spaces.get(0).removeAllPlayers();
+    assertSeen(second, false, true, false);
+    assertFalse(spaces.get(3).doNeighborsHavePlayersPetMode());
+    spaces.get(2).removeAllPlayers();
+    for (Space space : spaces) {
+      assertFalse(space.doNeighborsHavePlayersPetMode());
+      assertFalse(space.doNeighborsHavePlayers());
+    }
+  }
+
+  @Test
+  public void testSeenAsPetComesAndGoes() {
+    List<Space> spaces = gameSpacesHelper();
+    Player first = playerHelper(0, "Sherly", spaces.get(0), 1);
+    Player second = playerHelper(1, "Ai", spaces.get(2), 1);
+    Pet pet = petHelper("Fortune the Cat", spaces.get(1));
+    assertSeen(first, true, false, true);
+    assertSeen(second, true, false, true);
+
+    // the pet in Zombie VR hides its player and blocks the view from there, though
+    // the player in Archery Range is still seen
+    pet.move(spaces.get(2));
+    assertSeen(second, false, true, true);
+    assertSeen(first, true, true, false);
+    assertTrue(spaces.get(3).doNeighborsHavePlayersPetMode());
+
+    // the pet goes to Archery Range, which has a player
+    pet.move(spaces.get(0));
+    assertSeen(first, false, true, true);
+    assertSeen(second, true, true, false);
+    assertFalse(spaces.get(3).doNeighborsHavePlayersPetMode());
+    assertTrue(spaces.get(3).doNeighborsHavePlayers());
+
+    // the player leaves the pet behind, then comes back after the pet has left
+    spaces.get(0).removePlayer(first);
+    assertSeen(second, false, true, false);
+    pet.move(spaces.get(1));
+    spaces.get(0).addPlayer(first);
+    assertSeen(first, true, false, true);
+    assertSeen(second, true, false, true);
+    assertTrue(spaces.get(3).doNeighborsHavePlayersPetMode());
+  }
 }
@@ -3,6 +3,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringReader;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import world.model.DefaultItem;
@@ -14,6 +16,7 @@ import world.model.Pet;
 import world.model.Player;
 import world.model.RowCol;
 import world.model.Space;
+import world.model.WorldTopology;
 
 
 
@@ -49,11 +52,12 @@ public class SpaceTest {
   /**
    * This method is providing short-hand way of creating instances of a new
    * Player object.
+   * @param playerId the id of the player
    * @param name the name of the item.
    * @param spaceName the name of the space it chose
    */
-  protected Player playerHelper(String name, Space spaceObject, int maxItem) {
-    return new DefaultPlayer(name, spaceObject, maxItem);
+  protected Player playerHelper(int playerId, String name, Space spaceObject, int maxItem) {
+    return new DefaultPlayer(playerId, name, spaceObject, maxItem);
   }
   
   /**
@@ -102,7 +106,7 @@ public class SpaceTest {
     cat = petHelper("Fortune the Cat", archery);
     
     // 4. player
-    sherly = playerHelper("Sherly", westVillage, 5);
+    sherly = playerHelper(0, "Sherly", westVillage, 5);
     
     archery.addNeighbor(zombie);
     archery.addNeighbor(cabotTesting);   
@@ -200,6 +204,16 @@ public class SpaceTest {
         231)).getLowRight().toString();
     assertEquals("1231 X 231", actual);
   }
+
+  @Test
+  public void testGetCorners() {
+    assertEquals(6, cabotTesting.getUpLeftRow());
+    assertEquals(1, cabotTesting.getUpLeftCol());
+    assertEquals(10, cabotTesting.getLowRightRow());
+    assertEquals(8, cabotTesting.getLowRightCol());
+    assertEquals(cabotTesting.getUpLeft().getRow(), cabotTesting.getUpLeftRow());
+    assertEquals(cabotTesting.getLowRight().getCol(), cabotTesting.getLowRightCol());
+  }
   
   @Test
   public void testAddItem() {
@@ -453,6 +467,48 @@ public class SpaceTest {
     assertEquals(expected, actual);
   }
   
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddItemAlreadyExist() {
+    archery.addItem(arrow);
+    archery.addItem(itemHelper("Another Arrow", 0, 3));
+  }
+  
+  @Test
+  public void testGetItemAtAfterRemove() {
+    // ids on both sides of 64 so the items span two words
+    Item far = itemHelper("Far Item", 70, 1);
+    Item farther = itemHelper("Farther Item", 130, 2);
+    archery.addItem(farther);
+    archery.addItem(bow);
+    archery.addItem(far);
+    archery.addItem(arrow);
+    archery.addItem(extension);
+    
+    // items are ordered by id
+    assertEquals(5, archery.getItemSize());
+    assertEquals(arrow, archery.getItemAt(0));
+    assertEquals(extension, archery.getItemAt(1));
+    assertEquals(bow, archery.getItemAt(2));
+    assertEquals(far, archery.getItemAt(3));
+    assertEquals(farther, archery.getItemAt(4));
+    
+    archery.removeItem(extension);
+    archery.removeItem(far);
+    assertEquals(3, archery.getItemSize());
+    assertEquals(arrow, archery.getItemAt(0));
+    assertEquals(bow, archery.getItemAt(1));
+    assertEquals(farther, archery.getItemAt(2));
+    assertFalse(archery.isItemPresent(far));
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetItemAtPastLast() {
+    archery.addItem(arrow);
+    archery.addItem(bow);
+    archery.removeItem(arrow);
+    archery.getItemAt(1);
+  }
+  
   @Test
   public void testRemovePet() {
     zombie.addPet(cat); // will have cat in both zombie and archery
@@ -623,7 +679,7 @@ public class SpaceTest {
     zombie.addPet(cat);
     
     // add player to zombie VR
-    playerHelper("ai", zombie, 5);
+    playerHelper(1, "ai", zombie, 5);
     
     westVillage.removePlayer(sherly);
     cabotTesting.addPlayer(sherly);
@@ -638,7 +694,7 @@ public class SpaceTest {
   public void testPetEffectWithPlayers() {
     // Archery is hidden
     // archery have player and cat
-    playerHelper("ai", zombie, 5);
+    playerHelper(1, "ai", zombie, 5);
     
     
     westVillage.addItem(arrow);
@@ -788,60 +844,121 @@ public class SpaceTest {
 
   @Test
   public void testEquals() {
-    // 1.Same name - test new object vs previously created object and symmetry
-    assertTrue(archery.equals(new DefaultSpace(1, 
+    // 1.Same id - test new object vs previously created object and symmetry
+    assertTrue(archery.equals(new DefaultSpace(0, 
         "Archery Range", new RowCol(10, 25), new RowCol(12, 30))));
     
-    assertTrue(new DefaultSpace(1, "Archery Range", 
+    assertTrue(new DefaultSpace(0, "Archery Range", 
         new RowCol(10, 25), new RowCol(12, 30)).equals(archery));
     
-    // 2. different items
-    assertTrue(archery.equals(new DefaultSpace(1, "Archery Range", 
-        new RowCol(10, 25), new RowCol(12, 30))));
-    
-    assertTrue(new DefaultSpace(1, "Archery Range",
-        new RowCol(10, 25), new RowCol(12, 30)).equals(archery));
-    
-    // 3. different name
-    assertFalse(archery.equals(new DefaultSpace(1, "Behraki Health "
+    // 2. same id different name
+    assertTrue(archery.equals(new DefaultSpace(0, "Behraki Health "
         + "and Science Center", new RowCol(10, 25), new RowCol(12, 30))));
+    
+    // 3. different id
+    assertFalse(archery.equals(new DefaultSpace(1, "Archery Range", 
+        new RowCol(10, 25), new RowCol(12, 30))));
   }
   
   @Test
   public void testHashCode() {
     // 1. new object vs previously created object
-    assertTrue(archery.hashCode() == (new DefaultSpace(1, "Archery Range",
+    assertTrue(archery.hashCode() == (new DefaultSpace(0, "Archery Range",
         new RowCol(10, 25), new RowCol(12, 30)).hashCode()));
     
     
-    // 2. same item different object
-    assertTrue(archery.hashCode() == (new DefaultSpace(1, "Archery Range",
+    // 2. same id different name
+    assertTrue(archery.hashCode() == (new DefaultSpace(0, "Archery Rang",
         new RowCol(10, 25), new RowCol(12, 30)).hashCode()));
     
-    // 3. different name
-    assertFalse(archery.hashCode() == (new DefaultSpace(1, "Archery Rang",
+    // 3. different id
+    assertFalse(archery.hashCode() == (new DefaultSpace(1, "Archery Range",
         new RowCol(10, 25), new RowCol(12, 30)).hashCode()));
   }
   
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
+  /**
+   * This method creates the spaces of a new game of a world of one row of rooms,
+   * where each room only neighbors the rooms before and after it.
+   * @param totalSpaces the number of rooms
+   * @return the spaces in id order
+   */
+  protected List<Space> rowSpacesHelper(int totalSpaces) {
+    StringBuilder spec = new StringBuilder("2 ").append(totalSpaces * 2)
+        .append(" Row\n50 Prof Jump\nFortune the Cat\n").append(totalSpaces).append("\n");
+    for (int spaceId = 0; spaceId < totalSpaces; spaceId++) {
+      spec.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    spec.append("1\n0 3 Bow\n");
+    return WorldTopology.fromReadable(new StringReader(spec.toString())).createSpaces();
+  }
 
+  /**
+   * This method checks the neighbors of the spaces of a row world against working
+   * them out from the walls, for each space and the spaces up to 3 away from it.
+   * @param spaces the spaces of the row world
+   */
+  protected void assertRowNeighbors(List<Space> spaces) {
+    for (int spaceId = 0; spaceId < spaces.size(); spaceId++) {
+      for (int otherId = Math.max(0, spaceId - 3);
+          otherId <= Math.min(spaces.size() - 1, spaceId + 3); otherId++) {
+        Space space = spaces.get(spaceId);
+        Space other = spaces.get(otherId);
+        boolean expected = space.isNeighborByCalc(other) || other.isNeighborByCalc(space);
+        assertEquals(expected, space.isNeighbor(other));
+        assertEquals(Math.abs(spaceId - otherId) == 1, space.isNeighbor(other));
+      }
+    }
+    Space first = spaces.get(0);
+    Space last = spaces.get(spaces.size() - 1);
+    assertFalse(first.isNeighbor(last));
+    assertFalse(last.isNeighbor(first));
+    assertEquals(1, last.getNeighborSize());
+    assertEquals(spaces.size() - 2, last.getNeighborId(0));
+  }
 
+  @Test
+  public void testIsNeighborDense() {
+    // the most spaces that keep a bit for every pair
+    assertRowNeighbors(rowSpacesHelper(2048));
+  }
 
+  @Test
+  public void testIsNeighborSparse() {
+    // one space more, the sorted neighbors are searched
+    assertRowNeighbors(rowSpacesHelper(2049));
+    assertRowNeighbors(rowSpacesHelper(5000));
+  }
 
+  @Test
+  public void testGetNeighborId() {
+    List<Space> spaces = rowSpacesHelper(4);
+    assertEquals(2, spaces.get(1).getNeighborSize());
+    assertEquals(0, spaces.get(1).getNeighborId(0));
+    assertEquals(2, spaces.get(1).getNeighborId(1));
+    assertEquals("[0, 2]", spaces.get(1).getNeighborsIndices().toString());
 
+    // spaces that are given their neighbors one by one
+    assertEquals(archery.getNeighborSize(), archery.getNeighborsIndices().size());
+    for (int i = 0; i < archery.getNeighborSize(); i++) {
+      assertEquals(archery.getNeighborAt(i).getId(), archery.getNeighborId(i));
+    }
+  }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetNeighborIdPastLast() {
+    rowSpacesHelper(4).get(0).getNeighborId(1);
+  }
 
+  @Test(expected = IllegalStateException.class)
+  public void testAddNeighborToTopologySpace() {
+    List<Space> spaces = rowSpacesHelper(4);
+    spaces.get(0).addNeighbor(spaces.get(1));
+  }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddItemNotInWorld() {
+    // the row world only has the item with id 0
+    rowSpacesHelper(4).get(1).addItem(itemHelper("Far Item", 70, 1));
+  }
+}
@@ -111,6 +111,54 @@ public class TargetCharacterTest {
     
   }
 
+  @Test
+  public void testPredictSpaceId() {
+    unlucky100.move(); // 1
+    unlucky100.move(); // 2
+    assertEquals(2, unlucky100.predictSpaceId(0));
+    assertEquals(4, unlucky100.predictSpaceId(2));
+    assertEquals(0, unlucky100.predictSpaceId(3));
+    assertEquals(2, unlucky100.predictSpaceId(1000000000));
+
+    // predicting does not move the target
+    assertEquals(2, unlucky100.getCurrentSpaceId());
+    for (int turns = 0; turns < 12; turns++) {
+      TargetCharacter moved = targetHelper("Prof Unlucky", 100, 5);
+      for (int turn = 0; turn < 2 + turns; turn++) {
+        moved.move();
+      }
+      assertEquals(moved.getCurrentSpaceId(), unlucky100.predictSpaceId(turns));
+    }
+  }
+
+  @Test
+  public void testRoute() {
+    int[] route = {3, 1, 4};
+    TargetCharacter routed = new DefaultTargetCharc("Prof Unlucky", 100, route);
+    route[0] = 0;
+    assertEquals(3, routed.getCurrentSpaceId());
+    routed.move();
+    assertEquals(1, routed.getCurrentSpaceId());
+    assertEquals(3, routed.predictSpaceId(2));
+    routed.move();
+    routed.move();
+    assertEquals(3, routed.getCurrentSpaceId());
+
+    routed.move();
+    routed.restoreHealthAndPosition();
+    assertEquals(3, routed.getCurrentSpaceId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyRoute() {
+    new DefaultTargetCharc("Prof Unlucky", 100, new int[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPredictNegativeTurns() {
+    unlucky100.predictSpaceId(-1);
+  }
+
   @Test
   public void testEqualsObject() {
     // 1. test new object vs previously created object symmetry
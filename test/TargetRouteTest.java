@@ -0,0 +1,197 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DefaultWorld;
+import world.model.InOrderTargetRoute;
+import world.model.PatrolTargetRoute;
+import world.model.ScriptedTargetRoute;
+import world.model.StationaryPetMovement;
+import world.model.TargetRoutePlanner;
+import world.model.WeightedTargetRoute;
+import world.model.World;
+import world.model.WorldTopology;
+
+/**
+ * Test class for the routes the target can follow.
+ */
+public class TargetRouteTest {
+  private String disnu;
+  private WorldTopology topology;
+
+  /**
+   * Instantiate the topology used by the tests. Archery Range neighbors Zombie VR and
+   * Cabot Testing Center, and Zombie VR also neighbors West Village H.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+    topology = WorldTopology.fromReadable(new StringReader(disnu));
+  }
+
+  /**
+   * Create a new game whose target follows a route.
+   * @param planner how the route of the target is planned
+   * @return the world of the new game
+   */
+  protected World gameHelper(TargetRoutePlanner planner) {
+    return new DefaultWorld(topology, new MockRandomIntGenerator(2), 22,
+        new StationaryPetMovement(), planner);
+  }
+
+  /**
+   * Check that every move of a route is to a neighbor, going round again included.
+   * @param routeTopology the topology the route is in
+   * @param route the route
+   */
+  protected void assertNeighborMoves(WorldTopology routeTopology, int[] route) {
+    for (int i = 0; i < route.length; i++) {
+      assertEquals(1, routeTopology.getDistances().distance(route[i],
+          route[(i + 1) % route.length]));
+    }
+  }
+
+  @Test
+  public void testInOrder() {
+    assertEquals("[0, 1, 2, 3]",
+        Arrays.toString(new InOrderTargetRoute().planRoute(topology)));
+  }
+
+  @Test
+  public void testScripted() {
+    assertEquals("[3, 1, 3, 2]",
+        Arrays.toString(new ScriptedTargetRoute(3, 1, 3, 2).planRoute(topology)));
+  }
+
+  @Test
+  public void testPatrol() {
+    // West Village H to Cabot Testing Center and back, through Zombie VR and Archery Range
+    int[] route = new PatrolTargetRoute(1, 3).planRoute(topology);
+    assertEquals("[1, 2, 0, 3, 0, 2]", Arrays.toString(route));
+    assertNeighborMoves(topology, route);
+    assertEquals("[2]", Arrays.toString(new PatrolTargetRoute(2, 2).planRoute(topology)));
+  }
+
+  @Test
+  public void testPatrolOnLongRow() {
+    // too many spaces for exact distances, the legs are searched for instead
+    StringBuilder spec = new StringBuilder("2 6000 Row\n50 Prof Jump\nFortune the Cat\n");
+    spec.append("3000\n");
+    for (int spaceId = 0; spaceId < 3000; spaceId++) {
+      spec.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    spec.append("1\n0 3 Bow\n");
+    WorldTopology row = WorldTopology.fromReadable(new StringReader(spec.toString()));
+    int[] route = new PatrolTargetRoute(0, 4, 2).planRoute(row);
+    assertEquals("[0, 1, 2, 3, 4, 3, 2, 1]", Arrays.toString(route));
+    assertNeighborMoves(row, route);
+  }
+
+  @Test
+  public void testWeighted() {
+    double[] weights = {0, 1, 0, 1};
+    int[] route = new WeightedTargetRoute(weights, 6, 3).planRoute(topology);
+    assertEquals(0, route[0]);
+    assertNeighborMoves(topology, route);
+
+    // the same seed plans the same itinerary
+    assertEquals(Arrays.toString(route),
+        Arrays.toString(new WeightedTargetRoute(weights, 6, 3).planRoute(topology)));
+
+    // only West Village H and Cabot Testing Center are picked
+    String stops = Arrays.toString(route);
+    assertTrue(stops.contains("1") || stops.contains("3"));
+  }
+
+  @Test
+  public void testWorldFollowsRoute() {
+    World game = gameHelper(new PatrolTargetRoute(1, 3));
+    game.addHumanPlayer("sherly", 0);
+    game.startTheGame();
+    assertEquals(1, game.predictTargetSpaceId(0));
+    assertEquals(3, game.predictTargetSpaceId(3));
+    assertEquals(1, game.predictTargetSpaceId(600));
+
+    int[] expected = {2, 0, 3, 0, 2, 1, 2};
+    for (int spaceId : expected) {
+      game.makeHumanLook();
+      assertEquals(spaceId, game.predictTargetSpaceId(0));
+    }
+
+    // a new game starts at the start of the route again
+    game.reset();
+    assertEquals(1, game.predictTargetSpaceId(0));
+  }
+
+  @Test
+  public void testRouteOverlay() {
+    DefaultWorld game = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22,
+        new StationaryPetMovement(), new PatrolTargetRoute(0, 3));
+    BufferedImage overlay = game.getTargetRouteOverlay();
+    BufferedImage map = game.getResult().getBufferedImage();
+    assertEquals(map.getWidth(), overlay.getWidth());
+    assertEquals(map.getHeight(), overlay.getHeight());
+
+    // the middle of Archery Range is on the route, the bottom right corner is not
+    assertTrue((overlay.getRGB(120, 270) >>> 24) > 0);
+    assertEquals(0, overlay.getRGB(overlay.getWidth() - 1, overlay.getHeight() - 1) >>> 24);
+
+    // it is only drawn once, even for a new game
+    game.reset();
+    assertSame(overlay, game.getTargetRouteOverlay());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHeadlessRouteOverlay() {
+    DefaultWorld game = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22,
+        new StationaryPetMovement(), new InOrderTargetRoute());
+    game.setHeadless(true);
+    game.getTargetRouteOverlay();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testScriptedSpaceNotInWorld() {
+    gameHelper(new ScriptedTargetRoute(0, 4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPatrolToUnreachableSpace() {
+    String island = disnu.replace(" 4\n 3  1", " 5\n 3  1")
+        .replace(" 4\n 0 3", " 12 12 13 13 Island\n 4\n 0 3");
+    new PatrolTargetRoute(0, 4).planRoute(
+        WorldTopology.fromReadable(new StringReader(island)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightsNotForWorld() {
+    new WeightedTargetRoute(new double[] {1, 1}, 3, 3).planRoute(topology);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoWeight() {
+    new WeightedTargetRoute(new double[] {0, 0, 0, 0}, 3, 3).planRoute(topology);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPlanner() {
+    gameHelper(null);
+  }
+}
@@ -0,0 +1,162 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DefaultWorld;
+import world.model.World;
+import world.model.WorldCache;
+import world.model.WorldTopology;
+
+/**
+ * Test class for the cache of loaded worlds.
+ */
+public class WorldCacheTest {
+  private WorldCache cache;
+  private String disnu;
+  private String mall;
+
+  /**
+   * Instantiate the cache and the specifications used by the tests.
+   */
+  @Before
+  public void setUp() {
+    cache = new WorldCache(2);
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+    mall = "10 10 Mall\n"
+        + "20 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + " 2\n"
+        + " 0  0  2  2 Food Court\n"
+        + " 0  3  2  5 Cinema\n"
+        + " 1\n"
+        + " 1 4 Popcorn\n";
+  }
+
+  /**
+   * Check that two images have the same pixels.
+   * @param expected the expected image
+   * @param actual the actual image
+   */
+  protected void assertSameImage(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testLoadSameContent() {
+    WorldTopology first = cache.load(new StringReader(disnu));
+    WorldTopology second = cache.load(new StringReader(disnu));
+    assertSame(first, second);
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testLoadDifferentContent() {
+    WorldTopology first = cache.load(new StringReader(disnu));
+    WorldTopology second = cache.load(new StringReader(mall));
+    assertNotSame(first, second);
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedDropped() {
+    WorldCache small = new WorldCache(1);
+    small.load(new StringReader(disnu));
+    small.load(new StringReader(mall));
+    small.load(new StringReader(disnu));
+    assertEquals(0, small.getHits());
+    assertEquals(3, small.getMisses());
+    assertEquals(1, small.size());
+  }
+
+  @Test
+  public void testReloadSwitchesBetweenWorlds() {
+    World world = new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2),
+        22, false, cache);
+    String disnuInfo = world.toString();
+    world.reloadNewGame(new StringReader(mall));
+    assertEquals("Mall", world.getResult().getName());
+    world.reloadNewGame(new StringReader(disnu));
+
+    assertEquals(disnuInfo, world.toString());
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void testCopiedMapSameAsDrawn() {
+    World drawn = new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2),
+        22, false, new WorldCache(1));
+    World world = new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2),
+        22, false, cache);
+    world.reloadNewGame(new StringReader(disnu));
+    assertEquals(1, cache.getHits());
+    assertSameImage(drawn.getResult().getBufferedImage(), world.getResult().getBufferedImage());
+
+    world.reset();
+    assertSameImage(drawn.getResult().getBufferedImage(), world.getResult().getBufferedImage());
+  }
+
+  @Test
+  public void testReloadFileLoadedWorld() throws IOException {
+    Path file = Files.createTempFile("disnu", ".txt");
+    try {
+      Files.write(file, disnu.getBytes("US-ASCII"));
+      WorldTopology topology = cache.loadFile(file);
+      World world = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22, false,
+          cache);
+      String disnuInfo = world.toString();
+      assertEquals(0, cache.getHits());
+      assertEquals(1, cache.getMisses());
+
+      // reading the file is the same world as mapping it
+      world.reloadNewGame(new StringReader(mall));
+      world.reloadNewGame(new StringReader(disnu));
+      assertEquals(disnuInfo, world.toString());
+      assertEquals(1, cache.getHits());
+      assertSame(topology, cache.loadFile(file));
+      assertEquals(2, cache.getHits());
+      assertEquals(2, cache.getMisses());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroCapacity() {
+    new WorldCache(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadNull() {
+    cache.load(null);
+  }
+}
@@ -0,0 +1,80 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import world.controller.WorldFileWatcher;
+
+/**
+ * Test class for watching a world specification file.
+ */
+public class WorldFileWatcherTest {
+  private Path file;
+  private BlockingQueue<String> saved;
+
+  /**
+   * Create the watched file and the queue of the contents handed over.
+   * @throws IOException if the file cannot be created
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempDirectory("world").resolve("world.txt");
+    Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+    saved = new LinkedBlockingQueue<>();
+  }
+
+  /**
+   * Read all of a readable into a string.
+   * @param readable the readable
+   * @return its content
+   */
+  protected String readHelper(Readable readable) {
+    StringBuilder text = new StringBuilder();
+    Scanner scanner = new Scanner(readable).useDelimiter("\\A");
+    if (scanner.hasNext()) {
+      text.append(scanner.next());
+    }
+    return text.toString();
+  }
+
+  @Test
+  public void testSaveHandedOver() throws IOException, InterruptedException {
+    try (WorldFileWatcher watcher = new WorldFileWatcher(file,
+        readable -> saved.add(readHelper(readable)))) {
+      watcher.start();
+      Files.write(file, "second".getBytes(StandardCharsets.UTF_8));
+      String content = saved.poll(10, TimeUnit.SECONDS);
+      assertNotNull(content);
+      assertEquals("second", content);
+    }
+  }
+
+  @Test
+  public void testOtherFileIgnored() throws IOException, InterruptedException {
+    try (WorldFileWatcher watcher = new WorldFileWatcher(file,
+        readable -> saved.add(readHelper(readable)))) {
+      watcher.start();
+      Files.write(file.resolveSibling("other.txt"), "other".getBytes(StandardCharsets.UTF_8));
+      Files.write(file, "third".getBytes(StandardCharsets.UTF_8));
+      assertEquals("third", saved.poll(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFile() {
+    new WorldFileWatcher(null, readable -> { });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingDirectory() {
+    new WorldFileWatcher(file.resolveSibling("missing").resolve("world.txt"), readable -> { });
+  }
+}
@@ -0,0 +1,257 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DefaultImageGenerator;
+import world.model.DefaultWorld;
+import world.model.Space;
+import world.model.WorldRegions;
+import world.model.WorldTopology;
+
+/**
+ * Test class for the map of a world, which is only drawn when it is asked for.
+ */
+public class WorldImageTest {
+  private String disnu;
+
+  /**
+   * Instantiate the specification used by the tests.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+  }
+
+  /**
+   * Create a new world of the test specification.
+   * @return the world
+   */
+  protected DefaultWorld worldHelper() {
+    return new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2, 2),
+        22, false);
+  }
+
+  /**
+   * Check that two images have the same pixels.
+   * @param expected the expected image
+   * @param actual the actual image
+   */
+  protected void assertSameImage(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testImageKept() {
+    DefaultWorld world = worldHelper();
+    BufferedImage image = world.getResult().getBufferedImage();
+    assertEquals(16 * 60 + 1, image.getWidth());
+    assertEquals(15 * 60 + 1, image.getHeight());
+    assertSame(image, world.getResult().getBufferedImage());
+  }
+
+  @Test
+  public void testLateImageShowsPlayers() {
+    DefaultWorld drawnFirst = worldHelper();
+    drawnFirst.getResult().getBufferedImage();
+    drawnFirst.addHumanPlayer("sherly", 0);
+    drawnFirst.addHumanPlayer("annanya", 3);
+
+    DefaultWorld drawnLast = worldHelper();
+    drawnLast.addHumanPlayer("sherly", 0);
+    drawnLast.addHumanPlayer("annanya", 3);
+
+    assertSameImage(drawnFirst.getResult().getBufferedImage(),
+        drawnLast.getResult().getBufferedImage());
+  }
+
+  @Test
+  public void testResetNewImage() {
+    DefaultWorld world = worldHelper();
+    BufferedImage image = world.getResult().getBufferedImage();
+    world.reset();
+    assertNotSame(image, world.getResult().getBufferedImage());
+    assertSameImage(image, world.getResult().getBufferedImage());
+  }
+
+  @Test
+  public void testHeadlessGame() {
+    DefaultWorld drawn = worldHelper();
+    DefaultWorld headless = worldHelper();
+    headless.setHeadless(true);
+    for (DefaultWorld world : new DefaultWorld[] {drawn, headless}) {
+      world.addHumanPlayer("sherly", 0);
+      world.startTheGame();
+      world.makeHumanPickItem(0);
+      world.makeHumanLook();
+    }
+    assertEquals(drawn.toString(), headless.toString());
+    assertEquals(drawn.getSpaceInfo(0), headless.getSpaceInfo(0));
+    assertEquals(drawn.getResult().getStatus(), headless.getResult().getStatus());
+  }
+
+  @Test
+  public void testSpaceAtPoint() {
+    DefaultWorld world = worldHelper();
+    assertEquals("Zombie VR", world.getSpaceNameByCoord(new Point(90, 90)));
+    assertEquals("Cabot Testing Center", world.getSpaceNameByCoord(new Point(539, 659)));
+    assertEquals("Cabot Testing Center", world.getSpaceNameByCoord(new Point(540, 660)));
+
+    // on a wall two spaces share the one given first in the specification wins
+    assertEquals("West Village H", world.getSpaceNameByCoord(new Point(180, 90)));
+    assertEquals("Archery Range", world.getSpaceNameByCoord(new Point(180, 180)));
+    assertEquals("Archery Range", world.getSpaceNameByCoord(new Point(120, 360)));
+    assertEquals("Cabot Testing Center", world.getSpaceNameByCoord(new Point(240, 360)));
+  }
+
+  @Test
+  public void testPlayerAtPoint() {
+    DefaultWorld world = worldHelper();
+    world.addHumanPlayer("sherly", 2);
+    world.addHumanPlayer("annanya", 2);
+    world.startTheGame();
+
+    // the circle of the first player is in the top left box of Zombie VR
+    assertTrue(world.isCurrentPointHumanPlayer(new Point(8, 40)));
+    assertTrue(world.isCurrentPointHumanPlayer(new Point(25, 57)));
+    assertFalse(world.isCurrentPointHumanPlayer(new Point(26, 45)));
+    assertFalse(world.isCurrentPointHumanPlayer(new Point(15, 95)));
+    assertFalse(world.isCurrentPointHumanPlayer(new Point(60, 45)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHeadlessImage() {
+    DefaultWorld world = worldHelper();
+    world.setHeadless(true);
+    world.getResult().getBufferedImage();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHeadlessPoint() {
+    DefaultWorld world = worldHelper();
+    world.setHeadless(true);
+    world.getSpaceNameByCoord(new Point(100, 250));
+  }
+
+  @Test
+  public void testParallelDrawSameAsSequential() {
+    // names that run past their space and spaces that cross the bands
+    String crowded = disnu.replace(" 4\n 3  1", " 7\n 3  1")
+        .replace(" 4\n 0 3", " 11  0 14  3 A Room With A Very Long Name Indeed\n"
+            + "  3  9 14 15 Tall Hall\n 11  4 12  8 Cellar\n 4\n 0 3");
+    List<Space> spaces = WorldTopology.fromReadable(new StringReader(crowded)).createSpaces();
+    DefaultImageGenerator sequential = new DefaultImageGenerator(spaces, 16, 15, 60,
+        Long.MAX_VALUE);
+    DefaultImageGenerator parallel = new DefaultImageGenerator(spaces, 16, 15, 60, 0);
+    sequential.drawWorld();
+    parallel.drawWorld();
+    assertSameImage(sequential.getImage(), parallel.getImage());
+  }
+
+  @Test
+  public void testDrawnAgain() {
+    List<Space> spaces = WorldTopology.fromReadable(new StringReader(disnu)).createSpaces();
+    DefaultImageGenerator once = new DefaultImageGenerator(spaces, 16, 15, 60);
+    DefaultImageGenerator twice = new DefaultImageGenerator(spaces, 16, 15, 60);
+    once.drawWorld();
+    twice.drawWorld();
+    twice.drawWorld();
+
+    // the second drawing is the one points are looked up in
+    assertSameImage(once.getImage(), twice.getImage());
+    assertEquals("Zombie VR", twice.getSpaceAtPoint(new Point(90, 90)).getName());
+    assertEquals("West Village H", twice.getSpaceAtPoint(new Point(180, 90)).getName());
+    assertEquals("Cabot Testing Center",
+        twice.getSpaceAtPoint(new Point(540, 660)).getName());
+  }
+
+  @Test
+  public void testRegionsSameAsWholeMap() {
+    String crowded = disnu.replace(" 4\n 3  1", " 7\n 3  1")
+        .replace(" 4\n 0 3", " 11  0 14  3 A Room With A Very Long Name Indeed\n"
+            + "  3  9 14 15 Tall Hall\n 11  4 12  8 Cellar\n 4\n 0 3");
+    List<Space> spaces = WorldTopology.fromReadable(new StringReader(crowded)).createSpaces();
+    DefaultImageGenerator whole = new DefaultImageGenerator(spaces, 16, 15, 60);
+    whole.drawWorld();
+
+    // regions of 3 by 3 cells, only 4 of them kept while the 15 of an area are drawn
+    WorldRegions regions = new WorldRegions(spaces, 16, 15, 60, 3, 4);
+    Rectangle view = new Rectangle(150, 200, 600, 500);
+    DefaultImageGenerator part = new DefaultImageGenerator(spaces, regions, view);
+    part.drawWorld();
+    assertEquals(4, regions.getLoadedRegions());
+    assertEquals(15, regions.getLoads());
+    assertSameImage(whole.getImage().getSubimage(150, 200, 600, 500), part.getImage());
+
+    // points are from the corner of the view, and find the same spaces
+    for (int y = 0; y < 500; y += 7) {
+      for (int x = 0; x < 600; x += 7) {
+        assertSame(whole.getSpaceAtPoint(new Point(x + 150, y + 200)),
+            part.getSpaceAtPoint(new Point(x, y)));
+      }
+    }
+    assertTrue(regions.getLoads() > 15);
+    assertEquals(4, regions.getLoadedRegions());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRegionViewOutsideWorld() {
+    List<Space> spaces = WorldTopology.fromReadable(new StringReader(disnu)).createSpaces();
+    WorldRegions regions = new WorldRegions(spaces, 16, 15, 60);
+    new DefaultImageGenerator(spaces, regions, new Rectangle(900, 0, 100, 100));
+  }
+
+  @Test
+  public void testBigWorldDrawnInRegions() {
+    // one row of spaces, 20,000 columns wide, far more than can be drawn whole
+    int rooms = 10000;
+    StringBuilder spec = new StringBuilder("2 ").append(rooms * 2)
+        .append(" Row\n50 Prof Jump\nFortune the Cat\n").append(rooms).append("\n");
+    for (int spaceId = 0; spaceId < rooms; spaceId++) {
+      spec.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    spec.append("1\n0 1 Item\n");
+    assertTrue(2L * 60 * rooms * 2 * 60 > WorldRegions.REGION_PIXELS);
+    DefaultWorld world = new DefaultWorld(new StringReader(spec.toString()),
+        new MockRandomIntGenerator(2), 22, true);
+
+    // the map shows the regions around the target, then around the player
+    BufferedImage image = world.getResult().getBufferedImage();
+    assertEquals(2 * 480, image.getWidth());
+    assertEquals(2 * 60 + 1, image.getHeight());
+    assertEquals("Room 0", world.getSpaceNameByCoord(new Point(30, 30)));
+    assertSame(image, world.getResult().getBufferedImage());
+    world.addHumanPlayer("sherly", rooms - 1);
+    image = world.getResult().getBufferedImage();
+    assertEquals(2 * 480 + 1, image.getWidth());
+    assertEquals("Room 9999", world.getSpaceNameByCoord(new Point(900, 30)));
+    assertEquals("Room 9998", world.getSpaceNameByCoord(new Point(780, 30)));
+  }
+}
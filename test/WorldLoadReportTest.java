@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DefaultWorld;
+import world.model.World;
+import world.model.WorldLoadReport;
+import world.model.WorldLoadReport.Phase;
+
+/**
+ * Test class for the report of where the time went when a world was loaded.
+ */
+public class WorldLoadReportTest {
+  private String disnu;
+  private World world;
+
+  /**
+   * Instantiate the world used by the tests.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+    world = new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2), 22, false);
+  }
+
+  @Test
+  public void testFirstLoad() {
+    WorldLoadReport report = world.getLoadReport();
+    assertTrue(report.hasRun(Phase.PARSE));
+    assertTrue(report.hasRun(Phase.VALIDATE));
+    assertTrue(report.hasRun(Phase.ADJACENCY));
+    assertTrue(report.hasRun(Phase.PET_TOUR));
+    assertTrue(report.hasRun(Phase.GAME_STATE));
+    assertFalse(report.hasRun(Phase.RENDER));
+    assertTrue(report.getTotalNanos() > 0);
+    assertTrue(report.toString().contains("ADJACENCY"));
+  }
+
+  @Test
+  public void testRenderWhenImageAsked() {
+    world.getResult().getBufferedImage();
+    WorldLoadReport report = world.getLoadReport();
+    assertTrue(report.hasRun(Phase.RENDER));
+    assertTrue(report.getNanos(Phase.RENDER) > 0);
+    assertTrue(report.toString().contains("RENDER"));
+  }
+
+  @Test
+  public void testResetBuildsNothing() {
+    world.reset();
+    WorldLoadReport report = world.getLoadReport();
+    assertFalse(report.hasRun(Phase.PARSE));
+    assertFalse(report.hasRun(Phase.ADJACENCY));
+    assertFalse(report.hasRun(Phase.PET_TOUR));
+    assertTrue(report.hasRun(Phase.GAME_STATE));
+    assertEquals(0, report.getNanos(Phase.PARSE));
+  }
+
+  @Test
+  public void testCachedReloadBuildsNothing() {
+    world.reloadNewGame(new StringReader(disnu));
+    assertFalse(world.getLoadReport().hasRun(Phase.PARSE));
+    assertFalse(world.getLoadReport().hasRun(Phase.VALIDATE));
+  }
+
+  @Test
+  public void testHeadlessNeverRenders() {
+    DefaultWorld headless = new DefaultWorld(new StringReader(disnu),
+        new MockRandomIntGenerator(2), 22, false);
+    headless.setHeadless(true);
+    headless.addHumanPlayer("sherly", 0);
+    assertFalse(headless.getLoadReport().hasRun(Phase.RENDER));
+  }
+
+  @Test
+  public void testBuildReportedWhenRead() {
+    // a world big enough that its neighbors are still being worked out when the
+    // game is set up
+    StringBuilder row = new StringBuilder("2 40000 Row\n50 Prof Jump\nFortune the Cat\n")
+        .append("20000\n");
+    for (int spaceId = 0; spaceId < 20000; spaceId++) {
+      row.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    row.append("1\n0 3 Bow\n");
+    World big = new DefaultWorld(new StringReader(row.toString()),
+        new MockRandomIntGenerator(2), 22, true);
+
+    WorldLoadReport report = big.getLoadReport();
+    assertTrue(report.hasRun(Phase.ADJACENCY));
+    assertTrue(report.hasRun(Phase.PET_TOUR));
+    assertTrue(report.hasRun(Phase.GAME_STATE));
+    assertSame(report, big.getLoadReport());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPhase() {
+    world.getLoadReport().getNanos(null);
+  }
+}
@@ -0,0 +1,145 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.WorldSpec;
+import world.model.WorldSpecParser;
+
+/**
+ * Test class for the world specification parser.
+ */
+public class WorldSpecParserTest {
+  private String disnu;
+
+  /**
+   * Parse a specification string with the parser.
+   * @param spec the world specification
+   * @return the parsed world specification
+   */
+  protected WorldSpec parseHelper(String spec) {
+    return WorldSpecParser.fromReadable(new StringReader(spec)).parse();
+  }
+
+  /**
+   * Instantiate the specification used by the tests.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+  }
+
+  @Test
+  public void testParseWorld() {
+    WorldSpec spec = parseHelper(disnu);
+    assertEquals(15, spec.getRows());
+    assertEquals(16, spec.getCols());
+    assertEquals("Northeastern X Disney Land", spec.getName());
+    assertEquals(50, spec.getTargetHealth());
+    assertEquals("Prof Jump", spec.getTargetName());
+    assertEquals("Fortune the Cat", spec.getPetName());
+  }
+
+  @Test
+  public void testParseSpaces() {
+    WorldSpec spec = parseHelper(disnu);
+    assertEquals(4, spec.getSpaceCount());
+    assertEquals(6, spec.getUpLeftRow(3));
+    assertEquals(1, spec.getUpLeftCol(3));
+    assertEquals(10, spec.getLowRightRow(3));
+    assertEquals(8, spec.getLowRightCol(3));
+    assertEquals("Cabot Testing Center", spec.getSpaceName(3));
+    assertEquals("West Village H", spec.getSpaceName(1));
+  }
+
+  @Test
+  public void testParseItems() {
+    WorldSpec spec = parseHelper(disnu);
+    assertEquals(4, spec.getItemCount());
+    assertEquals(2, spec.getItemSpaceId(3));
+    assertEquals(2, spec.getItemDamage(3));
+    assertEquals("Motion sick VR headset", spec.getItemName(3));
+    assertEquals(10, spec.getItemDamage(1));
+  }
+
+  @Test
+  public void testParseWindowsLineBreaks() {
+    WorldSpec spec = parseHelper(disnu.replace("\n", "\r\n"));
+    assertEquals("Northeastern X Disney Land", spec.getName());
+    assertEquals("Fortune the Cat", spec.getPetName());
+    assertEquals("Zombie VR", spec.getSpaceName(2));
+    assertEquals("Bow", spec.getItemName(1));
+  }
+
+  @Test
+  public void testParseMappedFile() throws IOException {
+    Path file = Files.createTempFile("disnu", ".txt");
+    try {
+      Files.write(file, disnu.getBytes(StandardCharsets.US_ASCII));
+      WorldSpec spec = WorldSpecParser.fromFile(file).parse();
+      assertEquals(4, spec.getSpaceCount());
+      assertEquals("Archery Range", spec.getSpaceName(0));
+      assertEquals("Deadline Extension", spec.getItemName(2));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testErrorHasLineAndColumn() {
+    try {
+      parseHelper(disnu.replace(" 0  0  2  2 Zombie VR", " 0  0  x  2 Zombie VR"));
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith("Line 7, column 8:"));
+      return;
+    }
+    assertTrue(false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroSpace() {
+    parseHelper(disnu.replace(" 4\n 3  1", " 0\n 3  1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyItems() {
+    parseHelper(disnu + " 2 2 Extra Item\n");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooFewItems() {
+    parseHelper(disnu.replace(" 2 2 Motion sick VR headset\n", ""));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingSpaceName() {
+    parseHelper(disnu.replace(" 0  0  2  2 Zombie VR", " 0  0  2  2"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptySpecification() {
+    parseHelper("");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullReadable() {
+    WorldSpecParser.fromReadable(null);
+  }
+}
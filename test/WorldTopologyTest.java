@@ -0,0 +1,220 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import org.junit.Before;
+import org.junit.Test;
+import world.model.DefaultWorld;
+import world.model.World;
+import world.model.WorldLoadReport.Phase;
+import world.model.WorldTopology;
+
+/**
+ * Test class for worlds that share one topology.
+ */
+public class WorldTopologyTest {
+  private WorldTopology topology;
+  private String disnu;
+
+  /**
+   * Instantiate the topology used by the tests.
+   */
+  @Before
+  public void setUp() {
+    disnu = "15 16 Northeastern X Disney Land\n"
+        + "50 Prof Jump\n"
+        + "Fortune the Cat\n"
+        + " 4\n"
+        + " 3  1  5  2 Archery Range\n"
+        + " 0  3  2  4 West Village H\n"
+        + " 0  0  2  2 Zombie VR\n"
+        + " 6  1 10  8 Cabot Testing Center\n"
+        + " 4\n"
+        + " 0 3 Suction Cup Arrows\n"
+        + " 0 10 Bow\n"
+        + " 1 10 Deadline Extension\n"
+        + " 2 2 Motion sick VR headset\n";
+    topology = WorldTopology.fromReadable(new StringReader(disnu));
+  }
+
+  /**
+   * Create a new game on the shared topology.
+   * @return the world of the new game
+   */
+  protected World gameHelper() {
+    return new DefaultWorld(topology, new MockRandomIntGenerator(2), 22, false);
+  }
+
+  @Test
+  public void testTopology() {
+    assertEquals("Northeastern X Disney Land", topology.getName());
+    assertEquals(15, topology.getSize().getRow());
+    assertEquals(16, topology.getSize().getCol());
+    assertEquals(4, topology.getSpaceCount());
+    assertEquals(4, topology.getItemCount());
+  }
+
+  @Test
+  public void testSameWorldAsText() {
+    World text = new DefaultWorld(new StringReader(disnu), new MockRandomIntGenerator(2),
+        22, false);
+    World game = gameHelper();
+    assertEquals(text.toString(), game.toString());
+    for (int i = 0; i < 4; i++) {
+      assertEquals(text.getSpaceInfo(i), game.getSpaceInfo(i));
+    }
+  }
+
+  @Test
+  public void testGamesDoNotShareState() {
+    World first = gameHelper();
+    World second = gameHelper();
+    first.addHumanPlayer("sherly", 0);
+    first.startTheGame();
+    first.makeHumanPickItem(0);
+
+    assertFalse(first.getSpaceInfo(0).contains("1. Suction Cup Arrows 3"));
+    assertTrue(second.getSpaceInfo(0).contains("1. Suction Cup Arrows 3"));
+    assertFalse(second.getSpaceInfo(0).contains("sherly"));
+  }
+
+  @Test
+  public void testResetRestoresItems() {
+    World game = new DefaultWorld(topology, new MockRandomIntGenerator(2, 2), 22, false);
+    for (int round = 0; round < 2; round++) {
+      game.addHumanPlayer("sherly", 0);
+      game.startTheGame();
+      game.makeHumanPickItem(0);
+      assertFalse(game.getSpaceInfo(0).contains("1. Suction Cup Arrows 3"));
+
+      game.reset();
+      assertTrue(game.getSpaceInfo(0).contains("1. Suction Cup Arrows 3"));
+      assertFalse(game.getSpaceInfo(0).contains("sherly"));
+    }
+  }
+
+  @Test
+  public void testPetTourOnLongRow() {
+    // one row of spaces, the pet walks to the end of it without going back
+    StringBuilder spec = new StringBuilder("2 100000 Row\n50 Prof Jump\nFortune the Cat\n");
+    spec.append("50000\n");
+    for (int spaceId = 0; spaceId < 50000; spaceId++) {
+      spec.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    spec.append("1\n0 3 Bow\n");
+    World game = new DefaultWorld(WorldTopology.fromReadable(new StringReader(spec.toString())),
+        new MockRandomIntGenerator(2), 22, true);
+    game.addHumanPlayer("sherly", 0);
+    game.startTheGame();
+    game.makeHumanLook();
+    game.makeHumanLook();
+    assertTrue(game.getSpaceInfo(2).contains("Fortune the Cat"));
+    assertFalse(game.getSpaceInfo(0).contains("Fortune the Cat"));
+  }
+
+  @Test
+  public void testGameMemoryOnBigWorld() {
+    // one row of spaces that each start with an item of their own
+    int rooms = 10000;
+    StringBuilder spec = new StringBuilder("2 ").append(rooms * 2)
+        .append(" Row\n50 Prof Jump\nFortune the Cat\n").append(rooms).append("\n");
+    for (int spaceId = 0; spaceId < rooms; spaceId++) {
+      spec.append("0 ").append(spaceId * 2).append(" 1 ").append(spaceId * 2 + 1)
+          .append(" Room ").append(spaceId).append("\n");
+    }
+    spec.append(rooms).append("\n");
+    for (int itemId = 0; itemId < rooms; itemId++) {
+      spec.append(itemId).append(" 1 Item ").append(itemId).append("\n");
+    }
+    DefaultWorld game = new DefaultWorld(
+        WorldTopology.fromReadable(new StringReader(spec.toString())),
+        new MockRandomIntGenerator(2), 22, true);
+    game.setHeadless(true);
+    game.reset();
+
+    // the spaces hold their items without a copy of the items of the world each, so a
+    // game takes well under a kilobyte a space, -1 if allocations cannot be counted
+    long bytes = game.getLoadReport().getAllocatedBytes(Phase.GAME_STATE);
+    assertTrue(bytes < 1024L * rooms);
+    assertTrue(game.getSpaceInfo(rooms - 1).contains("Item " + (rooms - 1)));
+    game.addHumanPlayer("sherly", rooms - 1);
+    game.startTheGame();
+    game.makeHumanPickItem(rooms - 1);
+    String info = game.getSpaceInfo(rooms - 1);
+    assertFalse(info.substring(0, info.indexOf("PLAYERS")).contains("Item " + (rooms - 1)));
+  }
+
+  @Test
+  public void testPetTourWithUnreachableSpace() {
+    // the island cannot be reached, the pet goes around the rest of the world
+    String island = disnu.replace(" 4\n 3  1", " 5\n 3  1")
+        .replace(" 4\n 0 3", " 12 12 13 13 Island\n 4\n 0 3");
+    World game = new DefaultWorld(WorldTopology.fromReadable(new StringReader(island)),
+        new MockRandomIntGenerator(2), 22, true);
+    game.addHumanPlayer("sherly", 0);
+    game.startTheGame();
+
+    // Zombie VR, West Village H, back through Zombie VR and Archery Range to Cabot
+    // Testing Center, then the tour starts over from Archery Range
+    int[] expected = {2, 1, 2, 0, 3, 0};
+    for (int spaceId : expected) {
+      game.makeHumanLook();
+      assertTrue(game.getSpaceInfo(spaceId).contains("Fortune the Cat"));
+      assertFalse(game.getSpaceInfo(4).contains("Fortune the Cat"));
+    }
+  }
+
+  @Test
+  public void testGamesShareMovedPetTour() {
+    World first = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22, true);
+    World second = new DefaultWorld(topology, new MockRandomIntGenerator(2), 22, true);
+    first.addHumanPlayer("sherly", 0);
+    second.addHumanPlayer("sherly", 0);
+    first.startTheGame();
+    second.startTheGame();
+
+    // from West Village H the pet goes on to Zombie VR right away, then Archery Range,
+    // Cabot Testing Center and back to the start of its tour
+    first.makeHumanMovePet(1);
+    second.makeHumanMovePet(1);
+    assertTrue(first.getSpaceInfo(2).contains("Fortune the Cat"));
+    int[] expected = {0, 3, 1};
+    for (int spaceId : expected) {
+      first.makeHumanLook();
+      second.makeHumanLook();
+      assertTrue(first.getSpaceInfo(spaceId).contains("Fortune the Cat"));
+      assertEquals(first.getSpaceInfo(spaceId), second.getSpaceInfo(spaceId));
+    }
+  }
+
+  @Test
+  public void testIdsByName() {
+    World game = gameHelper();
+    assertEquals(2, game.getSpaceIdByName("Zombie VR"));
+    assertEquals(3, game.getSpaceIdByName("Cabot Testing Center"));
+    assertEquals(1, game.getItemIdByLabel("1.Bow"));
+    assertEquals(-1, game.getItemIdByLabel("-1.eye poke"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownSpaceName() {
+    gameHelper().getSpaceIdByName("Zombie");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownItemLabel() {
+    gameHelper().getItemIdByLabel("2.Bow");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTopology() {
+    new DefaultWorld((WorldTopology) null, new MockRandomIntGenerator(2), 22, false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSpecification() {
+    WorldTopology.fromReadable(new StringReader(disnu.replace("50 Prof Jump", "0 Prof Jump")));
+  }
+}